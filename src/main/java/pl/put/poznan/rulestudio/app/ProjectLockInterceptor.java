@@ -0,0 +1,81 @@
+package pl.put.poznan.rulestudio.app;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+//reading requests share project's lock, all other requests (calculations, uploads, settings) hold it exclusively
+//lock is held only by the thread of request, asynchronous processing (e.g. event streams) continues without it
+public class ProjectLockInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectLockInterceptor.class);
+
+    private static final String LOCK_ATTRIBUTE = ProjectLockInterceptor.class.getName() + ".lock";
+
+    private final ProjectsContainer projectsContainer;
+
+    public ProjectLockInterceptor(ProjectsContainer projectsContainer) {
+        this.projectsContainer = projectsContainer;
+    }
+
+    private static UUID extractProjectId(HttpServletRequest request) {
+        final Map<?, ?> uriTemplateVariables = (Map<?, ?>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if((uriTemplateVariables == null) || (uriTemplateVariables.get("id") == null)) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(uriTemplateVariables.get("id").toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final UUID id = extractProjectId(request);
+        if(id == null) {
+            return true;
+        }
+
+        final boolean isReading = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        final Lock lock = isReading ? projectsContainer.getReadLock(id) : projectsContainer.getWriteLock(id);
+        if(lock == null) {
+            //service reports missing project
+            return true;
+        }
+
+        lock.lock();
+        request.setAttribute(LOCK_ATTRIBUTE, lock);
+        logger.debug("Project {} is locked for {}.", id, isReading ? "reading" : "writing");
+        return true;
+    }
+
+    private static void unlock(HttpServletRequest request) {
+        final Lock lock = (Lock) request.getAttribute(LOCK_ATTRIBUTE);
+        if(lock != null) {
+            request.removeAttribute(LOCK_ATTRIBUTE);
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //afterCompletion is not called in the thread that took the lock, so it has to be released here
+        unlock(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        unlock(request);
+    }
+}
@@ -1,13 +1,19 @@
 package pl.put.poznan.rulestudio.app;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import pl.put.poznan.rulestudio.enums.converters.*;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
 
 @Configuration
 public class RuLeStudioWebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    ProjectsContainer projectsContainer;
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new StringToUnionTypeConverter());
@@ -20,5 +26,14 @@ public class RuLeStudioWebConfig implements WebMvcConfigurer {
         registry.addConverter(new StringToOrderByRuleCharacteristicConverter());
         registry.addConverter(new StringToConeTypeConverter());
         registry.addConverter(new StringToClassUnionArrayPropertyTypeConverter());
+        registry.addConverter(new StringToDominanceConesRepresentationConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        //jobs lock the project by themselves, only for the time of calculation
+        registry.addInterceptor(new ProjectLockInterceptor(projectsContainer))
+                .addPathPatterns("/projects/{id}", "/projects/{id}/**")
+                .excludePathPatterns("/projects/{id}/jobs", "/projects/{id}/jobs/**");
     }
 }
@@ -0,0 +1,12 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum CalculationJobType {
+    DOMINANCE_CONES,
+    UNIONS,
+    RULES,
+    RULES_COVERAGE,
+    CLASSIFICATION,
+    CROSS_VALIDATION,
+    CROSS_VALIDATION_GRID_SEARCH,
+    REPEATED_CROSS_VALIDATION
+}
@@ -0,0 +1,7 @@
+package pl.put.poznan.rulestudio.enums;
+
+public enum DominanceConesRepresentation {
+    SORTED_SETS,
+    BIT_SETS,
+    LAZY
+}
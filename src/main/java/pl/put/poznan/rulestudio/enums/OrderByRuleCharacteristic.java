@@ -15,5 +15,6 @@ public enum OrderByRuleCharacteristic {
     Z_CONFIRMATION,
     L_CONFIRMATION,
     C1_CONFIRMATION,
-    S_CONFIRMATION
+    S_CONFIRMATION,
+    LENGTH
 }
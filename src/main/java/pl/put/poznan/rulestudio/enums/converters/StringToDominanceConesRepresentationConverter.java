@@ -0,0 +1,24 @@
+package pl.put.poznan.rulestudio.enums.converters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+public class StringToDominanceConesRepresentationConverter implements Converter<String, DominanceConesRepresentation> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StringToDominanceConesRepresentationConverter.class);
+
+    @Override
+    public DominanceConesRepresentation convert(String source) {
+        try {
+            String snake_case = source.replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2").replaceAll("([a-z])([A-Z])", "$1_$2");
+            return DominanceConesRepresentation.valueOf(snake_case.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given representation of dominance cones \"%s\" is unrecognized.", source));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+}
@@ -66,4 +66,11 @@ public class CustomResponseEntityExceptionHandler extends ResponseEntityExceptio
             HttpServletResponse response) throws IOException {
         response.sendError(464, ex.getMessage());
     }
+
+    @ExceptionHandler(ProjectReloadException.class)
+    public void projectReloadException(
+            ProjectReloadException ex,
+            HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), ex.getMessage());
+    }
 }
@@ -0,0 +1,8 @@
+package pl.put.poznan.rulestudio.exception;
+
+public class ProjectReloadException extends RuntimeException {
+
+    public ProjectReloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -18,24 +18,38 @@ import pl.put.poznan.rulestudio.exception.IncompatibleLearningInformationTableEx
 import pl.put.poznan.rulestudio.exception.NoHashInRuleSetException;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
 import pl.put.poznan.rulestudio.model.parameters.ClassificationParameters;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
 import pl.put.poznan.rulestudio.service.DataService;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 public abstract class AbstractClassification {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private static final int MIN_OBJECTS_BATCH_SIZE = 256;
+
     private ClassificationResult[] classificationResults;
-    private IntList[] indicesOfCoveringRules;
+
+    //rules covering object x are coveringRules[coveringRulesOffsets[x]..coveringRulesOffsets[x+1])
+    private int[] coveringRulesOffsets;
+    private int[] coveringRules;
+
     private OrdinalMisclassificationMatrix ordinalMisclassificationMatrix;
 
     public ClassificationResult[] getClassificationResults() {
         return classificationResults;
     }
 
-    public IntList[] getIndicesOfCoveringRules() {
-        return indicesOfCoveringRules;
+    public IntList getIndicesOfCoveringRules(int objectIndex) {
+        return IntArrayList.wrap(Arrays.copyOfRange(coveringRules, coveringRulesOffsets[objectIndex], coveringRulesOffsets[objectIndex + 1]));
+    }
+
+    public int getNumberOfCoveringRules(int objectIndex) {
+        return coveringRulesOffsets[objectIndex + 1] - coveringRulesOffsets[objectIndex];
     }
 
     public OrdinalMisclassificationMatrix getOrdinalMisclassificationMatrix() {
@@ -46,7 +60,8 @@ public abstract class AbstractClassification {
     public String toString() {
         return "AbstractClassification{" +
                 "classificationResults=" + Arrays.toString(classificationResults) +
-                ", indicesOfCoveringRules=" + Arrays.toString(indicesOfCoveringRules) +
+                ", coveringRulesOffsets=" + Arrays.toString(coveringRulesOffsets) +
+                ", coveringRules=" + Arrays.toString(coveringRules) +
                 ", ordinalMisclassificationMatrix=" + ordinalMisclassificationMatrix +
                 '}';
     }
@@ -127,14 +142,16 @@ public abstract class AbstractClassification {
 
     protected void checkLearningInformationTableCompatibility(InformationTable learningInformationTable, RuleSetWithCharacteristics ruleSetWithCharacteristics) {
         String ruleSetHash = ruleSetWithCharacteristics.getLearningInformationTableHash();
+        //hashing walks the whole table, so it is done once
+        final String learningDataHash = learningInformationTable.getHash();
         if(ruleSetHash == null) {
-            NoHashInRuleSetException ex = new NoHashInRuleSetException(String.format("Provided rule set doesn't have learning information table hash. It can't be determined, if this rule set was generated based on given learning information table. Chosen classifier can't be used. Learning data hash: \"%s\".", learningInformationTable.getHash()));
+            NoHashInRuleSetException ex = new NoHashInRuleSetException(String.format("Provided rule set doesn't have learning information table hash. It can't be determined, if this rule set was generated based on given learning information table. Chosen classifier can't be used. Learning data hash: \"%s\".", learningDataHash));
             logger.error(ex.getMessage());
             throw ex;
         }
 
-        if(!ruleSetHash.equals(learningInformationTable.getHash())) {
-            IncompatibleLearningInformationTableException ex = new IncompatibleLearningInformationTableException(String.format("Data in the current project should be a valid training set for existing rules. Access to this set is required to apply chosen classifier. Please calculate new rules based on the current data or create a new project with a valid training set. Learning data hash: \"%s\", rules hash: \"%s\".", learningInformationTable.getHash(), ruleSetHash));
+        if(!ruleSetHash.equals(learningDataHash)) {
+            IncompatibleLearningInformationTableException ex = new IncompatibleLearningInformationTableException(String.format("Data in the current project should be a valid training set for existing rules. Access to this set is required to apply chosen classifier. Please calculate new rules based on the current data or create a new project with a valid training set. Learning data hash: \"%s\", rules hash: \"%s\".", learningDataHash, ruleSetHash));
             logger.error(ex.getMessage());
             throw ex;
         }
@@ -142,7 +159,19 @@ public abstract class AbstractClassification {
         logger.debug("Learning information table and rule set are compatible.");
     }
 
-    protected void classify(InformationTable learningInformationTable, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions) {
+    //maps every decision to the first equal decision of information table, so the remapping is a single lookup per object
+    private static HashMap<Decision, Decision> createCanonicalDecisions(InformationTable informationTable) {
+        final Decision[] informationTableDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+        final HashMap<Decision, Decision> canonicalDecisions = new HashMap<>();
+        if(informationTableDecisions != null) {
+            for(Decision decision : informationTableDecisions) {
+                canonicalDecisions.putIfAbsent(decision, decision);
+            }
+        }
+        return canonicalDecisions;
+    }
+
+    protected void classify(InformationTable learningInformationTable, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, CalculationsExecutor calculationsExecutor) {
         if(logger.isDebugEnabled()) {
             logger.debug("RuleSet size = {}", ruleSetWithCharacteristics.size());
             for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
@@ -186,42 +215,60 @@ public abstract class AbstractClassification {
 
         int objectIndex;
         int objectCount = classifiedInformationTable.getNumberOfObjects();
-        indicesOfCoveringRules = new IntList[objectCount];
-
         classificationResults = new ClassificationResult[objectCount];
-        for (objectIndex = 0; objectIndex < classificationResults.length; objectIndex++) {
-            indicesOfCoveringRules[objectIndex] = new IntArrayList();
-            classificationResults[objectIndex] = classifier.classify(objectIndex, classifiedInformationTable, indicesOfCoveringRules[objectIndex]);
-        }
+        coveringRulesOffsets = new int[objectCount + 1];
 
-        if(logger.isDebugEnabled()) {
-            for(objectIndex = 0; objectIndex < objectCount; objectIndex++) {
-                logger.debug("Obiekt nr {}:\t{}", objectIndex, classifiedInformationTable.getFields(objectIndex).toString());
-                for(int ruleIndex = 0; ruleIndex < indicesOfCoveringRules[objectIndex].size(); ruleIndex++) {
-                    logger.debug("\tRegula nr {}:\t{}", ruleIndex, ruleSetWithCharacteristics.getRule(indicesOfCoveringRules[objectIndex].getInt(ruleIndex)));
+        //suggested decisions are replaced with equal decision objects from classified information table
+        //it is passed to OrdinalMisclassificationMatrix and is correctly used when DATA objects aren't learning data set of current rules
+        final HashMap<Decision, Decision> canonicalDecisions = createCanonicalDecisions(classifiedInformationTable);
+        final Decision[] suggestedDecisions = new Decision[objectCount];
+
+        //each batch writes only its own part of preallocated arrays, so results don't depend on the order batches finish in
+        final RuleClassifier batchClassifier = classifier;
+        final int batchSize = Math.max(MIN_OBJECTS_BATCH_SIZE, objectCount / (4 * calculationsExecutor.getParallelism()) + 1);
+        List<Callable<int[]>> batches = new ArrayList<>();
+        for(int batchStart = 0; batchStart < objectCount; batchStart += batchSize) {
+            final int from = batchStart;
+            final int to = Math.min(batchStart + batchSize, objectCount);
+            batches.add(() -> {
+                //covering rules of all objects of the batch are collected in one list, numbers of rules are stored as offsets
+                final IntArrayList coveringRulesOfBatch = new IntArrayList();
+                final IntArrayList coveringRulesBuffer = new IntArrayList();
+                for(int x = from; x < to; x++) {
+                    coveringRulesBuffer.clear();
+                    classificationResults[x] = batchClassifier.classify(x, classifiedInformationTable, coveringRulesBuffer);
+                    coveringRulesOfBatch.addAll(coveringRulesBuffer);
+                    coveringRulesOffsets[x + 1] = coveringRulesBuffer.size();
+
+                    final Decision suggestedDecision = classificationResults[x].getSuggestedDecision();
+                    suggestedDecisions[x] = canonicalDecisions.getOrDefault(suggestedDecision, suggestedDecision);
                 }
-            }
+                return coveringRulesOfBatch.toIntArray();
+            });
         }
+        final List<int[]> coveringRulesOfBatches = calculationsExecutor.invokeAll(batches);
 
-
-        Decision[] suggestedDecisions = new Decision[classificationResults.length];
-        for(int i = 0; i < classificationResults.length; i++) {
-            suggestedDecisions[i] = classificationResults[i].getSuggestedDecision();
+        //batches cover consecutive objects, so joining them in order gives rules of consecutive objects
+        for(int x = 0; x < objectCount; x++) {
+            coveringRulesOffsets[x + 1] += coveringRulesOffsets[x];
+        }
+        coveringRules = new int[coveringRulesOffsets[objectCount]];
+        int position = 0;
+        for(int[] coveringRulesOfBatch : coveringRulesOfBatches) {
+            System.arraycopy(coveringRulesOfBatch, 0, coveringRules, position, coveringRulesOfBatch.length);
+            position += coveringRulesOfBatch.length;
         }
 
-        //replace suggestedDecisions objects received from classificationResults with equals decision objects from classifiedInformation
-        //it is passed to OrdinalMisclassificationMatrix and is correctly used when DATA objects aren't learning data set of current rules
-        Decision[] informationTableDecisions = classifiedInformationTable.getOrderedUniqueFullyDeterminedDecisions();
-        for (int i = 0; i < suggestedDecisions.length; i++) {
-            for (int j = 0; j < informationTableDecisions.length; j++) {
-                if (suggestedDecisions[i].equals(informationTableDecisions[j])) {
-                    logger.debug(String.format("%d suggested decision replaced on %d informationTable decision\t%s\t->\t%s", i, j, suggestedDecisions[i].toString(), informationTableDecisions[j].toString()));
-                    suggestedDecisions[i] = informationTableDecisions[j];
-                    break;
+        if(logger.isDebugEnabled()) {
+            for(objectIndex = 0; objectIndex < objectCount; objectIndex++) {
+                logger.debug("Obiekt nr {}:\t{}", objectIndex, classifiedInformationTable.getFields(objectIndex).toString());
+                for(int i = coveringRulesOffsets[objectIndex]; i < coveringRulesOffsets[objectIndex + 1]; i++) {
+                    logger.debug("\tRegula nr {}:\t{}", i - coveringRulesOffsets[objectIndex], ruleSetWithCharacteristics.getRule(coveringRules[i]));
                 }
             }
         }
 
+
         ordinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, classifiedInformationTable.getDecisions(), suggestedDecisions);
     }
 }
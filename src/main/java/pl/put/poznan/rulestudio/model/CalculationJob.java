@@ -0,0 +1,110 @@
+package pl.put.poznan.rulestudio.model;
+
+import pl.put.poznan.rulestudio.enums.CalculationJobStatus;
+import pl.put.poznan.rulestudio.enums.CalculationJobType;
+
+import java.util.UUID;
+
+public class CalculationJob {
+    private UUID id;
+    private UUID projectId;
+    private CalculationJobType type;
+    private CalculationJobStatus status;
+    private CalculationProgress calculationProgress;
+    private CalculationsStopWatch calculationsStopWatch;
+    private String calculationsTime;
+    private String errorMessage;
+    private Long finishTime;
+
+    public CalculationJob(UUID projectId, CalculationJobType type) {
+        this.id = UUID.randomUUID();
+        this.projectId = projectId;
+        this.type = type;
+        this.status = CalculationJobStatus.QUEUED;
+        this.calculationProgress = new CalculationProgress();
+        this.calculationsStopWatch = null;
+        this.calculationsTime = null;
+        this.errorMessage = null;
+        this.finishTime = null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public CalculationJobType getType() {
+        return type;
+    }
+
+    public synchronized CalculationJobStatus getStatus() {
+        return status;
+    }
+
+    public CalculationProgress getCalculationProgress() {
+        return calculationProgress;
+    }
+
+    public synchronized String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    public synchronized String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public synchronized Long getFinishTime() {
+        return finishTime;
+    }
+
+    public synchronized boolean isFinished() {
+        return finishTime != null;
+    }
+
+    //returns false if job has been cancelled before it started
+    public synchronized boolean start() {
+        if(status != CalculationJobStatus.QUEUED) {
+            return false;
+        }
+
+        status = CalculationJobStatus.RUNNING;
+        calculationsStopWatch = new CalculationsStopWatch();
+        return true;
+    }
+
+    public synchronized void finish(CalculationJobStatus status, String errorMessage) {
+        calculationProgress.finishStage();
+        if(calculationsStopWatch != null) {
+            calculationsStopWatch.stop();
+            calculationsTime = calculationsStopWatch.getReadableTime();
+        }
+
+        this.status = status;
+        this.errorMessage = errorMessage;
+        this.finishTime = System.currentTimeMillis();
+    }
+
+    public synchronized void cancel() {
+        calculationProgress.cancel();
+        if(status == CalculationJobStatus.QUEUED) {
+            finish(CalculationJobStatus.CANCELLED, null);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CalculationJob{" +
+                "id=" + id +
+                ", projectId=" + projectId +
+                ", type=" + type +
+                ", status=" + status +
+                ", calculationProgress=" + calculationProgress +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                ", errorMessage='" + errorMessage + '\'' +
+                ", finishTime=" + finishTime +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CalculationProgress {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationProgress.class);
+
+    private final AtomicBoolean cancelled;
+    private volatile String stage;
+    private volatile Integer numberOfSteps;
+    private final AtomicInteger completedSteps;
+    private final LinkedHashMap<String, String> stagesTimes;
+    private CalculationsStopWatch stageStopWatch;
+
+    public CalculationProgress() {
+        this(new AtomicBoolean(false));
+    }
+
+    private CalculationProgress(AtomicBoolean cancelled) {
+        this.cancelled = cancelled;
+        this.stage = null;
+        this.numberOfSteps = 0;
+        this.completedSteps = new AtomicInteger(0);
+        this.stagesTimes = new LinkedHashMap<>();
+        this.stageStopWatch = null;
+    }
+
+    //progress of nested calculation (e.g. single fold) is not reported, but it is cancelled together with its parent
+    public CalculationProgress createNested() {
+        return new CalculationProgress(cancelled);
+    }
+
+    public synchronized void startStage(String stage, Integer numberOfSteps) {
+        finishStage();
+        checkCancelled();
+
+        this.stage = stage;
+        this.numberOfSteps = numberOfSteps;
+        this.completedSteps.set(0);
+        this.stageStopWatch = new CalculationsStopWatch();
+    }
+
+    public synchronized void finishStage() {
+        if(stageStopWatch == null) {
+            return;
+        }
+
+        stageStopWatch.stop();
+        stagesTimes.put(stage, stageStopWatch.getReadableTime());
+        stageStopWatch = null;
+    }
+
+    public void completeStep() {
+        completedSteps.incrementAndGet();
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public void checkCancelled() {
+        if(cancelled.get()) {
+            CalculationCancelledException ex = new CalculationCancelledException("Calculation has been cancelled.");
+            logger.info(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public Integer getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    public Integer getCompletedSteps() {
+        return completedSteps.get();
+    }
+
+    public synchronized LinkedHashMap<String, String> getStagesTimes() {
+        return new LinkedHashMap<>(stagesTimes);
+    }
+
+    @Override
+    public String toString() {
+        return "CalculationProgress{" +
+                "cancelled=" + cancelled +
+                ", stage='" + stage + '\'' +
+                ", numberOfSteps=" + numberOfSteps +
+                ", completedSteps=" + completedSteps +
+                ", stagesTimes=" + getStagesTimes() +
+                '}';
+    }
+}
@@ -0,0 +1,194 @@
+package pl.put.poznan.rulestudio.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.model.parameters.CrossValidationParametersImpl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+//summary of cross-validations of many candidate parameters calculated on the same folds, only metrics of mean misclassification matrices are kept
+public class CrossValidationGridSearch {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CandidateResult {
+        private UnionType typeOfUnions;
+        private Double consistencyThreshold;
+        private RuleType typeOfRules;
+        private String filterSelector;
+        private ClassifierType classifierType;
+        private DefaultClassificationResultType defaultClassificationResultType;
+        private Double accuracy;
+        private Double deviationOfAccuracy;
+        private Double MAE;
+        private Double RMSE;
+        private Double Gmean;
+        private Double meanNumberOfRules;
+        private String errorMessage;
+
+        private CandidateResult(CrossValidationParametersImpl candidate) {
+            this.typeOfUnions = candidate.getTypeOfUnions();
+            this.consistencyThreshold = candidate.getConsistencyThreshold();
+            this.typeOfRules = candidate.getTypeOfRules();
+            this.filterSelector = candidate.getFilterSelector();
+            this.classifierType = candidate.getClassifierType();
+            this.defaultClassificationResultType = candidate.getDefaultClassificationResultType();
+        }
+
+        public CandidateResult(CrossValidationParametersImpl candidate, OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix, double meanNumberOfRules) {
+            this(candidate);
+            this.accuracy = meanOrdinalMisclassificationMatrix.getAccuracy();
+            this.deviationOfAccuracy = meanOrdinalMisclassificationMatrix.getDeviationOfAccuracy();
+            this.MAE = meanOrdinalMisclassificationMatrix.getMAE();
+            this.RMSE = meanOrdinalMisclassificationMatrix.getRMSE();
+            this.Gmean = meanOrdinalMisclassificationMatrix.getGmean();
+            this.meanNumberOfRules = meanNumberOfRules;
+        }
+
+        public CandidateResult(CrossValidationParametersImpl candidate, String errorMessage) {
+            this(candidate);
+            this.errorMessage = errorMessage;
+        }
+
+        public UnionType getTypeOfUnions() {
+            return typeOfUnions;
+        }
+
+        public Double getConsistencyThreshold() {
+            return consistencyThreshold;
+        }
+
+        public RuleType getTypeOfRules() {
+            return typeOfRules;
+        }
+
+        public String getFilterSelector() {
+            return filterSelector;
+        }
+
+        public ClassifierType getClassifierType() {
+            return classifierType;
+        }
+
+        public DefaultClassificationResultType getDefaultClassificationResultType() {
+            return defaultClassificationResultType;
+        }
+
+        public Double getAccuracy() {
+            return accuracy;
+        }
+
+        public Double getDeviationOfAccuracy() {
+            return deviationOfAccuracy;
+        }
+
+        public Double getMAE() {
+            return MAE;
+        }
+
+        public Double getRMSE() {
+            return RMSE;
+        }
+
+        public Double getGmean() {
+            return Gmean;
+        }
+
+        public Double getMeanNumberOfRules() {
+            return meanNumberOfRules;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        @Override
+        public String toString() {
+            return "CandidateResult{" +
+                    "typeOfUnions=" + typeOfUnions +
+                    ", consistencyThreshold=" + consistencyThreshold +
+                    ", typeOfRules=" + typeOfRules +
+                    ", filterSelector='" + filterSelector + '\'' +
+                    ", classifierType=" + classifierType +
+                    ", defaultClassificationResultType=" + defaultClassificationResultType +
+                    ", accuracy=" + accuracy +
+                    ", deviationOfAccuracy=" + deviationOfAccuracy +
+                    ", MAE=" + MAE +
+                    ", RMSE=" + RMSE +
+                    ", Gmean=" + Gmean +
+                    ", meanNumberOfRules=" + meanNumberOfRules +
+                    ", errorMessage='" + errorMessage + '\'' +
+                    '}';
+        }
+    }
+
+    //best accuracy first, lower MAE breaks ties, failed candidates are last
+    private static final Comparator<CandidateResult> RANKING = Comparator
+            .comparing((CandidateResult result) -> result.getErrorMessage() != null)
+            .thenComparing(CandidateResult::getAccuracy, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(CandidateResult::getMAE, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private CandidateResult[] rankedResults;
+    private Integer numberOfFolds;
+    private Long seed;
+    private String dataHash;
+    private Boolean isCurrentData;
+    private String calculationsTime;
+
+    public CrossValidationGridSearch(CandidateResult[] candidateResults, Integer numberOfFolds, Long seed, String dataHash) {
+        this.rankedResults = candidateResults.clone();
+        Arrays.sort(this.rankedResults, RANKING);
+        this.numberOfFolds = numberOfFolds;
+        this.seed = seed;
+        this.dataHash = dataHash;
+        this.isCurrentData = true;
+    }
+
+    public CandidateResult[] getRankedResults() {
+        return rankedResults;
+    }
+
+    public Integer getNumberOfFolds() {
+        return numberOfFolds;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public String getDataHash() {
+        return dataHash;
+    }
+
+    public Boolean isCurrentData() {
+        return isCurrentData;
+    }
+
+    public void setCurrentData(Boolean currentData) {
+        isCurrentData = currentData;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    public void setCalculationsTime(String calculationsTime) {
+        this.calculationsTime = calculationsTime;
+    }
+
+    @Override
+    public String toString() {
+        return "CrossValidationGridSearch{" +
+                "rankedResults=" + Arrays.toString(rankedResults) +
+                ", numberOfFolds=" + numberOfFolds +
+                ", seed=" + seed +
+                ", dataHash='" + dataHash + '\'' +
+                ", isCurrentData=" + isCurrentData +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                '}';
+    }
+}
@@ -1,58 +1,89 @@
 package pl.put.poznan.rulestudio.model;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 public class CrossValidationSingleFold {
-    private int[] indicesOfTrainingObjects;
+    private Integer numberOfTrainingObjects;
+    private Integer numberOfValidationObjects;
+    private Integer numberOfRules;
+    private OrdinalMisclassificationMatrix ordinalMisclassificationMatrix;
+
+    //details of the fold, they are null if only aggregated results are kept
+    private BitSet trainingObjects;
     private int[] indicesOfValidationObjects;
     private RuLeStudioRuleSet ruLeStudioRuleSet;
     private FoldClassification foldClassification;
 
+    //validation objects are kept in the order of classification results, training objects only as membership
     public CrossValidationSingleFold(int[] indicesOfTrainingObjects, int[] indicesOfValidationObjects, RuLeStudioRuleSet ruLeStudioRuleSet, FoldClassification foldClassification) {
-        this.indicesOfTrainingObjects = indicesOfTrainingObjects;
+        this.numberOfTrainingObjects = indicesOfTrainingObjects.length;
+        this.numberOfValidationObjects = indicesOfValidationObjects.length;
+        this.numberOfRules = ruLeStudioRuleSet.size();
+        this.ordinalMisclassificationMatrix = foldClassification.getOrdinalMisclassificationMatrix();
+
+        this.trainingObjects = new BitSet();
+        for(int objectIndex : indicesOfTrainingObjects) {
+            this.trainingObjects.set(objectIndex);
+        }
         this.indicesOfValidationObjects = indicesOfValidationObjects;
         this.ruLeStudioRuleSet = ruLeStudioRuleSet;
         this.foldClassification = foldClassification;
     }
 
-    public int[] getIndicesOfTrainingObjects() {
-        return indicesOfTrainingObjects;
+    public CrossValidationSingleFold(Integer numberOfTrainingObjects, Integer numberOfValidationObjects, Integer numberOfRules, OrdinalMisclassificationMatrix ordinalMisclassificationMatrix) {
+        this.numberOfTrainingObjects = numberOfTrainingObjects;
+        this.numberOfValidationObjects = numberOfValidationObjects;
+        this.numberOfRules = numberOfRules;
+        this.ordinalMisclassificationMatrix = ordinalMisclassificationMatrix;
     }
 
-    public void setIndicesOfTrainingObjects(int[] indicesOfTrainingObjects) {
-        this.indicesOfTrainingObjects = indicesOfTrainingObjects;
+    public Boolean isDetailsPresent() {
+        return foldClassification != null;
     }
 
-    public int[] getIndicesOfValidationObjects() {
-        return indicesOfValidationObjects;
+    public Integer getNumberOfTrainingObjects() {
+        return numberOfTrainingObjects;
     }
 
-    public void setIndicesOfValidationObjects(int[] indicesOfValidationObjects) {
-        this.indicesOfValidationObjects = indicesOfValidationObjects;
+    public Integer getNumberOfValidationObjects() {
+        return numberOfValidationObjects;
     }
 
-    public RuLeStudioRuleSet getRuLeStudioRuleSet() {
-        return ruLeStudioRuleSet;
+    public Integer getNumberOfRules() {
+        return numberOfRules;
     }
 
-    public void setRuLeStudioRuleSet(RuLeStudioRuleSet ruLeStudioRuleSet) {
-        this.ruLeStudioRuleSet = ruLeStudioRuleSet;
+    public OrdinalMisclassificationMatrix getOrdinalMisclassificationMatrix() {
+        return ordinalMisclassificationMatrix;
     }
 
-    public FoldClassification getFoldClassification() {
-        return foldClassification;
+    public int[] getIndicesOfTrainingObjects() {
+        return (trainingObjects != null) ? trainingObjects.stream().toArray() : null;
     }
 
-    public void setFoldClassification(FoldClassification foldClassification) {
-        this.foldClassification = foldClassification;
+    public int[] getIndicesOfValidationObjects() {
+        return indicesOfValidationObjects;
+    }
+
+    public RuLeStudioRuleSet getRuLeStudioRuleSet() {
+        return ruLeStudioRuleSet;
+    }
+
+    public FoldClassification getFoldClassification() {
+        return foldClassification;
     }
 
     @Override
     public String toString() {
         return "CrossValidationSingleFold{" +
-                "indicesOfTrainingObjects=" + Arrays.toString(indicesOfTrainingObjects) +
+                "numberOfTrainingObjects=" + numberOfTrainingObjects +
+                ", numberOfValidationObjects=" + numberOfValidationObjects +
+                ", numberOfRules=" + numberOfRules +
+                ", ordinalMisclassificationMatrix=" + ordinalMisclassificationMatrix +
+                ", trainingObjects=" + trainingObjects +
                 ", indicesOfValidationObjects=" + Arrays.toString(indicesOfValidationObjects) +
                 ", ruLeStudioRuleSet=" + ruLeStudioRuleSet +
                 ", foldClassification=" + foldClassification +
@@ -0,0 +1,84 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+
+//cones of one type for all objects, cone of each object is a dense bitset over indices of objects
+public class DominanceConeBitSets {
+    private int numberOfObjects;
+
+    private long[][] words;
+
+    private int[] coneSizes;
+
+    public DominanceConeBitSets(int numberOfObjects) {
+        this.numberOfObjects = numberOfObjects;
+        this.words = new long[numberOfObjects][];
+        this.coneSizes = new int[numberOfObjects];
+    }
+
+    private static int getNumberOfWords(int numberOfObjects) {
+        return (numberOfObjects + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    public void setCone(int objectIndex, IntSortedSet dominanceCone) {
+        long[] coneWords = new long[getNumberOfWords(numberOfObjects)];
+        IntIterator iterator = dominanceCone.iterator();
+        while(iterator.hasNext()) {
+            final int index = iterator.nextInt();
+            coneWords[index >>> 6] |= 1L << index;
+        }
+
+        words[objectIndex] = coneWords;
+        coneSizes[objectIndex] = dominanceCone.size();
+    }
+
+    public boolean contains(int objectIndex, int index) {
+        return (words[objectIndex][index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getConeSize(int objectIndex) {
+        return coneSizes[objectIndex];
+    }
+
+    public int[] getConeSizes() {
+        return coneSizes.clone();
+    }
+
+    //cone is materialized only for the response, indices are ascending
+    public IntSortedSet getCone(int objectIndex) {
+        IntSortedSet dominanceCone = new IntRBTreeSet();
+        final long[] coneWords = words[objectIndex];
+        for(int wordIndex = 0; wordIndex < coneWords.length; wordIndex++) {
+            long word = coneWords[wordIndex];
+            while(word != 0) {
+                dominanceCone.add(wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return dominanceCone;
+    }
+
+    //approximate size in bytes: arrays of words and sizes with their headers
+    public static long estimateMemory(int numberOfObjects) {
+        final long coneMemory = 16L + 8L * getNumberOfWords(numberOfObjects);
+        return 2 * (16L + 4L * numberOfObjects) + numberOfObjects * coneMemory;
+    }
+
+    public long getEstimatedMemory() {
+        return estimateMemory(numberOfObjects);
+    }
+
+    public int getNumberOfObjects() {
+        return numberOfObjects;
+    }
+
+    @Override
+    public String toString() {
+        return "DominanceConeBitSets{" +
+                "numberOfObjects=" + numberOfObjects +
+                ", estimatedMemory=" + getEstimatedMemory() +
+                '}';
+    }
+}
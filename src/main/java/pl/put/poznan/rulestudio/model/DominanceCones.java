@@ -1,14 +1,38 @@
 package pl.put.poznan.rulestudio.model;
 
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.dominance.DominanceConeCalculator;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.ConeType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
+
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 public class DominanceCones {
+
+    private static final Logger logger = LoggerFactory.getLogger(DominanceCones.class);
+
+    private static final int MIN_OBJECTS_RANGE_SIZE = 64;
+
+    private static final int DEFAULT_LAZY_CONES_CACHE_SIZE = 256;
+
     private int numberOfObjects;
 
+    //null until cones are calculated
+    private DominanceConesRepresentation representation;
+
     private IntSortedSet[] positiveDCones;
 
     private IntSortedSet[] negativeDCones;
@@ -17,6 +41,26 @@ public class DominanceCones {
 
     private IntSortedSet[] negativeInvDCones;
 
+    private DominanceConeBitSets positiveDConesBitSets;
+
+    private DominanceConeBitSets negativeDConesBitSets;
+
+    private DominanceConeBitSets positiveInvDConesBitSets;
+
+    private DominanceConeBitSets negativeInvDConesBitSets;
+
+    //sizes of lazy cones indexed by ordinal of cone type, members are calculated only on request
+    private int[][] lazyConeSizes;
+
+    private Integer lazyConesCacheSize;
+
+    //not exported, rebuilt on demand after import or reload of spilled project
+    private transient Map<Long, IntSortedSet> lazyConesCache;
+
+    private Long sortedSetsEstimatedMemory;
+
+    private Long bitSetsEstimatedMemory;
+
     private String dataHash;
 
     private Boolean isCurrentData;
@@ -35,12 +79,21 @@ public class DominanceCones {
         this.positiveInvDCones = null;
         this.negativeInvDCones = null;
 
+        this.positiveDConesBitSets = null;
+        this.negativeDConesBitSets = null;
+        this.positiveInvDConesBitSets = null;
+        this.negativeInvDConesBitSets = null;
+
+        this.lazyConeSizes = null;
+        this.lazyConesCacheSize = DEFAULT_LAZY_CONES_CACHE_SIZE;
+        this.lazyConesCache = null;
+
         this.dataHash = null;
         this.isCurrentData = null;
     }
 
-    public DominanceCones(InformationTable informationTable) {
-        calculateDCones(informationTable, null);
+    public DominanceCones(InformationTable informationTable, CalculationsExecutor calculationsExecutor) {
+        calculateDCones(informationTable, informationTable.getHash(), null, calculationsExecutor);
     }
 
     public int getNumberOfObjects() {
@@ -83,6 +136,124 @@ public class DominanceCones {
         this.negativeInvDCones = negativeInvDCones;
     }
 
+    public DominanceConesRepresentation getRepresentation() {
+        return (representation != null) ? representation : DominanceConesRepresentation.SORTED_SETS;
+    }
+
+    public Integer getLazyConesCacheSize() {
+        return lazyConesCacheSize;
+    }
+
+    public synchronized void setLazyConesCacheSize(Integer lazyConesCacheSize) {
+        this.lazyConesCacheSize = lazyConesCacheSize;
+        this.lazyConesCache = null;
+    }
+
+    public Long getSortedSetsEstimatedMemory() {
+        return sortedSetsEstimatedMemory;
+    }
+
+    public Long getBitSetsEstimatedMemory() {
+        return bitSetsEstimatedMemory;
+    }
+
+    private IntSortedSet[] getSortedSets(ConeType coneType) {
+        switch (coneType) {
+            case POSITIVE:
+                return positiveDCones;
+            case NEGATIVE:
+                return negativeDCones;
+            case POSITIVE_INVERTED:
+                return positiveInvDCones;
+            case NEGATIVE_INVERTED:
+                return negativeInvDCones;
+            default:
+                WrongParameterException ex = new WrongParameterException(String.format("Given type of cone \"%s\" is unrecognized.", coneType));
+                logger.error(ex.getMessage());
+                throw ex;
+        }
+    }
+
+    private DominanceConeBitSets getBitSets(ConeType coneType) {
+        switch (coneType) {
+            case POSITIVE:
+                return positiveDConesBitSets;
+            case NEGATIVE:
+                return negativeDConesBitSets;
+            case POSITIVE_INVERTED:
+                return positiveInvDConesBitSets;
+            case NEGATIVE_INVERTED:
+                return negativeInvDConesBitSets;
+            default:
+                WrongParameterException ex = new WrongParameterException(String.format("Given type of cone \"%s\" is unrecognized.", coneType));
+                logger.error(ex.getMessage());
+                throw ex;
+        }
+    }
+
+    //inverted cones are not stored when they are identical as not inverted ones
+    public boolean isConeTypeAvailable(ConeType coneType) {
+        if(getRepresentation() == DominanceConesRepresentation.LAZY) {
+            return lazyConeSizes[coneType.ordinal()] != null;
+        } else if(getRepresentation() == DominanceConesRepresentation.BIT_SETS) {
+            return getBitSets(coneType) != null;
+        } else {
+            return getSortedSets(coneType) != null;
+        }
+    }
+
+    public int getConeSize(ConeType coneType, int objectIndex) {
+        if(getRepresentation() == DominanceConesRepresentation.LAZY) {
+            return lazyConeSizes[coneType.ordinal()][objectIndex];
+        } else if(getRepresentation() == DominanceConesRepresentation.BIT_SETS) {
+            return getBitSets(coneType).getConeSize(objectIndex);
+        } else {
+            return getSortedSets(coneType)[objectIndex].size();
+        }
+    }
+
+    public IntSortedSet getCone(ConeType coneType, int objectIndex) {
+        if(getRepresentation() == DominanceConesRepresentation.LAZY) {
+            return getLazyCone(coneType, objectIndex);
+        } else if(getRepresentation() == DominanceConesRepresentation.BIT_SETS) {
+            return getBitSets(coneType).getCone(objectIndex);
+        } else {
+            return getSortedSets(coneType)[objectIndex];
+        }
+    }
+
+    //least recently used cones are dropped from the cache when it grows over its size
+    private synchronized Map<Long, IntSortedSet> getLazyConesCache() {
+        if(lazyConesCache == null) {
+            final int maxSize = (lazyConesCacheSize != null) ? lazyConesCacheSize : DEFAULT_LAZY_CONES_CACHE_SIZE;
+            lazyConesCache = new LinkedHashMap<Long, IntSortedSet>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, IntSortedSet> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+        return lazyConesCache;
+    }
+
+    private IntSortedSet getLazyCone(ConeType coneType, int objectIndex) {
+        final Long key = (long)coneType.ordinal() * numberOfObjects + objectIndex;
+        final Map<Long, IntSortedSet> cache = getLazyConesCache();
+        synchronized (this) {
+            final IntSortedSet dominanceCone = cache.get(key);
+            if(dominanceCone != null) {
+                return dominanceCone;
+            }
+        }
+
+        //calculated outside of the lock, concurrent requests for the same cone at worst calculate it twice
+        final IntSortedSet dominanceCone = calculateCone(coneType, objectIndex, informationTable);
+        synchronized (this) {
+            cache.put(key, dominanceCone);
+        }
+        return dominanceCone;
+    }
+
     public String getDataHash() {
         return dataHash;
     }
@@ -133,6 +304,15 @@ public class DominanceCones {
                 ", negativeDCones=" + Arrays.toString(negativeDCones) +
                 ", positiveInvDCones=" + Arrays.toString(positiveInvDCones) +
                 ", negativeInvDCones=" + Arrays.toString(negativeInvDCones) +
+                ", representation=" + representation +
+                ", positiveDConesBitSets=" + positiveDConesBitSets +
+                ", negativeDConesBitSets=" + negativeDConesBitSets +
+                ", positiveInvDConesBitSets=" + positiveInvDConesBitSets +
+                ", negativeInvDConesBitSets=" + negativeInvDConesBitSets +
+                ", lazyConeSizes=" + Arrays.deepToString(lazyConeSizes) +
+                ", lazyConesCacheSize=" + lazyConesCacheSize +
+                ", sortedSetsEstimatedMemory=" + sortedSetsEstimatedMemory +
+                ", bitSetsEstimatedMemory=" + bitSetsEstimatedMemory +
                 ", dataHash='" + dataHash + '\'' +
                 ", isCurrentData=" + isCurrentData +
                 ", descriptiveAttributes=" + descriptiveAttributes +
@@ -141,55 +321,145 @@ public class DominanceCones {
                 '}';
     }
 
-    public void calculateDCones(InformationTable informationTable, String[] descriptiveAttributesPriority) {
+    public void calculateDCones(InformationTable informationTable, String dataHash, String[] descriptiveAttributesPriority, CalculationsExecutor calculationsExecutor) {
+        calculateDCones(informationTable, dataHash, descriptiveAttributesPriority, DominanceConesRepresentation.SORTED_SETS, calculationsExecutor);
+    }
+
+    //hash of data is given by caller, e.g. memoized by project, so the table isn't hashed again
+    public void calculateDCones(InformationTable informationTable, String dataHash, String[] descriptiveAttributesPriority, DominanceConesRepresentation representation, CalculationsExecutor calculationsExecutor) {
         this.numberOfObjects = informationTable.getNumberOfObjects();
+        this.representation = representation;
+        this.sortedSetsEstimatedMemory = 0L;
+        this.bitSetsEstimatedMemory = 0L;
 
-        this.positiveDCones = new IntSortedSet[this.numberOfObjects];
-        calculatePositiveDCones(informationTable);
-        this.negativeDCones = new IntSortedSet[this.numberOfObjects];
-        calculateNegativeDCones(informationTable);
+        this.positiveDCones = null;
+        this.negativeDCones = null;
+        this.positiveInvDCones = null;
+        this.negativeInvDCones = null;
+        this.positiveDConesBitSets = null;
+        this.negativeDConesBitSets = null;
+        this.positiveInvDConesBitSets = null;
+        this.negativeInvDConesBitSets = null;
+        this.lazyConeSizes = (representation == DominanceConesRepresentation.LAZY) ? new int[ConeType.values().length][] : null;
+        synchronized (this) {
+            this.lazyConesCache = null;
+        }
 
-        if(DominanceConeCalculator.INSTANCE.positiveDominanceConesEqual(informationTable)) {
-            this.positiveInvDCones = null;
-        } else {
-            this.positiveInvDCones = new IntSortedSet[this.numberOfObjects];
-            calculatePositiveInvDCones(informationTable);
+        calculateDConesOfType(ConeType.POSITIVE, informationTable, calculationsExecutor);
+        calculateDConesOfType(ConeType.NEGATIVE, informationTable, calculationsExecutor);
+
+        if(!DominanceConeCalculator.INSTANCE.positiveDominanceConesEqual(informationTable)) {
+            calculateDConesOfType(ConeType.POSITIVE_INVERTED, informationTable, calculationsExecutor);
         }
 
-        if(DominanceConeCalculator.INSTANCE.negativeDominanceConesEqual(informationTable)) {
-            this.negativeInvDCones = null;
-        } else {
-            this.negativeInvDCones = new IntSortedSet[this.numberOfObjects];
-            calculateNegativeInvDCones(informationTable);
+        if(!DominanceConeCalculator.INSTANCE.negativeDominanceConesEqual(informationTable)) {
+            calculateDConesOfType(ConeType.NEGATIVE_INVERTED, informationTable, calculationsExecutor);
         }
 
-        this.dataHash = informationTable.getHash();
+        this.dataHash = dataHash;
         this.isCurrentData = true;
         this.descriptiveAttributes = new DescriptiveAttributes(informationTable, descriptiveAttributesPriority);
         this.informationTable = informationTable;
     }
 
-    private void calculatePositiveDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.positiveDCones[x] = DominanceConeCalculator.INSTANCE.calculatePositiveDCone(x, informationTable);
+    //approximate size in bytes of a cone kept as a sorted set, assuming compressed references
+    private static long estimateMemory(IntSortedSet dominanceCone) {
+        final int size = dominanceCone.size();
+        if(dominanceCone instanceof IntLinkedOpenHashSet) {
+            final int capacity = HashCommon.arraySize(size, Hash.DEFAULT_LOAD_FACTOR);
+            return 64L + (4L + 8L) * (capacity + 1);
+        } else {
+            //tree entry: header, key, two links and balance information
+            return 48L + 32L * size;
         }
     }
 
-    private void calculateNegativeDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.negativeDCones[x] = DominanceConeCalculator.INSTANCE.calculateNegativeDCone(x, informationTable);
+    private static IntSortedSet calculateCone(ConeType coneType, int objectIndex, InformationTable informationTable) {
+        switch (coneType) {
+            case POSITIVE:
+                return DominanceConeCalculator.INSTANCE.calculatePositiveDCone(objectIndex, informationTable);
+            case NEGATIVE:
+                return DominanceConeCalculator.INSTANCE.calculateNegativeDCone(objectIndex, informationTable);
+            case POSITIVE_INVERTED:
+                return DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(objectIndex, informationTable);
+            case NEGATIVE_INVERTED:
+                return DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(objectIndex, informationTable);
+            default:
+                WrongParameterException ex = new WrongParameterException(String.format("Given type of cone \"%s\" is unrecognized.", coneType));
+                logger.error(ex.getMessage());
+                throw ex;
         }
     }
 
-    private void calculatePositiveInvDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.positiveInvDCones[x] = DominanceConeCalculator.INSTANCE.calculatePositiveInvDCone(x, informationTable);
+    //memory of both materialised representations is estimated, but only the chosen one is stored
+    //lazy representation is a counting pass, every cone is dropped right after its size is recorded
+    private void calculateDConesOfType(ConeType coneType, InformationTable informationTable, CalculationsExecutor calculationsExecutor) {
+        IntSortedSet[] sortedSets = null;
+        DominanceConeBitSets bitSets = null;
+        int[] coneSizes = null;
+        if(this.representation == DominanceConesRepresentation.LAZY) {
+            coneSizes = new int[this.numberOfObjects];
+        } else if(this.representation == DominanceConesRepresentation.BIT_SETS) {
+            bitSets = new DominanceConeBitSets(this.numberOfObjects);
+        } else {
+            sortedSets = new IntSortedSet[this.numberOfObjects];
+        }
+
+        //cones of different objects are independent, each range of objects fills only its own part of arrays
+        final IntSortedSet[] rangeSortedSets = sortedSets;
+        final DominanceConeBitSets rangeBitSets = bitSets;
+        final int[] rangeConeSizes = coneSizes;
+        final int rangeSize = Math.max(MIN_OBJECTS_RANGE_SIZE, this.numberOfObjects / (4 * calculationsExecutor.getParallelism()) + 1);
+        List<Callable<Long>> ranges = new ArrayList<>();
+        for(int rangeStart = 0; rangeStart < this.numberOfObjects; rangeStart += rangeSize) {
+            final int from = rangeStart;
+            final int to = Math.min(rangeStart + rangeSize, this.numberOfObjects);
+            ranges.add(() -> {
+                long rangeMemory = 0L;
+                for(int x = from; x < to; x++) {
+                    final IntSortedSet dominanceCone = calculateCone(coneType, x, informationTable);
+                    rangeMemory += estimateMemory(dominanceCone);
+                    if(rangeConeSizes != null) {
+                        rangeConeSizes[x] = dominanceCone.size();
+                    } else if(rangeSortedSets != null) {
+                        rangeSortedSets[x] = dominanceCone;
+                    } else {
+                        rangeBitSets.setCone(x, dominanceCone);
+                    }
+                }
+                return rangeMemory;
+            });
+        }
+
+        long sortedSetsMemory = 16L + 4L * this.numberOfObjects;
+        for(Long rangeMemory : calculationsExecutor.invokeAll(ranges)) {
+            sortedSetsMemory += rangeMemory;
+        }
+        this.sortedSetsEstimatedMemory += sortedSetsMemory;
+        this.bitSetsEstimatedMemory += DominanceConeBitSets.estimateMemory(this.numberOfObjects);
+
+        if(coneSizes != null) {
+            this.lazyConeSizes[coneType.ordinal()] = coneSizes;
+            return;
         }
-    }
 
-    private void calculateNegativeInvDCones(InformationTable informationTable) {
-        for(int x = 0; x < this.numberOfObjects; x++) {
-            this.negativeInvDCones[x] = DominanceConeCalculator.INSTANCE.calculateNegativeInvDCone(x, informationTable);
+        switch (coneType) {
+            case POSITIVE:
+                this.positiveDCones = sortedSets;
+                this.positiveDConesBitSets = bitSets;
+                break;
+            case NEGATIVE:
+                this.negativeDCones = sortedSets;
+                this.negativeDConesBitSets = bitSets;
+                break;
+            case POSITIVE_INVERTED:
+                this.positiveInvDCones = sortedSets;
+                this.positiveInvDConesBitSets = bitSets;
+                break;
+            case NEGATIVE_INVERTED:
+                this.negativeInvDCones = sortedSets;
+                this.negativeInvDConesBitSets = bitSets;
+                break;
         }
     }
 
@@ -4,11 +4,12 @@ import org.rulelearn.data.Decision;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import pl.put.poznan.rulestudio.model.parameters.ClassificationParameters;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
 
 public class FoldClassification extends AbstractClassification {
 
-    public FoldClassification(InformationTable learningInformationTable, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions) {
-        classify(learningInformationTable, classifiedInformationTable, classificationParameters, ruleSetWithCharacteristics, orderOfDecisions);
+    public FoldClassification(InformationTable learningInformationTable, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, RuleSetWithCharacteristics ruleSetWithCharacteristics, Decision[] orderOfDecisions, CalculationsExecutor calculationsExecutor) {
+        classify(learningInformationTable, classifiedInformationTable, classificationParameters, ruleSetWithCharacteristics, orderOfDecisions, calculationsExecutor);
     }
 
     @Override
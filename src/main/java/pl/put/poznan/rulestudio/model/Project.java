@@ -1,12 +1,15 @@
 package pl.put.poznan.rulestudio.model;
 
 import org.rulelearn.data.InformationTable;
-import pl.put.poznan.rulestudio.service.RulesService;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 public class Project {
+    private static final int MAX_SERIALIZED_RESPONSES = 16;
+
     private UUID id;
     private String name;
     private InformationTable informationTable;
@@ -16,9 +19,19 @@ public class Project {
     private ProjectRules projectRules;
     private ProjectClassification projectClassification;
     private CrossValidation crossValidation;
+    private CrossValidationGridSearch crossValidationGridSearch;
+    private RepeatedCrossValidation repeatedCrossValidation;
     private String metadataFileName;
     private String dataFileName;
 
+    //fingerprints of current data, calculated at most once for every information table set in project
+    private transient String dataHash;
+    private transient String attributesHash;
+
+    //serialized responses of reading requests, valid only for the version of project they were created for
+    private transient Long serializedResponsesVersion;
+    private transient LinkedHashMap<String, byte[]> serializedResponses;
+
     public Project(String name) {
         this.id = UUID.randomUUID();
         this.name = name;
@@ -33,6 +46,26 @@ public class Project {
         this.descriptiveAttributes = new DescriptiveAttributes(informationTable);
     }
 
+    public synchronized byte[] getSerializedResponse(Long version, String key) {
+        if((serializedResponses == null) || (!version.equals(serializedResponsesVersion))) {
+            return null;
+        }
+        return serializedResponses.get(key);
+    }
+
+    public synchronized void putSerializedResponse(Long version, String key, byte[] serializedResponse) {
+        if((serializedResponses == null) || (!version.equals(serializedResponsesVersion))) {
+            serializedResponsesVersion = version;
+            serializedResponses = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > MAX_SERIALIZED_RESPONSES;
+                }
+            };
+        }
+        serializedResponses.put(key, serializedResponse);
+    }
+
     public UUID getId() {
         return id;
     }
@@ -53,10 +86,28 @@ public class Project {
         return informationTable;
     }
 
+    public synchronized String getDataHash() {
+        if((dataHash == null) && (informationTable != null)) {
+            dataHash = informationTable.getHash();
+        }
+        return dataHash;
+    }
+
+    public synchronized String getAttributesHash() {
+        if((attributesHash == null) && (informationTable != null)) {
+            attributesHash = new InformationTable(informationTable.getAttributes(), new ArrayList<>()).getHash();
+        }
+        return attributesHash;
+    }
+
     public void setInformationTable(InformationTable informationTable) {
-        this.informationTable = informationTable;
+        synchronized (this) {
+            this.informationTable = informationTable;
+            this.dataHash = null;
+            this.attributesHash = null;
+        }
 
-        String dataHash = informationTable.getHash();
+        final String dataHash = getDataHash();
         if(this.dominanceCones != null) {
             if (dominanceCones.getDataHash().equals(dataHash)) {
                 dominanceCones.setCurrentData(true);
@@ -73,8 +124,7 @@ public class Project {
         }
         if(this.projectRules != null) {
             if (projectRules.isExternalRules()) {
-                final String attributesHash = new InformationTable(informationTable.getAttributes(), new ArrayList<>()).getHash();
-                if (projectRules.getAttributesHash().equals(attributesHash)) {
+                if (projectRules.getAttributesHash().equals(getAttributesHash())) {
                     projectRules.setCurrentAttributes(true);
                 } else {
                     projectRules.setCurrentAttributes(false);
@@ -91,8 +141,7 @@ public class Project {
         }
         if(this.projectClassification != null) {
             if (projectClassification.isExternalData()) {
-                final String attributesHash = new InformationTable(informationTable.getAttributes(), new ArrayList<>()).getHash();
-                if(projectClassification.getAttributesHash().equals(attributesHash)) {
+                if(projectClassification.getAttributesHash().equals(getAttributesHash())) {
                     projectClassification.setCurrentProjectData(true);
                 } else {
                     projectClassification.setCurrentProjectData(false);
@@ -105,7 +154,7 @@ public class Project {
                 }
             }
 
-            if ((projectClassification.isCurrentLearningData() != null) && (projectClassification.getLearningInformationTable().getHash().equals(dataHash))) {
+            if ((projectClassification.isCurrentLearningData() != null) && (projectClassification.getLearningDataHash().equals(dataHash))) {
                 projectClassification.setCurrentLearningData(true);
             } else {
                 projectClassification.setCurrentLearningData(false);
@@ -118,6 +167,20 @@ public class Project {
                 crossValidation.setCurrentData(false);
             }
         }
+        if(this.crossValidationGridSearch != null) {
+            if (crossValidationGridSearch.getDataHash().equals(dataHash)) {
+                crossValidationGridSearch.setCurrentData(true);
+            } else {
+                crossValidationGridSearch.setCurrentData(false);
+            }
+        }
+        if(this.repeatedCrossValidation != null) {
+            if (repeatedCrossValidation.getDataHash().equals(dataHash)) {
+                repeatedCrossValidation.setCurrentData(true);
+            } else {
+                repeatedCrossValidation.setCurrentData(false);
+            }
+        }
 
         String previousName = this.descriptiveAttributes.getCurrentAttributeName();
         this.descriptiveAttributes = new DescriptiveAttributes(informationTable, previousName);
@@ -161,12 +224,8 @@ public class Project {
             return;
         }
 
-        if (this.projectRules.isExternalRules()) {
-            RulesService.checkCoverageOfUploadedRules(this.projectRules, this.informationTable, this.descriptiveAttributes);
-        }
-
         if (this.projectClassification != null) {
-            if (this.projectClassification.getRuleSet().getHash().equals(this.projectRules.getRuleSet().getHash())) {
+            if ((this.projectClassification.getRuleSet() == this.projectRules.getRuleSet()) || (this.projectClassification.getRuleSetHash().equals(this.projectRules.getRuleSetHash()))) {
                 this.projectClassification.setCurrentRuleSet(true);
             } else {
                 this.projectClassification.setCurrentRuleSet(false);
@@ -193,6 +252,22 @@ public class Project {
         this.crossValidation = crossValidation;
     }
 
+    public CrossValidationGridSearch getCrossValidationGridSearch() {
+        return crossValidationGridSearch;
+    }
+
+    public void setCrossValidationGridSearch(CrossValidationGridSearch crossValidationGridSearch) {
+        this.crossValidationGridSearch = crossValidationGridSearch;
+    }
+
+    public RepeatedCrossValidation getRepeatedCrossValidation() {
+        return repeatedCrossValidation;
+    }
+
+    public void setRepeatedCrossValidation(RepeatedCrossValidation repeatedCrossValidation) {
+        this.repeatedCrossValidation = repeatedCrossValidation;
+    }
+
     public String getMetadataFileName() {
         return metadataFileName;
     }
@@ -221,6 +296,8 @@ public class Project {
                 ", projectRules=" + projectRules +
                 ", projectClassification=" + projectClassification +
                 ", crossValidation=" + crossValidation +
+                ", crossValidationGridSearch=" + crossValidationGridSearch +
+                ", repeatedCrossValidation=" + repeatedCrossValidation +
                 ", metadataFileName='" + metadataFileName + '\'' +
                 ", dataFileName='" + dataFileName + '\'' +
                 '}';
@@ -2,8 +2,12 @@ package pl.put.poznan.rulestudio.model;
 
 import org.rulelearn.approximations.UnionsWithSingleLimitingDecision;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.rules.RuleSetWithComputableCharacteristics;
 import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParameters;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ProjectClassUnions {
     private UnionsWithSingleLimitingDecision unions;
     private ClassUnionsParameters classUnionsParameters;
@@ -13,6 +17,9 @@ public class ProjectClassUnions {
     private InformationTable informationTable;
     private String calculationsTime;
 
+    //unfiltered rules induced from these unions, by type of rules and type of unions, so changed filter doesn't induce rules again
+    private transient Map<String, RuleSetWithComputableCharacteristics> unfilteredRulesOfPasses;
+
     public ProjectClassUnions(UnionsWithSingleLimitingDecision unions, ClassUnionsParameters classUnionsParameters, String dataHash, String[] descriptiveAttributesPriority, InformationTable informationTable) {
         this.unions = unions;
         this.classUnionsParameters = classUnionsParameters;
@@ -29,6 +36,16 @@ public class ProjectClassUnions {
 
     public void setUnions(UnionsWithSingleLimitingDecision unions) {
         this.unions = unions;
+        synchronized (this) {
+            this.unfilteredRulesOfPasses = null;
+        }
+    }
+
+    public synchronized Map<String, RuleSetWithComputableCharacteristics> getUnfilteredRulesOfPasses() {
+        if(unfilteredRulesOfPasses == null) {
+            unfilteredRulesOfPasses = new ConcurrentHashMap<>();
+        }
+        return unfilteredRulesOfPasses;
     }
 
     public ClassUnionsParameters getClassUnionsParameters() {
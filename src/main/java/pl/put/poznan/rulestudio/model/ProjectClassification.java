@@ -8,6 +8,7 @@ import org.rulelearn.rules.Rule;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.rulelearn.types.EvaluationField;
 import pl.put.poznan.rulestudio.model.parameters.ClassificationParameters;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,11 +32,16 @@ public class ProjectClassification extends AbstractClassification {
     private Boolean isCurrentLearningData;
     private String calculationsTime;
 
-    public ProjectClassification(ProjectRules projectRules, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, String[] classifiedDescriptiveAttributesPriority, String[] learningDescriptiveAttributesPriority, InformationTable projectDataInformationTable) {
-        this(projectRules, classifiedInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, projectDataInformationTable, null);
+    //fingerprints of rule set and learning data, calculated at most once
+    private transient String ruleSetHash;
+    private transient String learningDataHash;
+
+    public ProjectClassification(ProjectRules projectRules, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, String[] classifiedDescriptiveAttributesPriority, String[] learningDescriptiveAttributesPriority, Project project, CalculationsExecutor calculationsExecutor) {
+        this(projectRules, classifiedInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, project, null, calculationsExecutor);
     }
 
-    public ProjectClassification(ProjectRules projectRules, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, String[] classifiedDescriptiveAttributesPriority, String[] learningDescriptiveAttributesPriority, InformationTable projectDataInformationTable, String externalDataFileName) {
+    //hashes of data of project are taken from project, which calculates them at most once
+    public ProjectClassification(ProjectRules projectRules, InformationTable classifiedInformationTable, ClassificationParameters classificationParameters, String[] classifiedDescriptiveAttributesPriority, String[] learningDescriptiveAttributesPriority, Project project, String externalDataFileName, CalculationsExecutor calculationsExecutor) {
         CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
 
         final RuleSetWithCharacteristics ruleSetWithCharacteristics = projectRules.getRuleSet();
@@ -45,26 +51,28 @@ public class ProjectClassification extends AbstractClassification {
             this.isCurrentLearningData = projectRules.isCurrentLearningData();
         } else {
             this.isOriginalLearningData = false;
-            this.learningInformationTable = projectDataInformationTable;
+            this.learningInformationTable = project.getInformationTable();
+            this.learningDataHash = project.getDataHash();
             this.isCurrentLearningData = true;
         }
         this.learningDescriptiveAttributes = new DescriptiveAttributes(this.learningInformationTable, learningDescriptiveAttributesPriority);
 
 
         orderOfDecisions = induceOrderedUniqueFullyDeterminedDecisions(ruleSetWithCharacteristics, classifiedInformationTable);
-        classify(this.learningInformationTable, classifiedInformationTable, classificationParameters, ruleSetWithCharacteristics, orderOfDecisions);
+        classify(this.learningInformationTable, classifiedInformationTable, classificationParameters, ruleSetWithCharacteristics, orderOfDecisions, calculationsExecutor);
 
         this.classifiedInformationTable = classifiedInformationTable;
         this.classifiedDescriptiveAttributes = new DescriptiveAttributes(classifiedInformationTable, classifiedDescriptiveAttributesPriority);
         this.classificationParameters = classificationParameters;
 
-        this.projectDataHash = projectDataInformationTable.getHash();
+        this.projectDataHash = project.getDataHash();
         this.isCurrentProjectData = true;
 
         if(externalDataFileName != null) {
             this.externalData = true;
             this.externalDataFileName = externalDataFileName;
-            this.attributesHash = new InformationTable(classifiedInformationTable.getAttributes(), new ArrayList<>()).getHash();
+            //external data is read with attributes of project
+            this.attributesHash = project.getAttributesHash();
         } else {
             this.externalData = false;
             this.externalDataFileName = null;
@@ -126,6 +134,20 @@ public class ProjectClassification extends AbstractClassification {
         return ruleSet;
     }
 
+    public synchronized String getRuleSetHash() {
+        if(ruleSetHash == null) {
+            ruleSetHash = ruleSet.getHash();
+        }
+        return ruleSetHash;
+    }
+
+    public synchronized String getLearningDataHash() {
+        if(learningDataHash == null) {
+            learningDataHash = learningInformationTable.getHash();
+        }
+        return learningDataHash;
+    }
+
     public Boolean isCurrentRuleSet() {
         return isCurrentRuleSet;
     }
@@ -1,8 +1,8 @@
 package pl.put.poznan.rulestudio.model;
 
-import org.rulelearn.data.Attribute;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
 import pl.put.poznan.rulestudio.model.parameters.RulesParameters;
 
 import java.util.ArrayList;
@@ -21,12 +21,25 @@ public class ProjectRules implements Cloneable {
     private DescriptiveAttributes descriptiveAttributes;
     private InformationTable informationTable;
     private String calculationsTime;
+
+    //built once from the rule set, cleared together with orderings
+    private transient RuleCharacteristicsColumns ruleCharacteristicsColumns;
+
+    //indices of rules ordered by characteristic, two orderings (ascending and descending) per characteristic
+    private transient int[][] rulesOrderings;
+
+    //fingerprint of rule set, calculated at most once for every rule set
+    private transient String ruleSetHash;
+
+    //built once from coverage information of rules, cleared together with characteristics
+    private transient RulesCoverageIndex rulesCoverageIndex;
   
-    public ProjectRules(RuleSetWithCharacteristics rules, String rulesFileName, Attribute[] attributes) {
+    //attributes hash is taken from project, whose attributes were used to read the rules
+    public ProjectRules(RuleSetWithCharacteristics rules, String rulesFileName, String attributesHash) {
         this.externalRules = true;
         this.ruleSet = rules;
         this.rulesFileName = rulesFileName;
-        this.attributesHash = new InformationTable(attributes, new ArrayList<>()).getHash();
+        this.attributesHash = attributesHash;
         this.isCurrentAttributes = true;
     }
 
@@ -49,6 +62,49 @@ public class ProjectRules implements Cloneable {
 
     public void setRuleSet(RuleSetWithCharacteristics ruleSet) {
         this.ruleSet = ruleSet;
+        synchronized (this) {
+            this.ruleSetHash = null;
+        }
+        clearRuleCharacteristics();
+    }
+
+    public synchronized String getRuleSetHash() {
+        if(ruleSetHash == null) {
+            ruleSetHash = ruleSet.getHash();
+        }
+        return ruleSetHash;
+    }
+
+    public synchronized RuleCharacteristicsColumns getRuleCharacteristicsColumns() {
+        if(ruleCharacteristicsColumns == null) {
+            ruleCharacteristicsColumns = new RuleCharacteristicsColumns(ruleSet);
+        }
+        return ruleCharacteristicsColumns;
+    }
+
+    public synchronized RulesCoverageIndex getRulesCoverageIndex() {
+        if(rulesCoverageIndex == null) {
+            rulesCoverageIndex = new RulesCoverageIndex(ruleSet, (informationTable != null) ? informationTable.getNumberOfObjects() : 0);
+        }
+        return rulesCoverageIndex;
+    }
+
+    public synchronized int[] getRulesOrdering(OrderByRuleCharacteristic orderBy, boolean desc) {
+        return (rulesOrderings != null) ? rulesOrderings[2 * orderBy.ordinal() + (desc ? 1 : 0)] : null;
+    }
+
+    public synchronized void setRulesOrdering(OrderByRuleCharacteristic orderBy, boolean desc, int[] rulesOrdering) {
+        if(rulesOrderings == null) {
+            rulesOrderings = new int[2 * OrderByRuleCharacteristic.values().length][];
+        }
+        rulesOrderings[2 * orderBy.ordinal() + (desc ? 1 : 0)] = rulesOrdering;
+    }
+
+    //has to be called whenever characteristics of rules may change
+    public synchronized void clearRuleCharacteristics() {
+        ruleCharacteristicsColumns = null;
+        rulesOrderings = null;
+        rulesCoverageIndex = null;
     }
 
     public RulesParameters getRulesParameters() {
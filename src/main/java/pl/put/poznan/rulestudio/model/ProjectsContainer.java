@@ -1,42 +1,419 @@
 package pl.put.poznan.rulestudio.model;
 
+import com.thoughtworks.xstream.XStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import pl.put.poznan.rulestudio.exception.ProjectReloadException;
 
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Component
 public class ProjectsContainer {
-    private LinkedHashMap<UUID, Project> projectHashMap;
 
-    public ProjectsContainer() {
-        projectHashMap = new LinkedHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(ProjectsContainer.class);
+
+    //every project has its own lock, so requests for different projects never contend
+    private static class ProjectEntry {
+        private final UUID id;
+        private final Long sequenceNumber;
+        private final ReentrantReadWriteLock lock;
+        private volatile Project project;
+        private volatile String name;
+        private volatile Path spillFile;
+        private volatile long lastAccessTime;
+        private volatile long version;
+
+        private ProjectEntry(Project project, Long sequenceNumber, long version) {
+            this.id = project.getId();
+            this.sequenceNumber = sequenceNumber;
+            this.lock = new ReentrantReadWriteLock();
+            this.project = project;
+            this.name = project.getName();
+            this.spillFile = null;
+            this.lastAccessTime = System.nanoTime();
+            this.version = version;
+        }
+
+        private String getName() {
+            final Project currentProject = project;
+            return (currentProject != null) ? currentProject.getName() : name;
+        }
     }
 
-    public LinkedHashMap<UUID, Project> getProjectHashMap() {
-        return projectHashMap;
+    //all project modifications hold write lock, so releasing it gives the project a new version
+    private class VersioningWriteLock implements Lock {
+        private final ProjectEntry entry;
+        private final Lock writeLock;
+
+        private VersioningWriteLock(ProjectEntry entry) {
+            this.entry = entry;
+            this.writeLock = entry.lock.writeLock();
+        }
+
+        @Override
+        public void lock() {
+            writeLock.lock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            writeLock.lockInterruptibly();
+        }
+
+        @Override
+        public boolean tryLock() {
+            return writeLock.tryLock();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return writeLock.tryLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            entry.version = versions.incrementAndGet();
+            writeLock.unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            return writeLock.newCondition();
+        }
+    }
+
+    private final ConcurrentHashMap<UUID, ProjectEntry> projectEntries;
+    private final AtomicLong sequence;
+    //versions start from current time, so they aren't repeated after restart of the server
+    private final AtomicLong versions;
+
+    private final Integer maxResidentProjects;
+    private final Double heapUsageLimit;
+    private final String spillDirectoryName;
+    private Path spillDirectory;
+
+    private final ExecutorService evictionExecutor;
+    private final AtomicBoolean isEvictionScheduled;
+
+    private final AtomicLong numberOfSpills;
+    private final AtomicLong numberOfReloads;
+    private final AtomicLong totalReloadTime;
+    private final AtomicLong maxReloadTime;
+    private final AtomicLong lastReloadTime;
+
+    public ProjectsContainer(
+            @Value("${rulestudio.projects.maxResident:0}") Integer maxResidentProjects,
+            @Value("${rulestudio.projects.heapUsageLimit:0}") Double heapUsageLimit,
+            @Value("${rulestudio.projects.spillDirectory:}") String spillDirectoryName) {
+        this.projectEntries = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong(0);
+        this.versions = new AtomicLong(System.currentTimeMillis() * 1000);
+
+        this.maxResidentProjects = maxResidentProjects;
+        this.heapUsageLimit = heapUsageLimit;
+        this.spillDirectoryName = spillDirectoryName;
+        this.spillDirectory = null;
+
+        this.evictionExecutor = Executors.newSingleThreadExecutor();
+        this.isEvictionScheduled = new AtomicBoolean(false);
+
+        this.numberOfSpills = new AtomicLong(0);
+        this.numberOfReloads = new AtomicLong(0);
+        this.totalReloadTime = new AtomicLong(0);
+        this.maxReloadTime = new AtomicLong(0);
+        this.lastReloadTime = new AtomicLong(0);
     }
 
-    public void setProjectHashMap(LinkedHashMap<UUID, Project> projectHashMap) {
-        this.projectHashMap = projectHashMap;
+    @PreDestroy
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+        for(ProjectEntry entry : projectEntries.values()) {
+            deleteSpillFile(entry);
+        }
+    }
+
+    //project names in the order they were added, spilled projects are not reloaded
+    public LinkedHashMap<UUID, String> getProjectNames() {
+        ArrayList<ProjectEntry> entries = new ArrayList<>(projectEntries.values());
+        entries.sort(Comparator.comparing(entry -> entry.sequenceNumber));
+
+        LinkedHashMap<UUID, String> projectNames = new LinkedHashMap<>();
+        for(ProjectEntry entry : entries) {
+            projectNames.put(entry.id, entry.getName());
+        }
+        return projectNames;
     }
 
     public void addProject(Project project) {
-        projectHashMap.put(project.getId(), project);
+        projectEntries.put(project.getId(), new ProjectEntry(project, sequence.incrementAndGet(), versions.incrementAndGet()));
+        scheduleEviction();
     }
 
+    //spilled project is reloaded from disk, ProjectReloadException is thrown if it can't be read
     public Project getProject(UUID id) {
-        return projectHashMap.get(id);
+        final ProjectEntry entry = projectEntries.get(id);
+        if(entry == null) {
+            return null;
+        }
+
+        entry.lastAccessTime = System.nanoTime();
+        Project project = entry.project;
+        if(project == null) {
+            project = reloadProject(entry);
+        }
+
+        scheduleEviction();
+        return project;
+    }
+
+    //returns false if there is no project with given id, spilled project is not reloaded
+    public boolean removeProject(UUID id) {
+        final ProjectEntry entry = projectEntries.remove(id);
+        if(entry == null) {
+            return false;
+        }
+
+        synchronized (entry) {
+            deleteSpillFile(entry);
+        }
+        return true;
+    }
+
+    //returns null if there is no project with given id
+    public Lock getReadLock(UUID id) {
+        final ProjectEntry entry = projectEntries.get(id);
+        return (entry != null) ? entry.lock.readLock() : null;
+    }
+
+    //returns null if there is no project with given id
+    public Lock getWriteLock(UUID id) {
+        final ProjectEntry entry = projectEntries.get(id);
+        return (entry != null) ? new VersioningWriteLock(entry) : null;
+    }
+
+    //version changes after every modification of the project, returns null if there is no project with given id
+    public Long getProjectVersion(UUID id) {
+        final ProjectEntry entry = projectEntries.get(id);
+        return (entry != null) ? entry.version : null;
+    }
+
+    private synchronized Path getSpillDirectory() throws IOException {
+        if(spillDirectory == null) {
+            if((spillDirectoryName == null) || (spillDirectoryName.isEmpty())) {
+                spillDirectory = Files.createTempDirectory("rulestudio-projects");
+            } else {
+                spillDirectory = Files.createDirectories(Paths.get(spillDirectoryName));
+            }
+            logger.info("Spilled projects are stored in {}.", spillDirectory);
+        }
+        return spillDirectory;
+    }
+
+    private void deleteSpillFile(ProjectEntry entry) {
+        final Path spillFile = entry.spillFile;
+        if(spillFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            logger.warn("Couldn't delete spilled project {}: {}", spillFile, e.getMessage());
+        }
+        entry.spillFile = null;
+    }
+
+    private Project reloadProject(ProjectEntry entry) {
+        synchronized (entry) {
+            if(entry.project != null) {
+                return entry.project;
+            }
+
+            final long startTime = System.nanoTime();
+            Project project;
+            try (ObjectInputStream ois = new XStream().createObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(entry.spillFile))))) {
+                project = (Project) ois.readObject();
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                //spill file is kept and project stays in container, so reloading can be retried or the file recovered
+                ProjectReloadException ex = new ProjectReloadException(String.format("Couldn't reload project %s spilled to file \"%s\": %s", entry.id, entry.spillFile, e.getMessage()), e);
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+            final long reloadTime = System.nanoTime() - startTime;
+
+            entry.project = project;
+            deleteSpillFile(entry);
+
+            numberOfReloads.incrementAndGet();
+            totalReloadTime.addAndGet(reloadTime);
+            maxReloadTime.accumulateAndGet(reloadTime, Math::max);
+            lastReloadTime.set(reloadTime);
+            logger.info("Project {} reloaded from disk in {} ms.", entry.id, reloadTime / 1000000);
+
+            return project;
+        }
+    }
+
+    //project is spilled only if no request is using it at the moment
+    //spilling doesn't change the project, so plain write lock is taken and the version (and ETag) of reloaded project stays valid
+    private boolean spillProject(ProjectEntry entry) {
+        final Lock lock = entry.lock.writeLock();
+        if(!lock.tryLock()) {
+            return false;
+        }
+
+        try {
+            synchronized (entry) {
+                final Project project = entry.project;
+                if((project == null) || (!projectEntries.containsKey(entry.id))) {
+                    return false;
+                }
+
+                final Path spillFile = getSpillDirectory().resolve(entry.id + ".xml.gz");
+                try (ObjectOutputStream oos = new XStream().createObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile))))) {
+                    oos.writeObject(project);
+                }
+
+                entry.name = project.getName();
+                entry.spillFile = spillFile;
+                entry.project = null;
+
+                numberOfSpills.incrementAndGet();
+                logger.info("Project {} spilled to disk.", entry.id);
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Couldn't spill project {}, it stays in memory: {}", entry.id, e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isHeapUsageExceeded() {
+        if((heapUsageLimit == null) || (heapUsageLimit <= 0)) {
+            return false;
+        }
+
+        //memory used right after the last garbage collection is checked, so uncollected garbage doesn't cause spilling
+        long usedMemory = 0L;
+        for(MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(memoryPool.getType() == MemoryType.HEAP) {
+                final MemoryUsage collectionUsage = memoryPool.getCollectionUsage();
+                if(collectionUsage != null) {
+                    usedMemory += collectionUsage.getUsed();
+                }
+            }
+        }
+        return usedMemory > heapUsageLimit * Runtime.getRuntime().maxMemory();
+    }
+
+    private void scheduleEviction() {
+        if(((maxResidentProjects == null) || (maxResidentProjects <= 0)) && ((heapUsageLimit == null) || (heapUsageLimit <= 0))) {
+            return;
+        }
+
+        if(isEvictionScheduled.compareAndSet(false, true)) {
+            evictionExecutor.execute(() -> {
+                isEvictionScheduled.set(false);
+                evictProjects();
+            });
+        }
+    }
+
+    private void evictProjects() {
+        ArrayList<ProjectEntry> residentEntries = new ArrayList<>();
+        for(ProjectEntry entry : projectEntries.values()) {
+            if(entry.project != null) {
+                residentEntries.add(entry);
+            }
+        }
+        residentEntries.sort(Comparator.comparingLong(entry -> entry.lastAccessTime));
+
+        int numberOfResidentProjects = residentEntries.size();
+        //used heap drops only after garbage collection, so exceeded heap limit spills one project at a time
+        boolean isHeapUsageExceeded = (numberOfResidentProjects > 1) && isHeapUsageExceeded();
+
+        for(ProjectEntry entry : residentEntries) {
+            final boolean isCountExceeded = (maxResidentProjects != null) && (maxResidentProjects > 0) && (numberOfResidentProjects > maxResidentProjects);
+            if((!isCountExceeded) && (!isHeapUsageExceeded)) {
+                break;
+            }
+
+            if(spillProject(entry)) {
+                numberOfResidentProjects--;
+                isHeapUsageExceeded = false;
+            }
+        }
+    }
+
+    public Integer getNumberOfResidentProjects() {
+        int numberOfResidentProjects = 0;
+        for(ProjectEntry entry : projectEntries.values()) {
+            if(entry.project != null) {
+                numberOfResidentProjects++;
+            }
+        }
+        return numberOfResidentProjects;
+    }
+
+    public Integer getNumberOfSpilledProjects() {
+        return projectEntries.size() - getNumberOfResidentProjects();
+    }
+
+    public Long getNumberOfSpills() {
+        return numberOfSpills.get();
+    }
+
+    public Long getNumberOfReloads() {
+        return numberOfReloads.get();
+    }
+
+    //reload times are in nanoseconds
+    public Long getTotalReloadTime() {
+        return totalReloadTime.get();
+    }
+
+    public Long getMaxReloadTime() {
+        return maxReloadTime.get();
     }
 
-    public Project removeProject(UUID id) {
-        return projectHashMap.remove(id);
+    public Long getLastReloadTime() {
+        return lastReloadTime.get();
     }
 
     @Override
     public String toString() {
         return "ProjectsContainer{" +
-                "projectHashMap=" + projectHashMap +
+                "projectNames=" + getProjectNames() +
+                ", numberOfResidentProjects=" + getNumberOfResidentProjects() +
+                ", numberOfSpills=" + numberOfSpills +
+                ", numberOfReloads=" + numberOfReloads +
                 '}';
     }
 }
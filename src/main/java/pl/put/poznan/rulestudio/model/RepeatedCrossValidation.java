@@ -0,0 +1,220 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Decision;
+import org.rulelearn.validation.OrdinalMisclassificationMatrix;
+import pl.put.poznan.rulestudio.model.parameters.CrossValidationParameters;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+//cross-validation repeated with different seeds, only traits of repetitions and matrix averaged over all folds are kept
+public class RepeatedCrossValidation {
+
+    public static class RepetitionResult {
+        private Long seed;
+        private Double accuracy;
+        private Double deviationOfAccuracy;
+        private Double MAE;
+        private Double RMSE;
+        private Double Gmean;
+
+        public RepetitionResult(Long seed, OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix) {
+            this.seed = seed;
+            this.accuracy = meanOrdinalMisclassificationMatrix.getAccuracy();
+            this.deviationOfAccuracy = meanOrdinalMisclassificationMatrix.getDeviationOfAccuracy();
+            this.MAE = meanOrdinalMisclassificationMatrix.getMAE();
+            this.RMSE = meanOrdinalMisclassificationMatrix.getRMSE();
+            this.Gmean = meanOrdinalMisclassificationMatrix.getGmean();
+        }
+
+        public Long getSeed() {
+            return seed;
+        }
+
+        public Double getAccuracy() {
+            return accuracy;
+        }
+
+        public Double getDeviationOfAccuracy() {
+            return deviationOfAccuracy;
+        }
+
+        public Double getMAE() {
+            return MAE;
+        }
+
+        public Double getRMSE() {
+            return RMSE;
+        }
+
+        public Double getGmean() {
+            return Gmean;
+        }
+
+        @Override
+        public String toString() {
+            return "RepetitionResult{" +
+                    "seed=" + seed +
+                    ", accuracy=" + accuracy +
+                    ", deviationOfAccuracy=" + deviationOfAccuracy +
+                    ", MAE=" + MAE +
+                    ", RMSE=" + RMSE +
+                    ", Gmean=" + Gmean +
+                    '}';
+        }
+    }
+
+    private CrossValidationParameters crossValidationParameters;
+    private Long[] seeds;
+    private Decision[] orderOfDecisions;
+    private OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix;
+    private Double meanAccuracy;
+    private Double deviationOfAccuracy;
+    private Double meanMAE;
+    private Double deviationOfMAE;
+    private Double meanRMSE;
+    private Double deviationOfRMSE;
+    private Double meanGmean;
+    private Double deviationOfGmean;
+    private RepetitionResult[] repetitionResults;
+    private String dataHash;
+    private Boolean isCurrentData;
+    private String calculationsTime;
+
+    public RepeatedCrossValidation(CrossValidationParameters crossValidationParameters, Long[] seeds, Decision[] orderOfDecisions, OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix, OrdinalMisclassificationMatrix[] repetitionOrdinalMisclassificationMatrices, Boolean isRepetitionResults, String dataHash) {
+        this.crossValidationParameters = crossValidationParameters;
+        this.seeds = seeds;
+        this.orderOfDecisions = orderOfDecisions;
+        this.meanOrdinalMisclassificationMatrix = meanOrdinalMisclassificationMatrix;
+
+        final RepetitionResult[] results = new RepetitionResult[seeds.length];
+        for(int r = 0; r < seeds.length; r++) {
+            results[r] = new RepetitionResult(seeds[r], repetitionOrdinalMisclassificationMatrices[r]);
+        }
+
+        this.meanAccuracy = mean(results, RepetitionResult::getAccuracy);
+        this.deviationOfAccuracy = deviation(results, RepetitionResult::getAccuracy, meanAccuracy);
+        this.meanMAE = mean(results, RepetitionResult::getMAE);
+        this.deviationOfMAE = deviation(results, RepetitionResult::getMAE, meanMAE);
+        this.meanRMSE = mean(results, RepetitionResult::getRMSE);
+        this.deviationOfRMSE = deviation(results, RepetitionResult::getRMSE, meanRMSE);
+        this.meanGmean = mean(results, RepetitionResult::getGmean);
+        this.deviationOfGmean = deviation(results, RepetitionResult::getGmean, meanGmean);
+
+        this.repetitionResults = isRepetitionResults ? results : null;
+        this.dataHash = dataHash;
+        this.isCurrentData = true;
+    }
+
+    private static double mean(RepetitionResult[] results, ToDoubleFunction<RepetitionResult> trait) {
+        return Arrays.stream(results).mapToDouble(trait).average().orElse(0.0);
+    }
+
+    //sample standard deviation, repetitions are a sample of all possible splits
+    private static double deviation(RepetitionResult[] results, ToDoubleFunction<RepetitionResult> trait, double mean) {
+        if(results.length < 2) {
+            return 0.0;
+        }
+
+        double sumOfSquares = 0.0;
+        for(RepetitionResult result : results) {
+            final double difference = trait.applyAsDouble(result) - mean;
+            sumOfSquares += difference * difference;
+        }
+        return Math.sqrt(sumOfSquares / (results.length - 1));
+    }
+
+    public CrossValidationParameters getCrossValidationParameters() {
+        return crossValidationParameters;
+    }
+
+    public Long[] getSeeds() {
+        return seeds;
+    }
+
+    public Decision[] getOrderOfDecisions() {
+        return orderOfDecisions;
+    }
+
+    public OrdinalMisclassificationMatrix getMeanOrdinalMisclassificationMatrix() {
+        return meanOrdinalMisclassificationMatrix;
+    }
+
+    public Double getMeanAccuracy() {
+        return meanAccuracy;
+    }
+
+    public Double getDeviationOfAccuracy() {
+        return deviationOfAccuracy;
+    }
+
+    public Double getMeanMAE() {
+        return meanMAE;
+    }
+
+    public Double getDeviationOfMAE() {
+        return deviationOfMAE;
+    }
+
+    public Double getMeanRMSE() {
+        return meanRMSE;
+    }
+
+    public Double getDeviationOfRMSE() {
+        return deviationOfRMSE;
+    }
+
+    public Double getMeanGmean() {
+        return meanGmean;
+    }
+
+    public Double getDeviationOfGmean() {
+        return deviationOfGmean;
+    }
+
+    public RepetitionResult[] getRepetitionResults() {
+        return repetitionResults;
+    }
+
+    public String getDataHash() {
+        return dataHash;
+    }
+
+    public Boolean isCurrentData() {
+        return isCurrentData;
+    }
+
+    public void setCurrentData(Boolean currentData) {
+        isCurrentData = currentData;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    public void setCalculationsTime(String calculationsTime) {
+        this.calculationsTime = calculationsTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RepeatedCrossValidation{" +
+                "crossValidationParameters=" + crossValidationParameters +
+                ", seeds=" + Arrays.toString(seeds) +
+                ", orderOfDecisions=" + Arrays.toString(orderOfDecisions) +
+                ", meanOrdinalMisclassificationMatrix=" + meanOrdinalMisclassificationMatrix +
+                ", meanAccuracy=" + meanAccuracy +
+                ", deviationOfAccuracy=" + deviationOfAccuracy +
+                ", meanMAE=" + meanMAE +
+                ", deviationOfMAE=" + deviationOfMAE +
+                ", meanRMSE=" + meanRMSE +
+                ", deviationOfRMSE=" + deviationOfRMSE +
+                ", meanGmean=" + meanGmean +
+                ", deviationOfGmean=" + deviationOfGmean +
+                ", repetitionResults=" + Arrays.toString(repetitionResults) +
+                ", dataHash='" + dataHash + '\'' +
+                ", isCurrentData=" + isCurrentData +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                '}';
+    }
+}
@@ -3,55 +3,105 @@ package pl.put.poznan.rulestudio.model;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import org.rulelearn.rules.BasicRuleCoverageInformation;
 import org.rulelearn.rules.Rule;
-import org.rulelearn.rules.RuleCharacteristics;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 public class RuLeStudioRuleSet {
-    private RuLeStudioRule[] ruLeStudioRules;
+    private Rule[] rules;
+
+    //only values of characteristics are kept, coverage information of ruleLearn is not referenced by the set
+    private RuleCharacteristicsColumns ruleCharacteristicsColumns;
+
+    //rules with known coverage information
+    private BitSet rulesWithCoverage;
+
+    //objects covered by rule r are coveredObjects[ruleOffsets[r]..ruleOffsets[r+1])
+    private int[] ruleOffsets;
+    private int[] coveredObjects;
+
+    //positions in coveredObjects of objects covered, but not supported by the rule
+    private BitSet notSupportingPositions;
 
     public RuLeStudioRuleSet(RuleSetWithCharacteristics ruleSetWithCharacteristics) {
-        ruLeStudioRules = new RuLeStudioRule[ruleSetWithCharacteristics.size()];
+        this(ruleSetWithCharacteristics, null);
+    }
+
+    //indices of covered objects are translated through given array (e.g. from training table to the whole data), null keeps them unchanged
+    public RuLeStudioRuleSet(RuleSetWithCharacteristics ruleSetWithCharacteristics, int[] objectIndices) {
+        final int numberOfRules = ruleSetWithCharacteristics.size();
+        rules = new Rule[numberOfRules];
+        ruleCharacteristicsColumns = new RuleCharacteristicsColumns(ruleSetWithCharacteristics);
+        rulesWithCoverage = new BitSet(numberOfRules);
+        ruleOffsets = new int[numberOfRules + 1];
 
-        for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
-            Rule rule = ruleSetWithCharacteristics.getRule(i);
-            RuleCharacteristics ruleCharacteristics = ruleSetWithCharacteristics.getRuleCharacteristics(i);
-            int[] indicesOfCoveredObjects = null;
-            Boolean[] isSupportingObjectArray = null;
+        final int[][] coveredObjectsOfRules = new int[numberOfRules][];
+        for(int i = 0; i < numberOfRules; i++) {
+            rules[i] = ruleSetWithCharacteristics.getRule(i);
 
-            BasicRuleCoverageInformation basicRuleCoverageInformation = ruleCharacteristics.getRuleCoverageInformation();
+            BasicRuleCoverageInformation basicRuleCoverageInformation = ruleSetWithCharacteristics.getRuleCharacteristics(i).getRuleCoverageInformation();
             if(basicRuleCoverageInformation != null) {
-                indicesOfCoveredObjects = basicRuleCoverageInformation.getIndicesOfCoveredObjects().toIntArray();
-                IntSet indicesOfCoveredNotSupportingObjects = basicRuleCoverageInformation.getIndicesOfCoveredNotSupportingObjects();
-
-                int numberOfCoveredObjects = indicesOfCoveredObjects.length;
-                isSupportingObjectArray = new Boolean[numberOfCoveredObjects];
-                for(int j = 0; j < numberOfCoveredObjects; j++) {
-                    if(indicesOfCoveredNotSupportingObjects.contains( indicesOfCoveredObjects[j] )) {
-                        isSupportingObjectArray[j] = false;
-                    } else {
-                        isSupportingObjectArray[j] = true;
-                    }
-                }
+                coveredObjectsOfRules[i] = basicRuleCoverageInformation.getIndicesOfCoveredObjects().toIntArray();
+                rulesWithCoverage.set(i);
             }
+            ruleOffsets[i + 1] = ruleOffsets[i] + ((coveredObjectsOfRules[i] != null) ? coveredObjectsOfRules[i].length : 0);
+        }
 
-            ruLeStudioRules[i] = new RuLeStudioRule(rule, ruleCharacteristics, indicesOfCoveredObjects, isSupportingObjectArray);
+        coveredObjects = new int[ruleOffsets[numberOfRules]];
+        notSupportingPositions = new BitSet(coveredObjects.length);
+        for(int i = 0; i < numberOfRules; i++) {
+            if(coveredObjectsOfRules[i] == null) {
+                continue;
+            }
+
+            final IntSet indicesOfCoveredNotSupportingObjects = ruleSetWithCharacteristics.getRuleCharacteristics(i).getRuleCoverageInformation().getIndicesOfCoveredNotSupportingObjects();
+            for(int j = 0; j < coveredObjectsOfRules[i].length; j++) {
+                final int objectIndex = coveredObjectsOfRules[i][j];
+                if(indicesOfCoveredNotSupportingObjects.contains(objectIndex)) {
+                    notSupportingPositions.set(ruleOffsets[i] + j);
+                }
+                coveredObjects[ruleOffsets[i] + j] = (objectIndices != null) ? objectIndices[objectIndex] : objectIndex;
+            }
         }
     }
 
-    public RuLeStudioRule[] getRuLeStudioRules() {
-        return ruLeStudioRules;
+    public int size() {
+        return rules.length;
+    }
+
+    public Rule getRule(int ruleIndex) {
+        return rules[ruleIndex];
     }
 
-    public void setRuLeStudioRules(RuLeStudioRule[] ruLeStudioRules) {
-        this.ruLeStudioRules = ruLeStudioRules;
+    public RuleCharacteristicsColumns getRuleCharacteristicsColumns() {
+        return ruleCharacteristicsColumns;
+    }
+
+    public int[] getIndicesOfCoveredObjects(int ruleIndex) {
+        if(!rulesWithCoverage.get(ruleIndex)) {
+            return null;
+        }
+        return Arrays.copyOfRange(coveredObjects, ruleOffsets[ruleIndex], ruleOffsets[ruleIndex + 1]);
+    }
+
+    public Boolean[] getIsSupportingObject(int ruleIndex) {
+        if(!rulesWithCoverage.get(ruleIndex)) {
+            return null;
+        }
+
+        final Boolean[] isSupportingObject = new Boolean[ruleOffsets[ruleIndex + 1] - ruleOffsets[ruleIndex]];
+        for(int j = 0; j < isSupportingObject.length; j++) {
+            isSupportingObject[j] = !notSupportingPositions.get(ruleOffsets[ruleIndex] + j);
+        }
+        return isSupportingObject;
     }
 
     @Override
     public String toString() {
         return "RuLeStudioRuleSet{" +
-                "ruLeStudioRules=" + Arrays.toString(ruLeStudioRules) +
+                "numberOfRules=" + rules.length +
+                ", numberOfCoverings=" + coveredObjects.length +
                 '}';
     }
 }
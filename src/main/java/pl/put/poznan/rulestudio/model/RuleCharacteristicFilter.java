@@ -0,0 +1,104 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.enums.converters.StringToOrderByRuleCharacteristicConverter;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//threshold on a single rule characteristic, e.g. "confidence>=0.9"
+public class RuleCharacteristicFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleCharacteristicFilter.class);
+
+    private static final Pattern FILTER_PATTERN = Pattern.compile("^\\s*([A-Za-z0-9_]+)\\s*(<=|>=|!=|==|=|<|>)\\s*(\\S+)\\s*$");
+
+    private final OrderByRuleCharacteristic characteristic;
+
+    private final String operator;
+
+    private final double threshold;
+
+    private RuleCharacteristicFilter(OrderByRuleCharacteristic characteristic, String operator, double threshold) {
+        this.characteristic = characteristic;
+        this.operator = operator;
+        this.threshold = threshold;
+    }
+
+    public static RuleCharacteristicFilter parse(String filter) {
+        final Matcher matcher = FILTER_PATTERN.matcher(filter);
+        if(!matcher.matches()) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given filter of rules \"%s\" is incorrect. It should have form of characteristic, operator and value, e.g. \"confidence>=0.9\".", filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final OrderByRuleCharacteristic characteristic = new StringToOrderByRuleCharacteristicConverter().convert(matcher.group(1));
+        if(characteristic == OrderByRuleCharacteristic.NONE) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given filter of rules \"%s\" doesn't refer to any rule characteristic.", filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final double threshold;
+        try {
+            threshold = Double.parseDouble(matcher.group(3));
+        } catch (NumberFormatException e) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given value \"%s\" in filter of rules \"%s\" is not a number.", matcher.group(3), filter));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final String operator = matcher.group(2).equals("==") ? "=" : matcher.group(2);
+        return new RuleCharacteristicFilter(characteristic, operator, threshold);
+    }
+
+    public OrderByRuleCharacteristic getCharacteristic() {
+        return characteristic;
+    }
+
+    public String getOperator() {
+        return operator;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    //rules with unknown value of characteristic are never accepted
+    public boolean accepts(RuleCharacteristicsColumns ruleCharacteristicsColumns, int ruleIndex) {
+        if(!ruleCharacteristicsColumns.isKnown(characteristic, ruleIndex)) {
+            return false;
+        }
+
+        final double value = ruleCharacteristicsColumns.getValue(characteristic, ruleIndex);
+        switch (operator) {
+            case "<":
+                return value < threshold;
+            case "<=":
+                return value <= threshold;
+            case "=":
+                return value == threshold;
+            case "!=":
+                return value != threshold;
+            case ">=":
+                return value >= threshold;
+            case ">":
+                return value > threshold;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RuleCharacteristicFilter{" +
+                "characteristic=" + characteristic +
+                ", operator='" + operator + '\'' +
+                ", threshold=" + threshold +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.core.UnknownValueException;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+import java.util.BitSet;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+//characteristics of all rules stored column by column, one primitive array per characteristic
+public class RuleCharacteristicsColumns {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleCharacteristicsColumns.class);
+
+    private final int numberOfRules;
+
+    //columns are indexed by ordinal of characteristic, only one of both arrays is present for each characteristic
+    private final int[][] integerColumns;
+
+    private final double[][] doubleColumns;
+
+    //rules with known value of characteristic, unknown values are stored as RuleCharacteristics.UNKNOWN_*_VALUE
+    private final BitSet[] knownMasks;
+
+    public RuleCharacteristicsColumns(RuleSetWithCharacteristics ruleSetWithCharacteristics) {
+        this.numberOfRules = ruleSetWithCharacteristics.size();
+
+        final int numberOfCharacteristics = OrderByRuleCharacteristic.values().length;
+        this.integerColumns = new int[numberOfCharacteristics][];
+        this.doubleColumns = new double[numberOfCharacteristics][];
+        this.knownMasks = new BitSet[numberOfCharacteristics];
+
+        final RuleCharacteristics[] ruleCharacteristicsArray = new RuleCharacteristics[numberOfRules];
+        for(int i = 0; i < numberOfRules; i++) {
+            ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
+        }
+
+        collectIntegerColumn(OrderByRuleCharacteristic.SUPPORT, ruleCharacteristicsArray, RuleCharacteristics::getSupport);
+        collectDoubleColumn(OrderByRuleCharacteristic.STRENGTH, ruleCharacteristicsArray, RuleCharacteristics::getStrength);
+        collectDoubleColumn(OrderByRuleCharacteristic.CONFIDENCE, ruleCharacteristicsArray, RuleCharacteristics::getConfidence);
+        collectDoubleColumn(OrderByRuleCharacteristic.COVERAGE_FACTOR, ruleCharacteristicsArray, RuleCharacteristics::getCoverageFactor);
+        collectIntegerColumn(OrderByRuleCharacteristic.COVERAGE, ruleCharacteristicsArray, RuleCharacteristics::getCoverage);
+        collectIntegerColumn(OrderByRuleCharacteristic.NEGATIVE_COVERAGE, ruleCharacteristicsArray, RuleCharacteristics::getNegativeCoverage);
+        collectDoubleColumn(OrderByRuleCharacteristic.EPSILON, ruleCharacteristicsArray, RuleCharacteristics::getEpsilon);
+        collectDoubleColumn(OrderByRuleCharacteristic.EPSILON_PRIME, ruleCharacteristicsArray, RuleCharacteristics::getEpsilonPrime);
+        collectDoubleColumn(OrderByRuleCharacteristic.F_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getFConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.A_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getAConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.Z_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getZConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.L_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getLConfirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.C1_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getC1Confirmation);
+        collectDoubleColumn(OrderByRuleCharacteristic.S_CONFIRMATION, ruleCharacteristicsArray, RuleCharacteristics::getSConfirmation);
+        collectIntegerColumn(OrderByRuleCharacteristic.LENGTH, ruleCharacteristicsArray, RuleCharacteristics::getNumberOfConditions);
+    }
+
+    private void collectIntegerColumn(OrderByRuleCharacteristic characteristic, RuleCharacteristics[] ruleCharacteristicsArray, ToIntFunction<RuleCharacteristics> function) {
+        final int[] values = new int[numberOfRules];
+        final BitSet knownMask = new BitSet(numberOfRules);
+        for(int i = 0; i < numberOfRules; i++) {
+            try {
+                values[i] = function.applyAsInt(ruleCharacteristicsArray[i]);
+                if(values[i] != RuleCharacteristics.UNKNOWN_INT_VALUE) {
+                    knownMask.set(i);
+                }
+            } catch (UnknownValueException e) {
+                logger.debug(e.getMessage());
+                values[i] = RuleCharacteristics.UNKNOWN_INT_VALUE;
+            }
+        }
+
+        integerColumns[characteristic.ordinal()] = values;
+        knownMasks[characteristic.ordinal()] = knownMask;
+    }
+
+    private void collectDoubleColumn(OrderByRuleCharacteristic characteristic, RuleCharacteristics[] ruleCharacteristicsArray, ToDoubleFunction<RuleCharacteristics> function) {
+        final double[] values = new double[numberOfRules];
+        final BitSet knownMask = new BitSet(numberOfRules);
+        for(int i = 0; i < numberOfRules; i++) {
+            try {
+                values[i] = function.applyAsDouble(ruleCharacteristicsArray[i]);
+                if(Double.compare(values[i], RuleCharacteristics.UNKNOWN_DOUBLE_VALUE) != 0) {
+                    knownMask.set(i);
+                }
+            } catch (UnknownValueException e) {
+                logger.debug(e.getMessage());
+                values[i] = RuleCharacteristics.UNKNOWN_DOUBLE_VALUE;
+            }
+        }
+
+        doubleColumns[characteristic.ordinal()] = values;
+        knownMasks[characteristic.ordinal()] = knownMask;
+    }
+
+    private void checkCharacteristic(OrderByRuleCharacteristic characteristic) {
+        if(knownMasks[characteristic.ordinal()] == null) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given rule characteristic \"%s\" is unrecognized.", characteristic));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    public int getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    public boolean isIntegerCharacteristic(OrderByRuleCharacteristic characteristic) {
+        checkCharacteristic(characteristic);
+        return integerColumns[characteristic.ordinal()] != null;
+    }
+
+    public boolean isKnown(OrderByRuleCharacteristic characteristic, int ruleIndex) {
+        checkCharacteristic(characteristic);
+        return knownMasks[characteristic.ordinal()].get(ruleIndex);
+    }
+
+    //returned arrays are shared, they must not be modified
+    public int[] getIntegerColumn(OrderByRuleCharacteristic characteristic) {
+        checkCharacteristic(characteristic);
+        return integerColumns[characteristic.ordinal()];
+    }
+
+    public double[] getDoubleColumn(OrderByRuleCharacteristic characteristic) {
+        checkCharacteristic(characteristic);
+        return doubleColumns[characteristic.ordinal()];
+    }
+
+    public BitSet getKnownMask(OrderByRuleCharacteristic characteristic) {
+        checkCharacteristic(characteristic);
+        return knownMasks[characteristic.ordinal()];
+    }
+
+    //value of integer characteristic is widened to double, it is exact for all int values
+    public double getValue(OrderByRuleCharacteristic characteristic, int ruleIndex) {
+        checkCharacteristic(characteristic);
+        final int[] integerColumn = integerColumns[characteristic.ordinal()];
+        return (integerColumn != null) ? integerColumn[ruleIndex] : doubleColumns[characteristic.ordinal()][ruleIndex];
+    }
+
+    @Override
+    public String toString() {
+        return "RuleCharacteristicsColumns{" +
+                "numberOfRules=" + numberOfRules +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package pl.put.poznan.rulestudio.model;
+
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.rulelearn.rules.BasicRuleCoverageInformation;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.exception.WrongParameterException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+//coverage of objects by rules stored in both directions as compressed sparse rows
+public class RulesCoverageIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RulesCoverageIndex.class);
+
+    private final int numberOfRules;
+
+    private final int numberOfObjects;
+
+    //rules with known coverage information, other rules don't cover any object in the index
+    private final BitSet rulesWithCoverage;
+
+    //objects covered by rule r are coveredObjects[ruleOffsets[r]..ruleOffsets[r+1]), in ascending order
+    private final int[] ruleOffsets;
+
+    private final int[] coveredObjects;
+
+    //positions in coveredObjects of objects covered, but not supported by the rule
+    private final BitSet notSupportingPositions;
+
+    //rules covering object x are coveringRules[objectOffsets[x]..objectOffsets[x+1]), in ascending order
+    private final int[] objectOffsets;
+
+    private final int[] coveringRules;
+
+    public RulesCoverageIndex(RuleSetWithCharacteristics ruleSetWithCharacteristics, int numberOfObjects) {
+        this.numberOfRules = ruleSetWithCharacteristics.size();
+        this.rulesWithCoverage = new BitSet(numberOfRules);
+        this.ruleOffsets = new int[numberOfRules + 1];
+
+        final int[][] coveredObjectsOfRules = new int[numberOfRules][];
+        final IntSet[] notSupportingObjectsOfRules = new IntSet[numberOfRules];
+        int maxObjectIndex = numberOfObjects - 1;
+        for(int r = 0; r < numberOfRules; r++) {
+            final BasicRuleCoverageInformation basicRuleCoverageInformation = ruleSetWithCharacteristics.getRuleCharacteristics(r).getRuleCoverageInformation();
+            if(basicRuleCoverageInformation != null) {
+                coveredObjectsOfRules[r] = basicRuleCoverageInformation.getIndicesOfCoveredObjects().toIntArray();
+                Arrays.sort(coveredObjectsOfRules[r]);
+                notSupportingObjectsOfRules[r] = basicRuleCoverageInformation.getIndicesOfCoveredNotSupportingObjects();
+                rulesWithCoverage.set(r);
+                if(coveredObjectsOfRules[r].length > 0) {
+                    maxObjectIndex = Math.max(maxObjectIndex, coveredObjectsOfRules[r][coveredObjectsOfRules[r].length - 1]);
+                }
+            }
+            ruleOffsets[r + 1] = ruleOffsets[r] + ((coveredObjectsOfRules[r] != null) ? coveredObjectsOfRules[r].length : 0);
+        }
+        this.numberOfObjects = maxObjectIndex + 1;
+
+        this.coveredObjects = new int[ruleOffsets[numberOfRules]];
+        this.notSupportingPositions = new BitSet(coveredObjects.length);
+        this.objectOffsets = new int[this.numberOfObjects + 1];
+        for(int r = 0; r < numberOfRules; r++) {
+            if(coveredObjectsOfRules[r] == null) {
+                continue;
+            }
+
+            System.arraycopy(coveredObjectsOfRules[r], 0, coveredObjects, ruleOffsets[r], coveredObjectsOfRules[r].length);
+            for(int i = 0; i < coveredObjectsOfRules[r].length; i++) {
+                final int objectIndex = coveredObjectsOfRules[r][i];
+                if(notSupportingObjectsOfRules[r].contains(objectIndex)) {
+                    notSupportingPositions.set(ruleOffsets[r] + i);
+                }
+                objectOffsets[objectIndex + 1]++;
+            }
+        }
+
+        for(int x = 0; x < this.numberOfObjects; x++) {
+            objectOffsets[x + 1] += objectOffsets[x];
+        }
+
+        //rules are visited in ascending order, so rules of every object are filled in ascending order
+        this.coveringRules = new int[coveredObjects.length];
+        final int[] nextPositions = Arrays.copyOf(objectOffsets, this.numberOfObjects);
+        for(int r = 0; r < numberOfRules; r++) {
+            for(int i = ruleOffsets[r]; i < ruleOffsets[r + 1]; i++) {
+                coveringRules[nextPositions[coveredObjects[i]]++] = r;
+            }
+        }
+    }
+
+    private void checkRuleIndex(int ruleIndex) {
+        if((ruleIndex < 0) || (ruleIndex >= numberOfRules)) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, numberOfRules - 1));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    public int getNumberOfRules() {
+        return numberOfRules;
+    }
+
+    public int getNumberOfObjects() {
+        return numberOfObjects;
+    }
+
+    public boolean isCoveragePresent(int ruleIndex) {
+        checkRuleIndex(ruleIndex);
+        return rulesWithCoverage.get(ruleIndex);
+    }
+
+    public int getNumberOfCoveredObjects(int ruleIndex) {
+        checkRuleIndex(ruleIndex);
+        return ruleOffsets[ruleIndex + 1] - ruleOffsets[ruleIndex];
+    }
+
+    public int[] getCoveredObjects(int ruleIndex) {
+        checkRuleIndex(ruleIndex);
+        return Arrays.copyOfRange(coveredObjects, ruleOffsets[ruleIndex], ruleOffsets[ruleIndex + 1]);
+    }
+
+    //flags are given in the order of objects returned by getCoveredObjects
+    public Boolean[] getSupportingFlags(int ruleIndex) {
+        checkRuleIndex(ruleIndex);
+        final Boolean[] supportingFlags = new Boolean[ruleOffsets[ruleIndex + 1] - ruleOffsets[ruleIndex]];
+        for(int i = 0; i < supportingFlags.length; i++) {
+            supportingFlags[i] = !notSupportingPositions.get(ruleOffsets[ruleIndex] + i);
+        }
+        return supportingFlags;
+    }
+
+    public int[] getCoveringRules(int objectIndex) {
+        if((objectIndex < 0) || (objectIndex >= numberOfObjects)) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(coveringRules, objectOffsets[objectIndex], objectOffsets[objectIndex + 1]);
+    }
+
+    @Override
+    public String toString() {
+        return "RulesCoverageIndex{" +
+                "numberOfRules=" + numberOfRules +
+                ", numberOfObjects=" + numberOfObjects +
+                ", numberOfCoverings=" + coveredObjects.length +
+                '}';
+    }
+}
@@ -0,0 +1,198 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.CalculationJobStatus;
+import pl.put.poznan.rulestudio.enums.CalculationJobType;
+import pl.put.poznan.rulestudio.model.CalculationJob;
+import pl.put.poznan.rulestudio.model.CalculationProgress;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+public class CalculationJobResponse {
+
+    private UUID id;
+
+    private UUID projectId;
+
+    private CalculationJobType type;
+
+    private CalculationJobStatus status;
+
+    private String stage;
+
+    private Integer completedSteps;
+
+    private Integer numberOfSteps;
+
+    private LinkedHashMap<String, String> stagesTimes;
+
+    private String calculationsTime;
+
+    private String errorMessage;
+
+    private CalculationJobResponse() {
+        //private constructor
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public CalculationJobType getType() {
+        return type;
+    }
+
+    public CalculationJobStatus getStatus() {
+        return status;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public Integer getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public Integer getNumberOfSteps() {
+        return numberOfSteps;
+    }
+
+    public LinkedHashMap<String, String> getStagesTimes() {
+        return stagesTimes;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "CalculationJobResponse{" +
+                "id=" + id +
+                ", projectId=" + projectId +
+                ", type=" + type +
+                ", status=" + status +
+                ", stage='" + stage + '\'' +
+                ", completedSteps=" + completedSteps +
+                ", numberOfSteps=" + numberOfSteps +
+                ", stagesTimes=" + stagesTimes +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+
+    public static class CalculationJobResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(CalculationJobResponseBuilder.class);
+
+        private UUID id;
+        private UUID projectId;
+        private CalculationJobType type;
+        private CalculationJobStatus status;
+        private String stage;
+        private Integer completedSteps;
+        private Integer numberOfSteps;
+        private LinkedHashMap<String, String> stagesTimes;
+        private String calculationsTime;
+        private String errorMessage;
+
+        public static CalculationJobResponseBuilder newInstance() {
+            return new CalculationJobResponseBuilder();
+        }
+
+        public CalculationJobResponseBuilder setId(UUID id) {
+            this.id = id;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setProjectId(UUID projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setType(CalculationJobType type) {
+            this.type = type;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setStatus(CalculationJobStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setStage(String stage) {
+            this.stage = stage;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setCompletedSteps(Integer completedSteps) {
+            this.completedSteps = completedSteps;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setNumberOfSteps(Integer numberOfSteps) {
+            this.numberOfSteps = numberOfSteps;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setStagesTimes(LinkedHashMap<String, String> stagesTimes) {
+            this.stagesTimes = stagesTimes;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setCalculationsTime(String calculationsTime) {
+            this.calculationsTime = calculationsTime;
+            return this;
+        }
+
+        public CalculationJobResponseBuilder setErrorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public CalculationJobResponse build() {
+            CalculationJobResponse calculationJobResponse = new CalculationJobResponse();
+
+            calculationJobResponse.id = this.id;
+            calculationJobResponse.projectId = this.projectId;
+            calculationJobResponse.type = this.type;
+            calculationJobResponse.status = this.status;
+            calculationJobResponse.stage = this.stage;
+            calculationJobResponse.completedSteps = this.completedSteps;
+            calculationJobResponse.numberOfSteps = this.numberOfSteps;
+            calculationJobResponse.stagesTimes = this.stagesTimes;
+            calculationJobResponse.calculationsTime = this.calculationsTime;
+            calculationJobResponse.errorMessage = this.errorMessage;
+
+            return calculationJobResponse;
+        }
+
+        public CalculationJobResponse build(CalculationJob calculationJob) {
+            CalculationJobResponse calculationJobResponse = new CalculationJobResponse();
+            final CalculationProgress calculationProgress = calculationJob.getCalculationProgress();
+
+            calculationJobResponse.id = calculationJob.getId();
+            calculationJobResponse.projectId = calculationJob.getProjectId();
+            calculationJobResponse.type = calculationJob.getType();
+            calculationJobResponse.status = calculationJob.getStatus();
+            calculationJobResponse.stage = calculationProgress.getStage();
+            calculationJobResponse.completedSteps = calculationProgress.getCompletedSteps();
+            calculationJobResponse.numberOfSteps = calculationProgress.getNumberOfSteps();
+            calculationJobResponse.stagesTimes = calculationProgress.getStagesTimes();
+            calculationJobResponse.calculationsTime = calculationJob.getCalculationsTime();
+            calculationJobResponse.errorMessage = calculationJob.getErrorMessage();
+
+            return calculationJobResponse;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class CalculationsCacheResponse {
+
+    private Integer maxEntries;
+
+    private Integer numberOfEntries;
+
+    private Long numberOfHits;
+
+    private Long numberOfMisses;
+
+    private Long numberOfEvictions;
+
+    private Double hitRatio;
+
+    private CalculationsCacheResponse() {
+        //private constructor
+    }
+
+    public Integer getMaxEntries() {
+        return maxEntries;
+    }
+
+    public Integer getNumberOfEntries() {
+        return numberOfEntries;
+    }
+
+    public Long getNumberOfHits() {
+        return numberOfHits;
+    }
+
+    public Long getNumberOfMisses() {
+        return numberOfMisses;
+    }
+
+    public Long getNumberOfEvictions() {
+        return numberOfEvictions;
+    }
+
+    public Double getHitRatio() {
+        return hitRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "CalculationsCacheResponse{" +
+                "maxEntries=" + maxEntries +
+                ", numberOfEntries=" + numberOfEntries +
+                ", numberOfHits=" + numberOfHits +
+                ", numberOfMisses=" + numberOfMisses +
+                ", numberOfEvictions=" + numberOfEvictions +
+                ", hitRatio=" + hitRatio +
+                '}';
+    }
+
+    public static class CalculationsCacheResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(CalculationsCacheResponseBuilder.class);
+
+        private Integer maxEntries;
+        private Integer numberOfEntries;
+        private Long numberOfHits;
+        private Long numberOfMisses;
+        private Long numberOfEvictions;
+
+        public static CalculationsCacheResponseBuilder newInstance() {
+            return new CalculationsCacheResponseBuilder();
+        }
+
+        public CalculationsCacheResponseBuilder setMaxEntries(Integer maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public CalculationsCacheResponseBuilder setNumberOfEntries(Integer numberOfEntries) {
+            this.numberOfEntries = numberOfEntries;
+            return this;
+        }
+
+        public CalculationsCacheResponseBuilder setNumberOfHits(Long numberOfHits) {
+            this.numberOfHits = numberOfHits;
+            return this;
+        }
+
+        public CalculationsCacheResponseBuilder setNumberOfMisses(Long numberOfMisses) {
+            this.numberOfMisses = numberOfMisses;
+            return this;
+        }
+
+        public CalculationsCacheResponseBuilder setNumberOfEvictions(Long numberOfEvictions) {
+            this.numberOfEvictions = numberOfEvictions;
+            return this;
+        }
+
+        public CalculationsCacheResponse build() {
+            CalculationsCacheResponse calculationsCacheResponse = new CalculationsCacheResponse();
+
+            calculationsCacheResponse.maxEntries = this.maxEntries;
+            calculationsCacheResponse.numberOfEntries = this.numberOfEntries;
+            calculationsCacheResponse.numberOfHits = this.numberOfHits;
+            calculationsCacheResponse.numberOfMisses = this.numberOfMisses;
+            calculationsCacheResponse.numberOfEvictions = this.numberOfEvictions;
+
+            final long numberOfLookups = ((numberOfHits != null) ? numberOfHits : 0L) + ((numberOfMisses != null) ? numberOfMisses : 0L);
+            calculationsCacheResponse.hitRatio = (numberOfLookups > 0) ? (double) numberOfHits / numberOfLookups : 0.0;
+
+            return calculationsCacheResponse;
+        }
+    }
+}
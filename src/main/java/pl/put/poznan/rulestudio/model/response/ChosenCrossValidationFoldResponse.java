@@ -120,19 +120,22 @@ public class ChosenCrossValidationFoldResponse {
 
             ChosenCrossValidationFoldResponse chosenCrossValidationFoldResponse = new ChosenCrossValidationFoldResponse();
 
-            chosenCrossValidationFoldResponse.objectNames = crossValidation.getDescriptiveAttributes().extractChosenObjectNames(crossValidation.getInformationTable(), crossValidationSingleFold.getIndicesOfValidationObjects());
-
-            Decision originalDecision;
-            final int numberOfObjects = crossValidationSingleFold.getIndicesOfValidationObjects().length;
-            chosenCrossValidationFoldResponse.classifiedObjectMainPropertiesArray = new ClassifiedObjectMainProperties[numberOfObjects];
-            for(int i = 0; i < numberOfObjects; i++) {
-                originalDecision = crossValidation.getInformationTable().getDecision( crossValidationSingleFold.getIndicesOfValidationObjects()[i] );
-                chosenCrossValidationFoldResponse.classifiedObjectMainPropertiesArray[i] = ClassifiedObjectMainPropertiesBuilder.newInstance().build(crossValidationSingleFold.getFoldClassification(), i, originalDecision);
+            //objects are listed only if details of the fold have been kept
+            if(crossValidationSingleFold.isDetailsPresent()) {
+                chosenCrossValidationFoldResponse.objectNames = crossValidation.getDescriptiveAttributes().extractChosenObjectNames(crossValidation.getInformationTable(), crossValidationSingleFold.getIndicesOfValidationObjects());
+
+                Decision originalDecision;
+                final int numberOfObjects = crossValidationSingleFold.getNumberOfValidationObjects();
+                chosenCrossValidationFoldResponse.classifiedObjectMainPropertiesArray = new ClassifiedObjectMainProperties[numberOfObjects];
+                for(int i = 0; i < numberOfObjects; i++) {
+                    originalDecision = crossValidation.getInformationTable().getDecision( crossValidationSingleFold.getIndicesOfValidationObjects()[i] );
+                    chosenCrossValidationFoldResponse.classifiedObjectMainPropertiesArray[i] = ClassifiedObjectMainPropertiesBuilder.newInstance().build(crossValidationSingleFold.getFoldClassification(), i, originalDecision);
+                }
             }
 
-            chosenCrossValidationFoldResponse.numberOfTrainingObjects = crossValidationSingleFold.getIndicesOfTrainingObjects().length;
-            chosenCrossValidationFoldResponse.numberOfRules = crossValidationSingleFold.getRuLeStudioRuleSet().getRuLeStudioRules().length;
-            chosenCrossValidationFoldResponse.numberOfTestObjects = crossValidationSingleFold.getIndicesOfValidationObjects().length;
+            chosenCrossValidationFoldResponse.numberOfTrainingObjects = crossValidationSingleFold.getNumberOfTrainingObjects();
+            chosenCrossValidationFoldResponse.numberOfRules = crossValidationSingleFold.getNumberOfRules();
+            chosenCrossValidationFoldResponse.numberOfTestObjects = crossValidationSingleFold.getNumberOfValidationObjects();
 
             return chosenCrossValidationFoldResponse;
         }
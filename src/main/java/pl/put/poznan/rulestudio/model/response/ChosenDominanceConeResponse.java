@@ -57,37 +57,19 @@ public class ChosenDominanceConeResponse {
                 throw ex;
             }
 
-            ChosenDominanceConeResponse chosenDominanceConeResponse = new ChosenDominanceConeResponse();
-            switch (coneType) {
-                case POSITIVE:
-                    chosenDominanceConeResponse.dominanceCone = dominanceCones.getPositiveDCones()[objectIndex];
-                    break;
-                case NEGATIVE:
-                    chosenDominanceConeResponse.dominanceCone = dominanceCones.getNegativeDCones()[objectIndex];
-                    break;
-                case POSITIVE_INVERTED:
-                    IntSortedSet[] positiveInvDCones = dominanceCones.getPositiveInvDCones();
-                    if(positiveInvDCones == null) {
-                        WrongParameterException ex = new WrongParameterException(String.format("Positive inverse dominance cones are not available - they are identical as positive dominance cones."));
-                        logger.error(ex.getMessage());
-                        throw ex;
-                    }
-                    chosenDominanceConeResponse.dominanceCone = positiveInvDCones[objectIndex];
-                    break;
-                case NEGATIVE_INVERTED:
-                    IntSortedSet[] negativeInvDCones = dominanceCones.getNegativeInvDCones();
-                    if(negativeInvDCones == null) {
-                        WrongParameterException ex = new WrongParameterException(String.format("Negative inverse dominance cones are not available - they are identical as negative dominance cones.", coneType));
-                        logger.error(ex.getMessage());
-                        throw ex;
-                    }
-                    chosenDominanceConeResponse.dominanceCone = negativeInvDCones[objectIndex];
-                    break;
-                default:
-                    WrongParameterException ex = new WrongParameterException(String.format("Given type of cone \"%s\" is unrecognized.", coneType));
-                    logger.error(ex.getMessage());
-                    throw ex;
+            if(!dominanceCones.isConeTypeAvailable(coneType)) {
+                WrongParameterException ex;
+                if(coneType == ConeType.POSITIVE_INVERTED) {
+                    ex = new WrongParameterException(String.format("Positive inverse dominance cones are not available - they are identical as positive dominance cones."));
+                } else {
+                    ex = new WrongParameterException(String.format("Negative inverse dominance cones are not available - they are identical as negative dominance cones."));
+                }
+                logger.error(ex.getMessage());
+                throw ex;
             }
+
+            ChosenDominanceConeResponse chosenDominanceConeResponse = new ChosenDominanceConeResponse();
+            chosenDominanceConeResponse.dominanceCone = dominanceCones.getCone(coneType, objectIndex);
             return chosenDominanceConeResponse;
         }
     }
@@ -9,8 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
 import pl.put.poznan.rulestudio.model.DescriptiveAttributes;
-import pl.put.poznan.rulestudio.model.RuLeStudioRule;
 import pl.put.poznan.rulestudio.model.RuLeStudioRuleSet;
+import pl.put.poznan.rulestudio.model.RulesCoverageIndex;
 
 import java.util.Arrays;
 
@@ -113,20 +113,30 @@ public class ChosenRuleResponse {
             return chosenRuleResponse;
         }
 
+        public ChosenRuleResponse build(RulesCoverageIndex rulesCoverageIndex, Integer ruleIndex, DescriptiveAttributes descriptiveAttributes, InformationTable informationTable) {
+            ChosenRuleResponse chosenRuleResponse = new ChosenRuleResponse();
+
+            if(rulesCoverageIndex.isCoveragePresent(ruleIndex)) {
+                chosenRuleResponse.indicesOfCoveredObjects = rulesCoverageIndex.getCoveredObjects(ruleIndex);
+                chosenRuleResponse.objectNames = descriptiveAttributes.extractChosenObjectNames(informationTable, chosenRuleResponse.indicesOfCoveredObjects);
+                chosenRuleResponse.isSupportingObject = rulesCoverageIndex.getSupportingFlags(ruleIndex);
+            }
+
+            return chosenRuleResponse;
+        }
+
         public ChosenRuleResponse build(RuLeStudioRuleSet ruLeStudioRuleSet, Integer ruleIndex, DescriptiveAttributes descriptiveAttributes, InformationTable informationTable) {
-            final RuLeStudioRule[] rules = ruLeStudioRuleSet.getRuLeStudioRules();
-            if((ruleIndex < 0) || (ruleIndex >= rules.length)) {
-                WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, rules.length - 1));
+            if((ruleIndex < 0) || (ruleIndex >= ruLeStudioRuleSet.size())) {
+                WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, ruLeStudioRuleSet.size() - 1));
                 logger.error(ex.getMessage());
                 throw ex;
             }
 
             ChosenRuleResponse chosenRuleResponse = new ChosenRuleResponse();
 
-            final RuLeStudioRule rule = rules[ruleIndex];
-            chosenRuleResponse.indicesOfCoveredObjects = rule.getIndicesOfCoveredObjects();
+            chosenRuleResponse.indicesOfCoveredObjects = ruLeStudioRuleSet.getIndicesOfCoveredObjects(ruleIndex);
             chosenRuleResponse.objectNames = descriptiveAttributes.extractChosenObjectNames(informationTable, chosenRuleResponse.indicesOfCoveredObjects);
-            chosenRuleResponse.isSupportingObject = rule.getIsSupportingObject();
+            chosenRuleResponse.isSupportingObject = ruLeStudioRuleSet.getIsSupportingObject(ruleIndex);
 
             return chosenRuleResponse;
         }
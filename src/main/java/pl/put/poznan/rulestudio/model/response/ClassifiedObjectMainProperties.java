@@ -107,7 +107,7 @@ public class ClassifiedObjectMainProperties {
                 classifiedObjectMainProperties.certainty = 1.0;
             }
 
-            classifiedObjectMainProperties.numberOfCoveringRules = abstractClassification.getIndicesOfCoveringRules()[classifiedObjectIndex].size();
+            classifiedObjectMainProperties.numberOfCoveringRules = abstractClassification.getNumberOfCoveringRules(classifiedObjectIndex);
 
             return classifiedObjectMainProperties;
         }
@@ -0,0 +1,123 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.model.CrossValidationGridSearch;
+
+import java.util.Arrays;
+
+public class CrossValidationGridSearchResponse {
+
+    @JsonProperty("isCurrentData")
+    private Boolean isCurrentData;
+
+    private Integer numberOfFolds;
+
+    private Long seed;
+
+    //candidates ordered from the best one
+    private CrossValidationGridSearch.CandidateResult[] rankedResults;
+
+    private String calculationsTime;
+
+    private CrossValidationGridSearchResponse() {
+        //private constructor
+    }
+
+    @JsonIgnore
+    public Boolean getCurrentData() {
+        return isCurrentData;
+    }
+
+    public Integer getNumberOfFolds() {
+        return numberOfFolds;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public CrossValidationGridSearch.CandidateResult[] getRankedResults() {
+        return rankedResults;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    @Override
+    public String toString() {
+        return "CrossValidationGridSearchResponse{" +
+                "isCurrentData=" + isCurrentData +
+                ", numberOfFolds=" + numberOfFolds +
+                ", seed=" + seed +
+                ", rankedResults=" + Arrays.toString(rankedResults) +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                '}';
+    }
+
+    public static class CrossValidationGridSearchResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(CrossValidationGridSearchResponseBuilder.class);
+
+        private Boolean isCurrentData;
+        private Integer numberOfFolds;
+        private Long seed;
+        private CrossValidationGridSearch.CandidateResult[] rankedResults;
+        private String calculationsTime;
+
+        public static CrossValidationGridSearchResponseBuilder newInstance() {
+            return new CrossValidationGridSearchResponseBuilder();
+        }
+
+        public CrossValidationGridSearchResponseBuilder setCurrentData(Boolean currentData) {
+            isCurrentData = currentData;
+            return this;
+        }
+
+        public CrossValidationGridSearchResponseBuilder setNumberOfFolds(Integer numberOfFolds) {
+            this.numberOfFolds = numberOfFolds;
+            return this;
+        }
+
+        public CrossValidationGridSearchResponseBuilder setSeed(Long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public CrossValidationGridSearchResponseBuilder setRankedResults(CrossValidationGridSearch.CandidateResult[] rankedResults) {
+            this.rankedResults = rankedResults;
+            return this;
+        }
+
+        public CrossValidationGridSearchResponseBuilder setCalculationsTime(String calculationsTime) {
+            this.calculationsTime = calculationsTime;
+            return this;
+        }
+
+        public CrossValidationGridSearchResponse build() {
+            CrossValidationGridSearchResponse crossValidationGridSearchResponse = new CrossValidationGridSearchResponse();
+
+            crossValidationGridSearchResponse.isCurrentData = this.isCurrentData;
+            crossValidationGridSearchResponse.numberOfFolds = this.numberOfFolds;
+            crossValidationGridSearchResponse.seed = this.seed;
+            crossValidationGridSearchResponse.rankedResults = this.rankedResults;
+            crossValidationGridSearchResponse.calculationsTime = this.calculationsTime;
+
+            return crossValidationGridSearchResponse;
+        }
+
+        public CrossValidationGridSearchResponse build(CrossValidationGridSearch crossValidationGridSearch) {
+            CrossValidationGridSearchResponse crossValidationGridSearchResponse = new CrossValidationGridSearchResponse();
+
+            crossValidationGridSearchResponse.isCurrentData = crossValidationGridSearch.isCurrentData();
+            crossValidationGridSearchResponse.numberOfFolds = crossValidationGridSearch.getNumberOfFolds();
+            crossValidationGridSearchResponse.seed = crossValidationGridSearch.getSeed();
+            crossValidationGridSearchResponse.rankedResults = crossValidationGridSearch.getRankedResults();
+            crossValidationGridSearchResponse.calculationsTime = crossValidationGridSearch.getCalculationsTime();
+
+            return crossValidationGridSearchResponse;
+        }
+    }
+}
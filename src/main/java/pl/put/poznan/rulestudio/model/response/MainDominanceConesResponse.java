@@ -3,9 +3,10 @@ package pl.put.poznan.rulestudio.model.response;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.ConeType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
 import pl.put.poznan.rulestudio.model.DominanceCones;
 
 import java.util.Arrays;
@@ -35,6 +36,12 @@ public class MainDominanceConesResponse {
 
     private String calculationsTime;
 
+    private DominanceConesRepresentation representation;
+
+    private Long sortedSetsEstimatedMemory;
+
+    private Long bitSetsEstimatedMemory;
+
     private MainDominanceConesResponse() {
         //private constructor
     }
@@ -72,6 +79,18 @@ public class MainDominanceConesResponse {
         return calculationsTime;
     }
 
+    public DominanceConesRepresentation getRepresentation() {
+        return representation;
+    }
+
+    public Long getSortedSetsEstimatedMemory() {
+        return sortedSetsEstimatedMemory;
+    }
+
+    public Long getBitSetsEstimatedMemory() {
+        return bitSetsEstimatedMemory;
+    }
+
     @Override
     public String toString() {
         return "MainDominanceConesResponse{" +
@@ -83,6 +102,9 @@ public class MainDominanceConesResponse {
                 ", negativeInverseDominanceConeCounts=" + Arrays.toString(negativeInverseDominanceConeCounts) +
                 ", objectNames=" + Arrays.toString(objectNames) +
                 ", calculationsTime='" + calculationsTime + '\'' +
+                ", representation=" + representation +
+                ", sortedSetsEstimatedMemory=" + sortedSetsEstimatedMemory +
+                ", bitSetsEstimatedMemory=" + bitSetsEstimatedMemory +
                 '}';
     }
 
@@ -97,6 +119,9 @@ public class MainDominanceConesResponse {
         private int[] negativeInverseDominanceConeCounts;
         private String[] objectNames;
         private String calculationsTime;
+        private DominanceConesRepresentation representation;
+        private Long sortedSetsEstimatedMemory;
+        private Long bitSetsEstimatedMemory;
 
         public static MainDominanceConesResponseBuilder newInstance() {
             return new MainDominanceConesResponseBuilder();
@@ -142,6 +167,21 @@ public class MainDominanceConesResponse {
             return this;
         }
 
+        public MainDominanceConesResponseBuilder setRepresentation(DominanceConesRepresentation representation) {
+            this.representation = representation;
+            return this;
+        }
+
+        public MainDominanceConesResponseBuilder setSortedSetsEstimatedMemory(Long sortedSetsEstimatedMemory) {
+            this.sortedSetsEstimatedMemory = sortedSetsEstimatedMemory;
+            return this;
+        }
+
+        public MainDominanceConesResponseBuilder setBitSetsEstimatedMemory(Long bitSetsEstimatedMemory) {
+            this.bitSetsEstimatedMemory = bitSetsEstimatedMemory;
+            return this;
+        }
+
         public MainDominanceConesResponse build() {
             MainDominanceConesResponse mainDominanceConesResponse = new MainDominanceConesResponse();
 
@@ -153,14 +193,22 @@ public class MainDominanceConesResponse {
             mainDominanceConesResponse.negativeInverseDominanceConeCounts = this.negativeInverseDominanceConeCounts;
             mainDominanceConesResponse.objectNames = this.objectNames;
             mainDominanceConesResponse.calculationsTime = this.calculationsTime;
+            mainDominanceConesResponse.representation = this.representation;
+            mainDominanceConesResponse.sortedSetsEstimatedMemory = this.sortedSetsEstimatedMemory;
+            mainDominanceConesResponse.bitSetsEstimatedMemory = this.bitSetsEstimatedMemory;
 
             return mainDominanceConesResponse;
         }
 
-        private int[] createDominanceConeCountsArray(int numberOfObjects, IntSortedSet[] dominanceConeSets) {
+        private int[] createDominanceConeCountsArray(DominanceCones dominanceCones, ConeType coneType) {
+            if(!dominanceCones.isConeTypeAvailable(coneType)) {
+                return null;
+            }
+
+            final int numberOfObjects = dominanceCones.getNumberOfObjects();
             int[] dominanceConeCounts = new int[numberOfObjects];
             for(int index = 0; index < numberOfObjects; index++) {
-                dominanceConeCounts[index] = dominanceConeSets[index].size();
+                dominanceConeCounts[index] = dominanceCones.getConeSize(coneType, index);
             }
 
             return dominanceConeCounts;
@@ -172,25 +220,19 @@ public class MainDominanceConesResponse {
             mainDominanceConesResponse.numberOfObjects = dominanceCones.getNumberOfObjects();
             mainDominanceConesResponse.isCurrentData = dominanceCones.isCurrentData();
 
-            mainDominanceConesResponse.positiveDominanceConeCounts = createDominanceConeCountsArray(mainDominanceConesResponse.numberOfObjects, dominanceCones.getPositiveDCones());
-            mainDominanceConesResponse.negativeDominanceConeCounts = createDominanceConeCountsArray(mainDominanceConesResponse.numberOfObjects, dominanceCones.getNegativeDCones());
-
-            if(dominanceCones.getPositiveInvDCones() != null) {
-                mainDominanceConesResponse.positiveInverseDominanceConeCounts = createDominanceConeCountsArray(mainDominanceConesResponse.numberOfObjects, dominanceCones.getPositiveInvDCones());
-            } else {
-                mainDominanceConesResponse.positiveInverseDominanceConeCounts = null;
-            }
-
-            if(dominanceCones.getNegativeInvDCones() != null) {
-                mainDominanceConesResponse.negativeInverseDominanceConeCounts = createDominanceConeCountsArray(mainDominanceConesResponse.numberOfObjects, dominanceCones.getNegativeInvDCones());
-            } else {
-                mainDominanceConesResponse.negativeInverseDominanceConeCounts = null;
-            }
+            mainDominanceConesResponse.positiveDominanceConeCounts = createDominanceConeCountsArray(dominanceCones, ConeType.POSITIVE);
+            mainDominanceConesResponse.negativeDominanceConeCounts = createDominanceConeCountsArray(dominanceCones, ConeType.NEGATIVE);
+            mainDominanceConesResponse.positiveInverseDominanceConeCounts = createDominanceConeCountsArray(dominanceCones, ConeType.POSITIVE_INVERTED);
+            mainDominanceConesResponse.negativeInverseDominanceConeCounts = createDominanceConeCountsArray(dominanceCones, ConeType.NEGATIVE_INVERTED);
 
             mainDominanceConesResponse.objectNames = dominanceCones.getDescriptiveAttributes().extractObjectNames(dominanceCones.getInformationTable());
 
             mainDominanceConesResponse.calculationsTime = dominanceCones.getCalculationsTime();
 
+            mainDominanceConesResponse.representation = dominanceCones.getRepresentation();
+            mainDominanceConesResponse.sortedSetsEstimatedMemory = dominanceCones.getSortedSetsEstimatedMemory();
+            mainDominanceConesResponse.bitSetsEstimatedMemory = dominanceCones.getBitSetsEstimatedMemory();
+
             return mainDominanceConesResponse;
         }
     }
@@ -6,18 +6,27 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
 import pl.put.poznan.rulestudio.model.ProjectRules;
+import pl.put.poznan.rulestudio.model.RuleCharacteristicsColumns;
 import pl.put.poznan.rulestudio.model.ValidityRulesContainer;
 import pl.put.poznan.rulestudio.model.parameters.RulesParameters;
 import pl.put.poznan.rulestudio.model.response.RuleMainProperties.RuleMainPropertiesBuilder;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 
 public class MainRulesResponse {
 
     @JsonProperty("Rules")
     private RuleMainProperties[] ruleMainPropertiesArray;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalNumberOfRules;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] ruleIndices;
+
     @JsonProperty("parameters")
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private RulesParameters rulesParameters;
@@ -50,6 +59,14 @@ public class MainRulesResponse {
         return ruleMainPropertiesArray;
     }
 
+    public Integer getTotalNumberOfRules() {
+        return totalNumberOfRules;
+    }
+
+    public int[] getRuleIndices() {
+        return ruleIndices;
+    }
+
     public RulesParameters getRulesParameters() {
         return rulesParameters;
     }
@@ -87,6 +104,8 @@ public class MainRulesResponse {
     public String toString() {
         return "MainRulesResponse{" +
                 "ruleMainPropertiesArray=" + Arrays.toString(ruleMainPropertiesArray) +
+                ", totalNumberOfRules=" + totalNumberOfRules +
+                ", ruleIndices=" + Arrays.toString(ruleIndices) +
                 ", rulesParameters=" + rulesParameters +
                 ", isCurrentData=" + isCurrentData +
                 ", errorMessages=" + Arrays.toString(errorMessages) +
@@ -102,6 +121,8 @@ public class MainRulesResponse {
         private static final Logger logger = LoggerFactory.getLogger(MainClassUnionsResponse.class);
 
         private RuleMainProperties[] ruleMainPropertiesArray;
+        private Integer totalNumberOfRules;
+        private int[] ruleIndices;
         private RulesParameters rulesParameters;
         private Boolean isCurrentData;
         private String[] errorMessages;
@@ -120,6 +141,16 @@ public class MainRulesResponse {
             return this;
         }
 
+        public MainRulesResponseBuilder setTotalNumberOfRules(Integer totalNumberOfRules) {
+            this.totalNumberOfRules = totalNumberOfRules;
+            return this;
+        }
+
+        public MainRulesResponseBuilder setRuleIndices(int[] ruleIndices) {
+            this.ruleIndices = ruleIndices;
+            return this;
+        }
+
         public MainRulesResponseBuilder setRulesParameters(RulesParameters rulesParameters) {
             this.rulesParameters = rulesParameters;
             return this;
@@ -164,6 +195,8 @@ public class MainRulesResponse {
             MainRulesResponse mainRulesResponse = new MainRulesResponse();
 
             mainRulesResponse.ruleMainPropertiesArray = this.ruleMainPropertiesArray;
+            mainRulesResponse.totalNumberOfRules = this.totalNumberOfRules;
+            mainRulesResponse.ruleIndices = this.ruleIndices;
             mainRulesResponse.rulesParameters = this.rulesParameters;
             mainRulesResponse.isCurrentData = this.isCurrentData;
             mainRulesResponse.errorMessages = this.errorMessages;
@@ -177,14 +210,23 @@ public class MainRulesResponse {
         }
 
         public MainRulesResponse build(ProjectRules projectRules) {
+            return build(projectRules, null, projectRules.getRuleSet().size(), EnumSet.complementOf(EnumSet.of(OrderByRuleCharacteristic.NONE)), true);
+        }
+
+        //ruleIndices chooses rules and their order, all rules in original order are used if it is null
+        public MainRulesResponse build(ProjectRules projectRules, int[] ruleIndices, int totalNumberOfRules, EnumSet<OrderByRuleCharacteristic> characteristics, boolean includeRule) {
             MainRulesResponse mainRulesResponse = new MainRulesResponse();
 
             final RuleSetWithCharacteristics rules = projectRules.getRuleSet();
-            final int numberOfRules = rules.size();
+            final RuleCharacteristicsColumns ruleCharacteristicsColumns = projectRules.getRuleCharacteristicsColumns();
+            final int numberOfRules = (ruleIndices != null) ? ruleIndices.length : rules.size();
             mainRulesResponse.ruleMainPropertiesArray = new RuleMainProperties[numberOfRules];
             for(int i = 0; i < numberOfRules; i++) {
-                mainRulesResponse.ruleMainPropertiesArray[i] = RuleMainPropertiesBuilder.newInstance().build(rules.getRule(i), rules.getRuleCharacteristics(i));
+                final int ruleIndex = (ruleIndices != null) ? ruleIndices[i] : i;
+                mainRulesResponse.ruleMainPropertiesArray[i] = RuleMainPropertiesBuilder.newInstance().build(rules.getRule(ruleIndex), ruleCharacteristicsColumns, ruleIndex, characteristics, includeRule);
             }
+            mainRulesResponse.totalNumberOfRules = totalNumberOfRules;
+            mainRulesResponse.ruleIndices = ruleIndices;
 
             mainRulesResponse.rulesParameters = projectRules.getRulesParameters();
 
@@ -194,7 +236,8 @@ public class MainRulesResponse {
             mainRulesResponse.externalRules = projectRules.isExternalRules();
             mainRulesResponse.externalRulesFileName = projectRules.getRulesFileName();
             mainRulesResponse.errorMessage = projectRules.getErrorMessage();
-            mainRulesResponse.validityRulesContainer = projectRules.getValidityRulesContainer();
+            //validity given to builder is preferred, it is calculated by reading requests without changing rules
+            mainRulesResponse.validityRulesContainer = (this.validityRulesContainer != null) ? this.validityRulesContainer : projectRules.getValidityRulesContainer();
             mainRulesResponse.calculationsTime = projectRules.getCalculationsTime();
 
             return mainRulesResponse;
@@ -15,6 +15,11 @@ public class ProjectBasicInfo {
         this.name = project.getName();
     }
 
+    public ProjectBasicInfo(UUID id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
     public UUID getId() {
         return id;
     }
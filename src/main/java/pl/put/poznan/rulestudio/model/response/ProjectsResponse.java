@@ -1,11 +1,12 @@
 package pl.put.poznan.rulestudio.model.response;
 
 import com.fasterxml.jackson.annotation.JsonValue;
-import pl.put.poznan.rulestudio.model.Project;
 import pl.put.poznan.rulestudio.model.ProjectsContainer;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 public class ProjectsResponse {
 
@@ -14,9 +15,9 @@ public class ProjectsResponse {
 
     public ProjectsResponse(ProjectsContainer projectsContainer) {
         projectBasicInfoArrayList = new ArrayList<>();
-        final Collection<Project> collection = projectsContainer.getProjectHashMap().values();
-        for(Project project : collection) {
-            projectBasicInfoArrayList.add(new ProjectBasicInfo(project));
+        final LinkedHashMap<UUID, String> projectNames = projectsContainer.getProjectNames();
+        for(Map.Entry<UUID, String> projectName : projectNames.entrySet()) {
+            projectBasicInfoArrayList.add(new ProjectBasicInfo(projectName.getKey(), projectName.getValue()));
         }
     }
 
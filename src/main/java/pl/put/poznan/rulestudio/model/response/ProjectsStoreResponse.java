@@ -0,0 +1,150 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+
+import java.util.concurrent.TimeUnit;
+
+public class ProjectsStoreResponse {
+
+    private Integer numberOfResidentProjects;
+
+    private Integer numberOfSpilledProjects;
+
+    private Long numberOfSpills;
+
+    private Long numberOfReloads;
+
+    private Long meanReloadTimeMillis;
+
+    private Long maxReloadTimeMillis;
+
+    private Long lastReloadTimeMillis;
+
+    private ProjectsStoreResponse() {
+        //private constructor
+    }
+
+    public Integer getNumberOfResidentProjects() {
+        return numberOfResidentProjects;
+    }
+
+    public Integer getNumberOfSpilledProjects() {
+        return numberOfSpilledProjects;
+    }
+
+    public Long getNumberOfSpills() {
+        return numberOfSpills;
+    }
+
+    public Long getNumberOfReloads() {
+        return numberOfReloads;
+    }
+
+    public Long getMeanReloadTimeMillis() {
+        return meanReloadTimeMillis;
+    }
+
+    public Long getMaxReloadTimeMillis() {
+        return maxReloadTimeMillis;
+    }
+
+    public Long getLastReloadTimeMillis() {
+        return lastReloadTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectsStoreResponse{" +
+                "numberOfResidentProjects=" + numberOfResidentProjects +
+                ", numberOfSpilledProjects=" + numberOfSpilledProjects +
+                ", numberOfSpills=" + numberOfSpills +
+                ", numberOfReloads=" + numberOfReloads +
+                ", meanReloadTimeMillis=" + meanReloadTimeMillis +
+                ", maxReloadTimeMillis=" + maxReloadTimeMillis +
+                ", lastReloadTimeMillis=" + lastReloadTimeMillis +
+                '}';
+    }
+
+    public static class ProjectsStoreResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(ProjectsStoreResponseBuilder.class);
+
+        private Integer numberOfResidentProjects;
+        private Integer numberOfSpilledProjects;
+        private Long numberOfSpills;
+        private Long numberOfReloads;
+        private Long meanReloadTimeMillis;
+        private Long maxReloadTimeMillis;
+        private Long lastReloadTimeMillis;
+
+        public static ProjectsStoreResponseBuilder newInstance() {
+            return new ProjectsStoreResponseBuilder();
+        }
+
+        public ProjectsStoreResponseBuilder setNumberOfResidentProjects(Integer numberOfResidentProjects) {
+            this.numberOfResidentProjects = numberOfResidentProjects;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setNumberOfSpilledProjects(Integer numberOfSpilledProjects) {
+            this.numberOfSpilledProjects = numberOfSpilledProjects;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setNumberOfSpills(Long numberOfSpills) {
+            this.numberOfSpills = numberOfSpills;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setNumberOfReloads(Long numberOfReloads) {
+            this.numberOfReloads = numberOfReloads;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setMeanReloadTimeMillis(Long meanReloadTimeMillis) {
+            this.meanReloadTimeMillis = meanReloadTimeMillis;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setMaxReloadTimeMillis(Long maxReloadTimeMillis) {
+            this.maxReloadTimeMillis = maxReloadTimeMillis;
+            return this;
+        }
+
+        public ProjectsStoreResponseBuilder setLastReloadTimeMillis(Long lastReloadTimeMillis) {
+            this.lastReloadTimeMillis = lastReloadTimeMillis;
+            return this;
+        }
+
+        public ProjectsStoreResponse build() {
+            ProjectsStoreResponse projectsStoreResponse = new ProjectsStoreResponse();
+
+            projectsStoreResponse.numberOfResidentProjects = this.numberOfResidentProjects;
+            projectsStoreResponse.numberOfSpilledProjects = this.numberOfSpilledProjects;
+            projectsStoreResponse.numberOfSpills = this.numberOfSpills;
+            projectsStoreResponse.numberOfReloads = this.numberOfReloads;
+            projectsStoreResponse.meanReloadTimeMillis = this.meanReloadTimeMillis;
+            projectsStoreResponse.maxReloadTimeMillis = this.maxReloadTimeMillis;
+            projectsStoreResponse.lastReloadTimeMillis = this.lastReloadTimeMillis;
+
+            return projectsStoreResponse;
+        }
+
+        public ProjectsStoreResponse build(ProjectsContainer projectsContainer) {
+            ProjectsStoreResponse projectsStoreResponse = new ProjectsStoreResponse();
+
+            final Long numberOfReloads = projectsContainer.getNumberOfReloads();
+
+            projectsStoreResponse.numberOfResidentProjects = projectsContainer.getNumberOfResidentProjects();
+            projectsStoreResponse.numberOfSpilledProjects = projectsContainer.getNumberOfSpilledProjects();
+            projectsStoreResponse.numberOfSpills = projectsContainer.getNumberOfSpills();
+            projectsStoreResponse.numberOfReloads = numberOfReloads;
+            projectsStoreResponse.meanReloadTimeMillis = (numberOfReloads > 0) ? TimeUnit.NANOSECONDS.toMillis(projectsContainer.getTotalReloadTime() / numberOfReloads) : 0L;
+            projectsStoreResponse.maxReloadTimeMillis = TimeUnit.NANOSECONDS.toMillis(projectsContainer.getMaxReloadTime());
+            projectsStoreResponse.lastReloadTimeMillis = TimeUnit.NANOSECONDS.toMillis(projectsContainer.getLastReloadTime());
+
+            return projectsStoreResponse;
+        }
+    }
+}
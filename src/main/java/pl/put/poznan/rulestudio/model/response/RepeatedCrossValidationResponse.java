@@ -0,0 +1,159 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.model.RepeatedCrossValidation;
+import pl.put.poznan.rulestudio.model.parameters.CrossValidationParameters;
+import pl.put.poznan.rulestudio.model.response.OrdinalMisclassificationMatrixResponse.OrdinalMisclassificationMatrixResponseBuilder;
+
+import java.util.Arrays;
+
+public class RepeatedCrossValidationResponse {
+
+    @JsonProperty("isCurrentData")
+    private Boolean isCurrentData;
+
+    @JsonProperty("parameters")
+    private CrossValidationParameters crossValidationParameters;
+
+    private Long[] seeds;
+
+    private Double meanAccuracy;
+
+    private Double deviationOfAccuracy;
+
+    private Double meanMAE;
+
+    private Double deviationOfMAE;
+
+    private Double meanRMSE;
+
+    private Double deviationOfRMSE;
+
+    private Double meanGmean;
+
+    private Double deviationOfGmean;
+
+    //averaged over folds of all repetitions
+    private OrdinalMisclassificationMatrixAbstractResponse meanOrdinalMisclassificationMatrix;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RepeatedCrossValidation.RepetitionResult[] repetitionResults;
+
+    private String calculationsTime;
+
+    private RepeatedCrossValidationResponse() {
+        //private constructor
+    }
+
+    @JsonIgnore
+    public Boolean getCurrentData() {
+        return isCurrentData;
+    }
+
+    public CrossValidationParameters getCrossValidationParameters() {
+        return crossValidationParameters;
+    }
+
+    public Long[] getSeeds() {
+        return seeds;
+    }
+
+    public Double getMeanAccuracy() {
+        return meanAccuracy;
+    }
+
+    public Double getDeviationOfAccuracy() {
+        return deviationOfAccuracy;
+    }
+
+    public Double getMeanMAE() {
+        return meanMAE;
+    }
+
+    public Double getDeviationOfMAE() {
+        return deviationOfMAE;
+    }
+
+    public Double getMeanRMSE() {
+        return meanRMSE;
+    }
+
+    public Double getDeviationOfRMSE() {
+        return deviationOfRMSE;
+    }
+
+    public Double getMeanGmean() {
+        return meanGmean;
+    }
+
+    public Double getDeviationOfGmean() {
+        return deviationOfGmean;
+    }
+
+    public OrdinalMisclassificationMatrixAbstractResponse getMeanOrdinalMisclassificationMatrix() {
+        return meanOrdinalMisclassificationMatrix;
+    }
+
+    public RepeatedCrossValidation.RepetitionResult[] getRepetitionResults() {
+        return repetitionResults;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    @Override
+    public String toString() {
+        return "RepeatedCrossValidationResponse{" +
+                "isCurrentData=" + isCurrentData +
+                ", crossValidationParameters=" + crossValidationParameters +
+                ", seeds=" + Arrays.toString(seeds) +
+                ", meanAccuracy=" + meanAccuracy +
+                ", deviationOfAccuracy=" + deviationOfAccuracy +
+                ", meanMAE=" + meanMAE +
+                ", deviationOfMAE=" + deviationOfMAE +
+                ", meanRMSE=" + meanRMSE +
+                ", deviationOfRMSE=" + deviationOfRMSE +
+                ", meanGmean=" + meanGmean +
+                ", deviationOfGmean=" + deviationOfGmean +
+                ", meanOrdinalMisclassificationMatrix=" + meanOrdinalMisclassificationMatrix +
+                ", repetitionResults=" + Arrays.toString(repetitionResults) +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                '}';
+    }
+
+    public static class RepeatedCrossValidationResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(RepeatedCrossValidationResponseBuilder.class);
+
+        public static RepeatedCrossValidationResponseBuilder newInstance() {
+            return new RepeatedCrossValidationResponseBuilder();
+        }
+
+        public RepeatedCrossValidationResponse build(RepeatedCrossValidation repeatedCrossValidation) {
+            RepeatedCrossValidationResponse repeatedCrossValidationResponse = new RepeatedCrossValidationResponse();
+
+            repeatedCrossValidationResponse.isCurrentData = repeatedCrossValidation.isCurrentData();
+            repeatedCrossValidationResponse.crossValidationParameters = repeatedCrossValidation.getCrossValidationParameters();
+            repeatedCrossValidationResponse.seeds = repeatedCrossValidation.getSeeds();
+            repeatedCrossValidationResponse.meanAccuracy = repeatedCrossValidation.getMeanAccuracy();
+            repeatedCrossValidationResponse.deviationOfAccuracy = repeatedCrossValidation.getDeviationOfAccuracy();
+            repeatedCrossValidationResponse.meanMAE = repeatedCrossValidation.getMeanMAE();
+            repeatedCrossValidationResponse.deviationOfMAE = repeatedCrossValidation.getDeviationOfMAE();
+            repeatedCrossValidationResponse.meanRMSE = repeatedCrossValidation.getMeanRMSE();
+            repeatedCrossValidationResponse.deviationOfRMSE = repeatedCrossValidation.getDeviationOfRMSE();
+            repeatedCrossValidationResponse.meanGmean = repeatedCrossValidation.getMeanGmean();
+            repeatedCrossValidationResponse.deviationOfGmean = repeatedCrossValidation.getDeviationOfGmean();
+            repeatedCrossValidationResponse.meanOrdinalMisclassificationMatrix = OrdinalMisclassificationMatrixResponseBuilder.newInstance().build(
+                    repeatedCrossValidation.getMeanOrdinalMisclassificationMatrix(),
+                    repeatedCrossValidation.getOrderOfDecisions());
+            repeatedCrossValidationResponse.repetitionResults = repeatedCrossValidation.getRepetitionResults();
+            repeatedCrossValidationResponse.calculationsTime = repeatedCrossValidation.getCalculationsTime();
+
+            return repeatedCrossValidationResponse;
+        }
+    }
+}
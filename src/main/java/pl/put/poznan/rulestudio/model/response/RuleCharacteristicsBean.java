@@ -1,5 +1,6 @@
 package pl.put.poznan.rulestudio.model.response;
 
+import java.util.EnumSet;
 import java.util.function.Supplier;
 
 import org.rulelearn.core.UnknownValueException;
@@ -7,8 +8,14 @@ import org.rulelearn.rules.RuleCharacteristics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.model.RuleCharacteristicsColumns;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+//characteristics left out of projection are null and are not serialized
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RuleCharacteristicsBean {
     private static final Logger logger = LoggerFactory.getLogger(RuleCharacteristicsBean.class);
 
@@ -75,6 +82,45 @@ public class RuleCharacteristicsBean {
         this.length = getValueOfCharacteristic(ruleCharacteristics::getNumberOfConditions, "Length");
     }
 
+    public RuleCharacteristicsBean(RuleCharacteristicsColumns ruleCharacteristicsColumns, int ruleIndex, EnumSet<OrderByRuleCharacteristic> characteristics) {
+        this.support = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.SUPPORT, ruleIndex, characteristics);
+        this.strength = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.STRENGTH, ruleIndex, characteristics);
+        this.confidence = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.CONFIDENCE, ruleIndex, characteristics);
+        this.coverageFactor = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.COVERAGE_FACTOR, ruleIndex, characteristics);
+        this.coverage = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.COVERAGE, ruleIndex, characteristics);
+        this.negativeCoverage = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.NEGATIVE_COVERAGE, ruleIndex, characteristics);
+        this.epsilon = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.EPSILON, ruleIndex, characteristics);
+        this.epsilonPrime = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.EPSILON_PRIME, ruleIndex, characteristics);
+        this.fConfirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.F_CONFIRMATION, ruleIndex, characteristics);
+        this.aConfirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.A_CONFIRMATION, ruleIndex, characteristics);
+        this.zConfirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.Z_CONFIRMATION, ruleIndex, characteristics);
+        this.lConfirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.L_CONFIRMATION, ruleIndex, characteristics);
+        this.c1Confirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.C1_CONFIRMATION, ruleIndex, characteristics);
+        this.sConfirmation = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.S_CONFIRMATION, ruleIndex, characteristics);
+        this.length = getValueOfCharacteristic(ruleCharacteristicsColumns, OrderByRuleCharacteristic.LENGTH, ruleIndex, characteristics);
+    }
+
+    //same presentation of values as for single rule characteristics, but without boxing of unknown values
+    private static Object getValueOfCharacteristic(RuleCharacteristicsColumns ruleCharacteristicsColumns, OrderByRuleCharacteristic characteristic, int ruleIndex, EnumSet<OrderByRuleCharacteristic> characteristics) {
+        if(!characteristics.contains(characteristic)) {
+            return null;
+        }
+
+        if(!ruleCharacteristicsColumns.isKnown(characteristic, ruleIndex)) {
+            return "-";
+        }
+
+        if(ruleCharacteristicsColumns.isIntegerCharacteristic(characteristic)) {
+            return ruleCharacteristicsColumns.getIntegerColumn(characteristic)[ruleIndex];
+        }
+
+        final double value = ruleCharacteristicsColumns.getDoubleColumn(characteristic)[ruleIndex];
+        if((Double.isInfinite(value)) || (Double.isNaN(value))) {
+            return Double.toString(value);
+        }
+        return value;
+    }
+
     private <T extends Number> Object getValueOfCharacteristic(Supplier<T> function, String fieldName) {
         T value;
 
@@ -1,17 +1,24 @@
 package pl.put.poznan.rulestudio.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.rulelearn.rules.Rule;
 import org.rulelearn.rules.RuleCharacteristics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
+import pl.put.poznan.rulestudio.model.RuleCharacteristicsColumns;
+
+import java.util.EnumSet;
 
 public class RuleMainProperties {
 
     @JsonProperty("ruleCharacteristics")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private RuleCharacteristicsBean ruleCharacteristicsBean;
 
     @JsonProperty("rule")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private RuleBean ruleBean;
 
     private RuleMainProperties() {
@@ -63,6 +70,20 @@ public class RuleMainProperties {
             return ruleMainProperties;
         }
 
+        //only chosen characteristics are present, rule is omitted if it is not included
+        public RuleMainProperties build(Rule rule, RuleCharacteristicsColumns ruleCharacteristicsColumns, int ruleIndex, EnumSet<OrderByRuleCharacteristic> characteristics, boolean includeRule) {
+            RuleMainProperties ruleMainProperties = new RuleMainProperties();
+
+            if(includeRule) {
+                ruleMainProperties.ruleBean = new RuleBean(rule);
+            }
+            if(!characteristics.isEmpty()) {
+                ruleMainProperties.ruleCharacteristicsBean = new RuleCharacteristicsBean(ruleCharacteristicsColumns, ruleIndex, characteristics);
+            }
+
+            return ruleMainProperties;
+        }
+
         public RuleMainProperties build(Rule rule, RuleCharacteristics ruleCharacteristics) {
             RuleMainProperties ruleMainProperties = new RuleMainProperties();
 
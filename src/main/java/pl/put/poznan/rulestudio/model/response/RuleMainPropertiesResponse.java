@@ -4,11 +4,13 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
-import pl.put.poznan.rulestudio.model.RuLeStudioRule;
 import pl.put.poznan.rulestudio.model.RuLeStudioRuleSet;
 import pl.put.poznan.rulestudio.model.response.RuleMainProperties.RuleMainPropertiesBuilder;
 
+import java.util.EnumSet;
+
 public class RuleMainPropertiesResponse {
 
     @JsonValue
@@ -66,17 +68,20 @@ public class RuleMainPropertiesResponse {
         }
 
         public RuleMainPropertiesResponse build(RuLeStudioRuleSet ruLeStudioRuleSet, Integer ruleIndex) {
-            final RuLeStudioRule[] rules = ruLeStudioRuleSet.getRuLeStudioRules();
-            if((ruleIndex < 0) || (ruleIndex >= rules.length)) {
-                WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, rules.length - 1));
+            if((ruleIndex < 0) || (ruleIndex >= ruLeStudioRuleSet.size())) {
+                WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, ruLeStudioRuleSet.size() - 1));
                 logger.error(ex.getMessage());
                 throw ex;
             }
 
             RuleMainPropertiesResponse ruleMainPropertiesResponse = new RuleMainPropertiesResponse();
 
-            final RuLeStudioRule rule = rules[ruleIndex];
-            ruleMainPropertiesResponse.ruleMainProperties = RuleMainPropertiesBuilder.newInstance().build(rule.getRule(), rule.getRuleCharacteristics());
+            ruleMainPropertiesResponse.ruleMainProperties = RuleMainPropertiesBuilder.newInstance().build(
+                    ruLeStudioRuleSet.getRule(ruleIndex),
+                    ruLeStudioRuleSet.getRuleCharacteristicsColumns(),
+                    ruleIndex,
+                    EnumSet.complementOf(EnumSet.of(OrderByRuleCharacteristic.NONE)),
+                    true);
 
             return ruleMainPropertiesResponse;
         }
@@ -0,0 +1,140 @@
+package pl.put.poznan.rulestudio.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+
+import java.util.Arrays;
+
+//results of sweep stored column by column, i-th element of every array refers to i-th consistency threshold
+public class ThresholdsSweepResponse {
+
+    private UnionType typeOfUnions;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RuleType typeOfRules;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String filterSelector;
+
+    private double[] consistencyThresholds;
+
+    private double[] qualitiesOfApproximation;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] numbersOfRules;
+
+    private String calculationsTime;
+
+    private ThresholdsSweepResponse() {
+        //private constructor
+    }
+
+    public UnionType getTypeOfUnions() {
+        return typeOfUnions;
+    }
+
+    public RuleType getTypeOfRules() {
+        return typeOfRules;
+    }
+
+    public String getFilterSelector() {
+        return filterSelector;
+    }
+
+    public double[] getConsistencyThresholds() {
+        return consistencyThresholds;
+    }
+
+    public double[] getQualitiesOfApproximation() {
+        return qualitiesOfApproximation;
+    }
+
+    public int[] getNumbersOfRules() {
+        return numbersOfRules;
+    }
+
+    public String getCalculationsTime() {
+        return calculationsTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ThresholdsSweepResponse{" +
+                "typeOfUnions=" + typeOfUnions +
+                ", typeOfRules=" + typeOfRules +
+                ", filterSelector='" + filterSelector + '\'' +
+                ", consistencyThresholds=" + Arrays.toString(consistencyThresholds) +
+                ", qualitiesOfApproximation=" + Arrays.toString(qualitiesOfApproximation) +
+                ", numbersOfRules=" + Arrays.toString(numbersOfRules) +
+                ", calculationsTime='" + calculationsTime + '\'' +
+                '}';
+    }
+
+    public static class ThresholdsSweepResponseBuilder {
+        private static final Logger logger = LoggerFactory.getLogger(ThresholdsSweepResponseBuilder.class);
+
+        private UnionType typeOfUnions;
+        private RuleType typeOfRules;
+        private String filterSelector;
+        private double[] consistencyThresholds;
+        private double[] qualitiesOfApproximation;
+        private int[] numbersOfRules;
+        private String calculationsTime;
+
+        public static ThresholdsSweepResponseBuilder newInstance() {
+            return new ThresholdsSweepResponseBuilder();
+        }
+
+        public ThresholdsSweepResponseBuilder setTypeOfUnions(UnionType typeOfUnions) {
+            this.typeOfUnions = typeOfUnions;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setTypeOfRules(RuleType typeOfRules) {
+            this.typeOfRules = typeOfRules;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setFilterSelector(String filterSelector) {
+            this.filterSelector = filterSelector;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setConsistencyThresholds(double[] consistencyThresholds) {
+            this.consistencyThresholds = consistencyThresholds;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setQualitiesOfApproximation(double[] qualitiesOfApproximation) {
+            this.qualitiesOfApproximation = qualitiesOfApproximation;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setNumbersOfRules(int[] numbersOfRules) {
+            this.numbersOfRules = numbersOfRules;
+            return this;
+        }
+
+        public ThresholdsSweepResponseBuilder setCalculationsTime(String calculationsTime) {
+            this.calculationsTime = calculationsTime;
+            return this;
+        }
+
+        public ThresholdsSweepResponse build() {
+            ThresholdsSweepResponse thresholdsSweepResponse = new ThresholdsSweepResponse();
+
+            thresholdsSweepResponse.typeOfUnions = this.typeOfUnions;
+            thresholdsSweepResponse.typeOfRules = this.typeOfRules;
+            thresholdsSweepResponse.filterSelector = this.filterSelector;
+            thresholdsSweepResponse.consistencyThresholds = this.consistencyThresholds;
+            thresholdsSweepResponse.qualitiesOfApproximation = this.qualitiesOfApproximation;
+            thresholdsSweepResponse.numbersOfRules = this.numbersOfRules;
+            thresholdsSweepResponse.calculationsTime = this.calculationsTime;
+
+            return thresholdsSweepResponse;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package pl.put.poznan.rulestudio.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.model.parameters.*;
+import pl.put.poznan.rulestudio.model.response.CalculationJobResponse;
+import pl.put.poznan.rulestudio.service.CalculationJobsService;
+import pl.put.poznan.rulestudio.service.CrossValidationService;
+
+import java.util.UUID;
+
+@CrossOrigin
+@RequestMapping("projects/{id}/jobs")
+@RestController
+public class CalculationJobsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationJobsController.class);
+
+    private final CalculationJobsService calculationJobsService;
+
+    @Autowired
+    public CalculationJobsController(CalculationJobsService calculationJobsService) {
+        this.calculationJobsService = calculationJobsService;
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse[]> getCalculationJobs(
+            @PathVariable("id") UUID id) {
+        logger.info("[START] Getting jobs...");
+
+        final CalculationJobResponse[] result = calculationJobsService.getCalculationJobs(id);
+
+        logger.info("[ END ] Getting jobs is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> getCalculationJob(
+            @PathVariable("id") UUID id,
+            @PathVariable("jobId") UUID jobId) {
+        logger.info("[START] Getting job...");
+
+        final CalculationJobResponse result = calculationJobsService.getCalculationJob(id, jobId);
+
+        logger.info("[ END ] Getting job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/{jobId}/events", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getCalculationJobEvents(
+            @PathVariable("id") UUID id,
+            @PathVariable("jobId") UUID jobId) {
+        logger.info("[START] Streaming job...");
+
+        final SseEmitter result = calculationJobsService.streamCalculationJob(id, jobId);
+
+        logger.info("[ END ] Streaming job is started.");
+        return result;
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> cancelCalculationJob(
+            @PathVariable("id") UUID id,
+            @PathVariable("jobId") UUID jobId) {
+        logger.info("[START] Cancelling job...");
+
+        final CalculationJobResponse result = calculationJobsService.cancelCalculationJob(id, jobId);
+
+        logger.info("[ END ] Cancelling job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/cones", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putDominanceConesJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "representation", required = false) DominanceConesRepresentation representation) {
+        logger.info("[START] Submitting dominance cones job...");
+
+        final CalculationJobResponse result = calculationJobsService.submitDominanceCones(id, representation);
+
+        logger.info("[ END ] Submitting dominance cones job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/unions", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putUnionsJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold) {
+        logger.info("[START] Submitting unions job...");
+
+        final ClassUnionsParameters classUnionsParameters = new ClassUnionsParametersImpl(typeOfUnions, consistencyThreshold);
+        final CalculationJobResponse result = calculationJobsService.submitUnions(id, classUnionsParameters);
+
+        logger.info("[ END ] Submitting unions job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/rules", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putRulesJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "filterSelector") String filterSelector) {
+        logger.info("[START] Submitting rules job...");
+
+        final RulesParameters rulesParameters = RulesParametersImpl.getInstance(typeOfUnions, consistencyThreshold, typeOfRules, filterSelector);
+        final CalculationJobResponse result = calculationJobsService.submitRules(id, rulesParameters);
+
+        logger.info("[ END ] Submitting rules job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/rulesCoverage", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putRulesCoverageJob(
+            @PathVariable("id") UUID id) {
+        logger.info("[START] Submitting rules coverage job...");
+
+        final CalculationJobResponse result = calculationJobsService.submitRulesCoverage(id);
+
+        logger.info("[ END ] Submitting rules coverage job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/classification", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putClassificationJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "classifierType") ClassifierType classifierType,
+            @RequestParam(name = "defaultClassificationResultType") DefaultClassificationResultType defaultClassificationResultType) {
+        logger.info("[START] Submitting classification job...");
+
+        final ClassificationParameters classificationParameters = new ClassificationParametersImpl(classifierType, defaultClassificationResultType);
+        final CalculationJobResponse result = calculationJobsService.submitClassification(id, classificationParameters);
+
+        logger.info("[ END ] Submitting classification job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/crossValidation", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putCrossValidationJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "filterSelector") String filterSelector,
+            @RequestParam(name = "classifierType") ClassifierType classifierType,
+            @RequestParam(name = "defaultClassificationResultType") DefaultClassificationResultType defaultClassificationResultType,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed) {
+        logger.info("[START] Submitting cross validation job...");
+
+        final CrossValidationParameters crossValidationParameters = new CrossValidationParametersImpl(
+                typeOfUnions, consistencyThreshold, typeOfRules, filterSelector, classifierType, defaultClassificationResultType, numberOfFolds, seed);
+        final CalculationJobResponse result = calculationJobsService.submitCrossValidation(id, crossValidationParameters);
+
+        logger.info("[ END ] Submitting cross validation job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/crossValidationGridSearch", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putCrossValidationGridSearchJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typesOfUnions") UnionType[] typesOfUnions,
+            @RequestParam(name = "consistencyThresholds") Double[] consistencyThresholds,
+            @RequestParam(name = "typesOfRules") RuleType[] typesOfRules,
+            @RequestParam(name = "filterSelectors") String[] filterSelectors,
+            @RequestParam(name = "classifierTypes") ClassifierType[] classifierTypes,
+            @RequestParam(name = "defaultClassificationResultTypes") DefaultClassificationResultType[] defaultClassificationResultTypes,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed) {
+        logger.info("[START] Submitting cross validation grid search job...");
+
+        final CrossValidationParametersImpl[] candidates = CrossValidationService.createGridSearchCandidates(
+                typesOfUnions, consistencyThresholds, typesOfRules, filterSelectors, classifierTypes, defaultClassificationResultTypes, numberOfFolds, seed);
+        final CalculationJobResponse result = calculationJobsService.submitCrossValidationGridSearch(id, candidates, numberOfFolds, seed);
+
+        logger.info("[ END ] Submitting cross validation grid search job is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/repeatedCrossValidation", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationJobResponse> putRepeatedCrossValidationJob(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "filterSelector") String filterSelector,
+            @RequestParam(name = "classifierType") ClassifierType classifierType,
+            @RequestParam(name = "defaultClassificationResultType") DefaultClassificationResultType defaultClassificationResultType,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seeds", required = false) Long[] seeds,
+            @RequestParam(name = "numberOfRepetitions", required = false) Integer numberOfRepetitions,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed,
+            @RequestParam(name = "repetitionResults", defaultValue = "false") Boolean isRepetitionResults) {
+        logger.info("[START] Submitting repeated cross validation job...");
+
+        final CrossValidationParameters crossValidationParameters = new CrossValidationParametersImpl(
+                typeOfUnions, consistencyThreshold, typeOfRules, filterSelector, classifierType, defaultClassificationResultType, numberOfFolds, null);
+        final CalculationJobResponse result = calculationJobsService.submitRepeatedCrossValidation(id, crossValidationParameters, seeds, numberOfRepetitions, seed, isRepetitionResults);
+
+        logger.info("[ END ] Submitting repeated cross validation job is done.");
+        return ResponseEntity.ok(result);
+    }
+}
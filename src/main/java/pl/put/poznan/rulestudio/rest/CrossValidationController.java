@@ -26,10 +26,12 @@ import pl.put.poznan.rulestudio.model.response.AttributeFieldsResponse;
 import pl.put.poznan.rulestudio.model.response.ChosenClassifiedObjectAbstractResponse;
 import pl.put.poznan.rulestudio.model.response.ChosenCrossValidationFoldResponse;
 import pl.put.poznan.rulestudio.model.response.ChosenRuleResponse;
+import pl.put.poznan.rulestudio.model.response.CrossValidationGridSearchResponse;
 import pl.put.poznan.rulestudio.model.response.DescriptiveAttributesResponse;
 import pl.put.poznan.rulestudio.model.response.MainCrossValidationResponse;
 import pl.put.poznan.rulestudio.model.response.ObjectAbstractResponse;
 import pl.put.poznan.rulestudio.model.response.OrdinalMisclassificationMatrixAbstractResponse;
+import pl.put.poznan.rulestudio.model.response.RepeatedCrossValidationResponse;
 import pl.put.poznan.rulestudio.model.response.RuleMainPropertiesResponse;
 import pl.put.poznan.rulestudio.service.CrossValidationService;
 
@@ -102,6 +104,73 @@ public class CrossValidationController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/gridSearch", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CrossValidationGridSearchResponse> getCrossValidationGridSearch(
+            @PathVariable("id") UUID id) {
+        logger.info("[START] Getting cross validation grid search...");
+
+        final CrossValidationGridSearchResponse result = crossValidationService.getCrossValidationGridSearch(id);
+
+        logger.info("[ END ] Getting cross validation grid search is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/gridSearch", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CrossValidationGridSearchResponse> putCrossValidationGridSearch(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typesOfUnions") UnionType[] typesOfUnions,
+            @RequestParam(name = "consistencyThresholds") Double[] consistencyThresholds,
+            @RequestParam(name = "typesOfRules") RuleType[] typesOfRules,
+            @RequestParam(name = "filterSelectors") String[] filterSelectors,
+            @RequestParam(name = "classifierTypes") ClassifierType[] classifierTypes,
+            @RequestParam(name = "defaultClassificationResultTypes") DefaultClassificationResultType[] defaultClassificationResultTypes,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed) {
+        logger.info("[START] Putting cross validation grid search...");
+
+        final CrossValidationParametersImpl[] candidates = CrossValidationService.createGridSearchCandidates(
+                typesOfUnions, consistencyThresholds, typesOfRules, filterSelectors, classifierTypes, defaultClassificationResultTypes, numberOfFolds, seed);
+        final CrossValidationGridSearchResponse result = crossValidationService.putCrossValidationGridSearch(id, candidates, numberOfFolds, seed);
+
+        logger.info("[ END ] Putting cross validation grid search is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/repeated", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RepeatedCrossValidationResponse> getRepeatedCrossValidation(
+            @PathVariable("id") UUID id) {
+        logger.info("[START] Getting repeated cross validation...");
+
+        final RepeatedCrossValidationResponse result = crossValidationService.getRepeatedCrossValidation(id);
+
+        logger.info("[ END ] Getting repeated cross validation is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/repeated", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RepeatedCrossValidationResponse> putRepeatedCrossValidation(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThreshold") Double consistencyThreshold,
+            @RequestParam(name = "typeOfRules") RuleType typeOfRules,
+            @RequestParam(name = "filterSelector") String filterSelector,
+            @RequestParam(name = "classifierType") ClassifierType classifierType,
+            @RequestParam(name = "defaultClassificationResultType") DefaultClassificationResultType defaultClassificationResultType,
+            @RequestParam(name = "numberOfFolds") Integer numberOfFolds,
+            @RequestParam(name = "seeds", required = false) Long[] seeds,
+            @RequestParam(name = "numberOfRepetitions", required = false) Integer numberOfRepetitions,
+            @RequestParam(name = "seed", defaultValue = "0") Long seed,
+            @RequestParam(name = "repetitionResults", defaultValue = "false") Boolean isRepetitionResults) {
+        logger.info("[START] Putting repeated cross validation...");
+
+        final CrossValidationParameters crossValidationParameters = new CrossValidationParametersImpl(
+                typeOfUnions, consistencyThreshold, typeOfRules, filterSelector, classifierType, defaultClassificationResultType, numberOfFolds, null);
+        final RepeatedCrossValidationResponse result = crossValidationService.putRepeatedCrossValidation(id, crossValidationParameters, seeds, numberOfRepetitions, seed, isRepetitionResults);
+
+        logger.info("[ END ] Putting repeated cross validation is done.");
+        return ResponseEntity.ok(result);
+    }
+
     @RequestMapping(value = "/descriptiveAttributes", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<DescriptiveAttributesResponse> getDescriptiveAttributes (
             @PathVariable("id") UUID id) {
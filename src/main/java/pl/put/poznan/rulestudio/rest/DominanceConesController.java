@@ -7,6 +7,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pl.put.poznan.rulestudio.enums.ConeType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
 import pl.put.poznan.rulestudio.model.response.*;
 import pl.put.poznan.rulestudio.service.DominanceConesService;
 
@@ -40,10 +41,11 @@ public class DominanceConesController {
 
     @RequestMapping(method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<MainDominanceConesResponse> putDominanceCones(
-            @PathVariable("id") UUID id) {
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "representation", required = false) DominanceConesRepresentation representation) {
         logger.info("[START] Putting dominance cones...");
 
-        final MainDominanceConesResponse result = dominanceConesService.putDominanceCones(id);
+        final MainDominanceConesResponse result = dominanceConesService.putDominanceCones(id, representation);
 
         logger.info("[ END ] Putting dominance cones is done.");
         return ResponseEntity.ok(result);
@@ -52,11 +54,12 @@ public class DominanceConesController {
     @RequestMapping(method = RequestMethod.POST, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<MainDominanceConesResponse> postDominanceCones(
             @PathVariable("id") UUID id,
+            @RequestParam(name = "representation", required = false) DominanceConesRepresentation representation,
             @RequestParam(name = "metadata") String metadata,
             @RequestParam(name = "data") String data) throws IOException {
         logger.info("[START] Posting dominance cones...");
 
-        final MainDominanceConesResponse result = dominanceConesService.postDominanceCones(id, metadata, data);
+        final MainDominanceConesResponse result = dominanceConesService.postDominanceCones(id, representation, metadata, data);
 
         logger.info("[ END ] Posting dominance cones is done.");
         return ResponseEntity.ok(result);
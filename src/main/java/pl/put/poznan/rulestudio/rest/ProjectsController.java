@@ -7,8 +7,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import pl.put.poznan.rulestudio.model.response.CalculationsCacheResponse;
 import pl.put.poznan.rulestudio.model.response.ProjectResponse;
 import pl.put.poznan.rulestudio.model.response.ProjectsResponse;
+import pl.put.poznan.rulestudio.model.response.ProjectsStoreResponse;
 import pl.put.poznan.rulestudio.service.ProjectsService;
 
 import java.io.IOException;
@@ -37,6 +39,36 @@ public class ProjectsController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/store", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProjectsStoreResponse> getProjectsStore() {
+        logger.info("[START] Getting projects store...");
+
+        final ProjectsStoreResponse result = projectsService.getProjectsStore();
+
+        logger.info("[ END ] Getting projects store is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/calculationsCache", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationsCacheResponse> getCalculationsCache() {
+        logger.info("[START] Getting calculations cache...");
+
+        final CalculationsCacheResponse result = projectsService.getCalculationsCache();
+
+        logger.info("[ END ] Getting calculations cache is done.");
+        return ResponseEntity.ok(result);
+    }
+
+    @RequestMapping(value = "/calculationsCache", method = RequestMethod.DELETE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CalculationsCacheResponse> deleteCalculationsCache() {
+        logger.info("[START] Clearing calculations cache...");
+
+        final CalculationsCacheResponse result = projectsService.deleteCalculationsCache();
+
+        logger.info("[ END ] Clearing calculations cache is done.");
+        return ResponseEntity.ok(result);
+    }
+
     @RequestMapping(method = RequestMethod.POST, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ProjectResponse> createProject(
             @RequestParam(name = "name") String name,
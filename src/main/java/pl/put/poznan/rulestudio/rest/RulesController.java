@@ -5,11 +5,11 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,14 +18,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.RulesFormat;
 import pl.put.poznan.rulestudio.enums.UnionType;
-import pl.put.poznan.rulestudio.exception.WrongParameterException;
-import pl.put.poznan.rulestudio.model.NamedResource;
 import pl.put.poznan.rulestudio.model.parameters.RulesParameters;
 import pl.put.poznan.rulestudio.model.parameters.RulesParametersImpl;
 import pl.put.poznan.rulestudio.model.response.AttributeFieldsResponse;
@@ -35,7 +34,7 @@ import pl.put.poznan.rulestudio.model.response.MainRulesResponse;
 import pl.put.poznan.rulestudio.model.response.ObjectAbstractResponse;
 import pl.put.poznan.rulestudio.service.RulesService;
 
-@CrossOrigin(exposedHeaders = {"Content-Disposition"})
+@CrossOrigin(exposedHeaders = {"Content-Disposition", "ETag"})
 @RequestMapping("/projects/{id}/rules")
 @RestController
 public class RulesController {
@@ -50,16 +49,28 @@ public class RulesController {
     }
 
     @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<MainRulesResponse> getRules (
+    public ResponseEntity<byte[]> getRules (
             @PathVariable("id") UUID id,
             @RequestParam(name = "orderBy", defaultValue = "none") OrderByRuleCharacteristic orderBy,
-            @RequestParam(name = "desc", defaultValue = "true") Boolean desc) {
+            @RequestParam(name = "desc", defaultValue = "true") Boolean desc,
+            @RequestParam(name = "offset", defaultValue = "0") Integer offset,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "filter", required = false) String[] filters,
+            @RequestParam(name = "fields", required = false) String[] fields,
+            WebRequest webRequest) throws IOException {
         logger.info("[START] Getting rules...");
 
-        final MainRulesResponse result = rulesService.getRules(id, orderBy, desc);
+        final String eTag = rulesService.getRulesETag(id, orderBy, desc, offset, limit, filters, fields);
+        if (webRequest.checkNotModified(eTag)) {
+            //304 status and ETag are already set in the response
+            logger.info("[ END ] Getting rules is done, rules are not modified.");
+            return null;
+        }
+
+        final byte[] result = rulesService.getSerializedRules(id, orderBy, desc, offset, limit, filters, fields);
 
         logger.info("[ END ] Getting rules is done.");
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(result);
     }
 
     @RequestMapping(method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -137,32 +148,16 @@ public class RulesController {
     }
 
     @RequestMapping(value = "/download", method = RequestMethod.GET)
-    public ResponseEntity<Resource> download(
+    public void download(
             @PathVariable("id") UUID id,
-            @RequestParam(name = "format") RulesFormat rulesFormat) {
+            @RequestParam(name = "format") RulesFormat rulesFormat,
+            @RequestParam(name = "gzip", defaultValue = "false") Boolean gzip,
+            HttpServletResponse response) throws IOException {
         logger.info("[START] Downloading file...");
-        NamedResource namedResource = rulesService.download(id, rulesFormat);
-        String projectName = namedResource.getName();
-        Resource resource = namedResource.getResource();
-
-        switch (rulesFormat) {
-            case XML:
-                logger.info("[ END ] Downloading file is done.");
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + projectName + " rules.xml")
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_XML_VALUE)
-                        .body(resource);
-            case TXT:
-                logger.info("[ END ] Downloading file is done.");
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + projectName + " rules.txt")
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
-                        .body(resource);
-            default:
-                WrongParameterException ex = new WrongParameterException(String.format("Given format of rules \"%s\" is unrecognized.", rulesFormat));
-                logger.error(ex.getMessage());
-                throw ex;
-        }
+
+        rulesService.download(id, rulesFormat, gzip, response);
+
+        logger.info("[ END ] Downloading file is done.");
     }
 
     @RequestMapping(value = "/upload", method = RequestMethod.PUT, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -216,6 +211,18 @@ public class RulesController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/coveringRules", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<int[]> getCoveringRules(
+            @PathVariable("id") UUID id,
+            @RequestParam("objectIndex") Integer objectIndex) {
+        logger.info("[START] Getting rules covering object...");
+
+        final int[] result = rulesService.getCoveringRules(id, objectIndex);
+
+        logger.info("[ END ] Getting rules covering object is done.");
+        return ResponseEntity.ok(result);
+    }
+
     @RequestMapping(value = "/arePossibleRulesAllowed", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Boolean>> arePossibleRulesAllowed(
             @PathVariable("id") UUID id) {
@@ -7,6 +7,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pl.put.poznan.rulestudio.enums.ClassUnionArrayPropertyType;
+import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.UnionType;
 import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParameters;
 import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParametersImpl;
@@ -55,6 +56,21 @@ public class UnionsController {
         return ResponseEntity.ok(result);
     }
 
+    @RequestMapping(value = "/thresholdsSweep", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ThresholdsSweepResponse> getThresholdsSweep(
+            @PathVariable("id") UUID id,
+            @RequestParam(name = "typeOfUnions") UnionType typeOfUnions,
+            @RequestParam(name = "consistencyThresholds") Double[] consistencyThresholds,
+            @RequestParam(name = "typeOfRules", required = false) RuleType typeOfRules,
+            @RequestParam(name = "filterSelector", required = false) String filterSelector) {
+        logger.info("[START] Getting consistency thresholds sweep...");
+
+        final ThresholdsSweepResponse result = unionsService.getThresholdsSweep(id, typeOfUnions, consistencyThresholds, typeOfRules, filterSelector);
+
+        logger.info("[ END ] Getting consistency thresholds sweep is done.");
+        return ResponseEntity.ok(result);
+    }
+
     @RequestMapping(method = RequestMethod.POST, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<MainClassUnionsResponse> postUnions(
             @PathVariable("id") UUID id,
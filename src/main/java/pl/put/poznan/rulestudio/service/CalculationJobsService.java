@@ -0,0 +1,371 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.put.poznan.rulestudio.enums.CalculationJobStatus;
+import pl.put.poznan.rulestudio.enums.CalculationJobType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
+import pl.put.poznan.rulestudio.exception.EmptyResponseException;
+import pl.put.poznan.rulestudio.exception.ProjectNotFoundException;
+import pl.put.poznan.rulestudio.model.CalculationJob;
+import pl.put.poznan.rulestudio.model.CalculationProgress;
+import pl.put.poznan.rulestudio.model.Project;
+import pl.put.poznan.rulestudio.model.ProjectsContainer;
+import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParameters;
+import pl.put.poznan.rulestudio.model.parameters.ClassificationParameters;
+import pl.put.poznan.rulestudio.model.parameters.CrossValidationParameters;
+import pl.put.poznan.rulestudio.model.parameters.CrossValidationParametersImpl;
+import pl.put.poznan.rulestudio.model.parameters.RulesParameters;
+import pl.put.poznan.rulestudio.model.response.CalculationJobResponse;
+import pl.put.poznan.rulestudio.model.response.CalculationJobResponse.CalculationJobResponseBuilder;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+
+@Service
+public class CalculationJobsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationJobsService.class);
+
+    @Autowired
+    ProjectsContainer projectsContainer;
+
+    @Autowired
+    DominanceConesService dominanceConesService;
+
+    @Autowired
+    UnionsService unionsService;
+
+    @Autowired
+    RulesService rulesService;
+
+    @Autowired
+    ClassificationService classificationService;
+
+    @Autowired
+    CrossValidationService crossValidationService;
+
+    private final Map<UUID, CalculationJob> calculationJobs;
+
+    private final ExecutorService jobsExecutor;
+
+    private final ScheduledExecutorService eventsScheduler;
+
+    private final Long retentionTime;
+
+    private final Long eventsInterval;
+
+    public CalculationJobsService(
+            @Value("${rulestudio.jobs.threads:2}") Integer threads,
+            @Value("${rulestudio.jobs.retentionMinutes:60}") Long retentionMinutes,
+            @Value("${rulestudio.jobs.eventsIntervalMillis:500}") Long eventsInterval) {
+        this.calculationJobs = new ConcurrentHashMap<>();
+        this.jobsExecutor = Executors.newFixedThreadPool(threads);
+        this.eventsScheduler = Executors.newSingleThreadScheduledExecutor();
+        this.retentionTime = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        this.eventsInterval = eventsInterval;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for(CalculationJob calculationJob : calculationJobs.values()) {
+            calculationJob.cancel();
+        }
+        jobsExecutor.shutdownNow();
+        eventsScheduler.shutdownNow();
+    }
+
+    private void removeExpiredJobs() {
+        final long expirationTime = System.currentTimeMillis() - retentionTime;
+        calculationJobs.values().removeIf(calculationJob -> (calculationJob.isFinished()) && (calculationJob.getFinishTime() < expirationTime));
+    }
+
+    private CalculationJob getCalculationJobFromContainer(UUID id, UUID jobId) {
+        removeExpiredJobs();
+
+        final CalculationJob calculationJob = calculationJobs.get(jobId);
+        if((calculationJob == null) || (!calculationJob.getProjectId().equals(id))) {
+            EmptyResponseException ex = new EmptyResponseException(String.format("There is no job with id %s in project.", jobId));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        return calculationJob;
+    }
+
+    private void runCalculationJob(CalculationJob calculationJob, BiConsumer<Project, CalculationProgress> calculation) {
+        if(!calculationJob.start()) {
+            logger.info("Job {} has been cancelled before start.", calculationJob.getId());
+            return;
+        }
+
+        logger.info("[START] Running job {} ({})...", calculationJob.getId(), calculationJob.getType());
+        try {
+            final Lock lock = projectsContainer.getWriteLock(calculationJob.getProjectId());
+            if(lock == null) {
+                ProjectNotFoundException ex = new ProjectNotFoundException();
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+
+            //calculation is exclusive, like the synchronous recalculation of project
+            lock.lock();
+            try {
+                //project is taken under the lock, because it could have been spilled to disk while the job was queued
+                final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, calculationJob.getProjectId());
+                calculation.accept(project, calculationJob.getCalculationProgress());
+            } finally {
+                lock.unlock();
+            }
+            calculationJob.finish(CalculationJobStatus.FINISHED, null);
+        } catch (CalculationCancelledException e) {
+            calculationJob.finish(CalculationJobStatus.CANCELLED, null);
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed: {}", calculationJob.getId(), e.getMessage());
+            calculationJob.finish(CalculationJobStatus.FAILED, e.getMessage());
+        } catch (Throwable e) {
+            //job must not stay running forever, e.g. after OutOfMemoryError, but errors are still passed to the worker thread
+            logger.error(String.format("Job %s failed.", calculationJob.getId()), e);
+            calculationJob.finish(CalculationJobStatus.FAILED, e.toString());
+            if(e instanceof Error) {
+                throw (Error) e;
+            }
+        }
+        logger.info("[ END ] Running job {} is done with status {}.", calculationJob.getId(), calculationJob.getStatus());
+    }
+
+    private CalculationJobResponse submitCalculationJob(UUID id, CalculationJobType type, BiConsumer<Project, CalculationProgress> calculation) {
+        removeExpiredJobs();
+
+        ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        final CalculationJob calculationJob = new CalculationJob(id, type);
+        calculationJobs.put(calculationJob.getId(), calculationJob);
+        jobsExecutor.execute(() -> runCalculationJob(calculationJob, calculation));
+
+        final CalculationJobResponse calculationJobResponse = CalculationJobResponseBuilder.newInstance().build(calculationJob);
+        logger.debug(calculationJobResponse.toString());
+        return calculationJobResponse;
+    }
+
+    public CalculationJobResponse submitDominanceCones(UUID id, DominanceConesRepresentation representation) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("representation=").append(representation);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.DOMINANCE_CONES,
+                (project, calculationProgress) -> dominanceConesService.calculateDominanceCones(project, representation, calculationProgress));
+    }
+
+    public CalculationJobResponse submitUnions(UUID id, ClassUnionsParameters classUnionsParameters) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(classUnionsParameters);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.UNIONS,
+                (project, calculationProgress) -> unionsService.calculateClassUnionsInProject(project, classUnionsParameters, calculationProgress));
+    }
+
+    public CalculationJobResponse submitRules(UUID id, RulesParameters rulesParameters) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(rulesParameters);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.RULES,
+                (project, calculationProgress) -> rulesService.calculateRulesInProject(project, rulesParameters, calculationProgress));
+    }
+
+    public CalculationJobResponse submitRulesCoverage(UUID id) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.RULES_COVERAGE,
+                (project, calculationProgress) -> rulesService.calculateRulesCoverageInProject(project, calculationProgress));
+    }
+
+    public CalculationJobResponse submitClassification(UUID id, ClassificationParameters classificationParameters) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(classificationParameters);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.CLASSIFICATION,
+                (project, calculationProgress) -> classificationService.calculateClassificationInProject(project, classificationParameters, calculationProgress));
+    }
+
+    public CalculationJobResponse submitCrossValidation(UUID id, CrossValidationParameters crossValidationParameters) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(crossValidationParameters);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.CROSS_VALIDATION,
+                (project, calculationProgress) -> crossValidationService.calculateCrossValidationInProject(project, crossValidationParameters, calculationProgress));
+    }
+
+    public CalculationJobResponse submitCrossValidationGridSearch(UUID id, CrossValidationParametersImpl[] candidates, Integer numberOfFolds, Long seed) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("numberOfCandidates=").append(candidates.length).append(", ");
+            sb.append("numberOfFolds=").append(numberOfFolds).append(", ");
+            sb.append("seed=").append(seed);
+            logger.info(sb.toString());
+        }
+
+        return submitCalculationJob(id, CalculationJobType.CROSS_VALIDATION_GRID_SEARCH,
+                (project, calculationProgress) -> crossValidationService.calculateCrossValidationGridSearchInProject(project, candidates, numberOfFolds, seed, calculationProgress));
+    }
+
+    public CalculationJobResponse submitRepeatedCrossValidation(UUID id, CrossValidationParameters crossValidationParameters, Long[] seeds, Integer numberOfRepetitions, Long seed, Boolean isRepetitionResults) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(crossValidationParameters).append(", ");
+            sb.append("seeds=").append(Arrays.toString(seeds)).append(", ");
+            sb.append("numberOfRepetitions=").append(numberOfRepetitions).append(", ");
+            sb.append("seed=").append(seed).append(", ");
+            sb.append("repetitionResults=").append(isRepetitionResults);
+            logger.info(sb.toString());
+        }
+
+        //wrong seeds are reported when the job is submitted, not when it runs
+        CrossValidationService.createRepetitionSeeds(seeds, numberOfRepetitions, seed);
+
+        return submitCalculationJob(id, CalculationJobType.REPEATED_CROSS_VALIDATION,
+                (project, calculationProgress) -> crossValidationService.calculateRepeatedCrossValidationInProject(project, crossValidationParameters, seeds, numberOfRepetitions, seed, isRepetitionResults, calculationProgress));
+    }
+
+    public CalculationJobResponse[] getCalculationJobs(UUID id) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id);
+            logger.info(sb.toString());
+        }
+
+        ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+        removeExpiredJobs();
+
+        ArrayList<CalculationJobResponse> calculationJobResponses = new ArrayList<>();
+        for(CalculationJob calculationJob : calculationJobs.values()) {
+            if(calculationJob.getProjectId().equals(id)) {
+                calculationJobResponses.add(CalculationJobResponseBuilder.newInstance().build(calculationJob));
+            }
+        }
+
+        final CalculationJobResponse[] calculationJobResponsesArray = calculationJobResponses.toArray(new CalculationJobResponse[0]);
+        logger.debug("calculationJobResponses.size={}", calculationJobResponsesArray.length);
+        return calculationJobResponsesArray;
+    }
+
+    public CalculationJobResponse getCalculationJob(UUID id, UUID jobId) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("jobId=").append(jobId);
+            logger.info(sb.toString());
+        }
+
+        final CalculationJob calculationJob = getCalculationJobFromContainer(id, jobId);
+
+        final CalculationJobResponse calculationJobResponse = CalculationJobResponseBuilder.newInstance().build(calculationJob);
+        logger.debug(calculationJobResponse.toString());
+        return calculationJobResponse;
+    }
+
+    public CalculationJobResponse cancelCalculationJob(UUID id, UUID jobId) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("jobId=").append(jobId);
+            logger.info(sb.toString());
+        }
+
+        final CalculationJob calculationJob = getCalculationJobFromContainer(id, jobId);
+
+        //running calculation stops at its next checkpoint and leaves project unchanged
+        calculationJob.cancel();
+
+        final CalculationJobResponse calculationJobResponse = CalculationJobResponseBuilder.newInstance().build(calculationJob);
+        logger.debug(calculationJobResponse.toString());
+        return calculationJobResponse;
+    }
+
+    public SseEmitter streamCalculationJob(UUID id, UUID jobId) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("jobId=").append(jobId);
+            logger.info(sb.toString());
+        }
+
+        final CalculationJob calculationJob = getCalculationJobFromContainer(id, jobId);
+
+        final SseEmitter sseEmitter = new SseEmitter(0L);
+        final AtomicReference<ScheduledFuture<?>> scheduledEvents = new AtomicReference<>();
+        final AtomicReference<String> lastState = new AtomicReference<>();
+
+        final Runnable stopEvents = () -> {
+            final ScheduledFuture<?> scheduledFuture = scheduledEvents.get();
+            if(scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+        };
+        sseEmitter.onCompletion(stopEvents);
+        sseEmitter.onTimeout(stopEvents);
+
+        //event is sent only when status or progress has changed, stream is completed after job is finished
+        scheduledEvents.set(eventsScheduler.scheduleWithFixedDelay(() -> {
+            final CalculationJobResponse calculationJobResponse = CalculationJobResponseBuilder.newInstance().build(calculationJob);
+            final String state = calculationJobResponse.getStatus() + ":" + calculationJobResponse.getStage() + ":" + calculationJobResponse.getCompletedSteps();
+            try {
+                if(!state.equals(lastState.getAndSet(state))) {
+                    sseEmitter.send(SseEmitter.event().name("progress").data(calculationJobResponse));
+                }
+                if(calculationJob.isFinished()) {
+                    sseEmitter.complete();
+                    stopEvents.run();
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.info("Stream of job {} is closed: {}", jobId, e.getMessage());
+                stopEvents.run();
+            }
+        }, 0, eventsInterval, TimeUnit.MILLISECONDS));
+
+        return sseEmitter;
+    }
+}
@@ -0,0 +1,172 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//results of calculations shared by all projects, addressed by hash of data and parameters of calculation
+//cached results are read by many projects and threads at once, so they must not be changed after they are put,
+//members of ruleLearn objects calculated lazily (e.g. approximations of unions) are calculated before results are cached
+@Component
+public class CalculationsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationsCache.class);
+
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private final int maxEntries;
+
+    //access-ordered, least recently used results are evicted first, garbage collector may clear results under memory pressure
+    private final LinkedHashMap<String, SoftReference<Object>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    //calculations running at the moment, concurrent misses of the same key wait for them instead of calculating again
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> runningCalculations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong(0);
+
+    private final AtomicLong misses = new AtomicLong(0);
+
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    public CalculationsCache(@Value("${rulestudio.calculationsCache.maxEntries:32}") Integer maxEntries) {
+        if((maxEntries == null) || (maxEntries < 0)) {
+            maxEntries = DEFAULT_MAX_ENTRIES;
+        }
+
+        this.maxEntries = maxEntries;
+        logger.info("Calculations cache created with maxEntries={}.", maxEntries);
+    }
+
+    public static String createKey(String calculation, String dataHash, Object... parameters) {
+        final StringBuilder sb = new StringBuilder(calculation).append('@').append(dataHash);
+        for(Object parameter : parameters) {
+            sb.append('/').append(parameter);
+        }
+        return sb.toString();
+    }
+
+    public <T> T get(String key, Class<T> type) {
+        if(maxEntries == 0) {
+            return null;
+        }
+
+        Object value = null;
+        synchronized (entries) {
+            final SoftReference<Object> reference = entries.get(key);
+            if(reference != null) {
+                value = reference.get();
+                if(value == null) {
+                    entries.remove(key);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+
+        if(!type.isInstance(value)) {
+            misses.incrementAndGet();
+            logger.debug("Calculations cache miss: {}", key);
+            return null;
+        }
+
+        hits.incrementAndGet();
+        logger.info("Calculations cache hit: {}", key);
+        return type.cast(value);
+    }
+
+    public void put(String key, Object value) {
+        if((maxEntries == 0) || (value == null)) {
+            return;
+        }
+
+        synchronized (entries) {
+            entries.put(key, new SoftReference<>(value));
+
+            final Iterator<Map.Entry<String, SoftReference<Object>>> iterator = entries.entrySet().iterator();
+            while((entries.size() > maxEntries) && (iterator.hasNext())) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    //only the first of concurrent misses of the same key calculates the result, others wait for it
+    //waiting worker of fork-join pool is compensated by the pool, so calculation can still use parallelism
+    public <T> T computeIfAbsent(String key, Class<T> type, Supplier<T> calculation) {
+        T value = get(key, type);
+        if((value != null) || (maxEntries == 0)) {
+            return (value != null) ? value : calculation.get();
+        }
+
+        final CompletableFuture<Object> calculationFuture = new CompletableFuture<>();
+        final CompletableFuture<Object> runningCalculation = runningCalculations.putIfAbsent(key, calculationFuture);
+        if(runningCalculation != null) {
+            try {
+                final Object result = runningCalculation.join();
+                if(type.isInstance(result)) {
+                    logger.info("Calculations cache hit after waiting for running calculation: {}", key);
+                    return type.cast(result);
+                }
+            } catch (CompletionException | CancellationException e) {
+                //calculation of other request failed or was cancelled, result is calculated again for this one
+                logger.debug("Running calculation of {} failed, calculating again: {}", key, e.getMessage());
+            }
+            value = calculation.get();
+            put(key, value);
+            return value;
+        }
+
+        try {
+            value = calculation.get();
+            put(key, value);
+            calculationFuture.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            calculationFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningCalculations.remove(key, calculationFuture);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            evictions.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int getNumberOfEntries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getNumberOfHits() {
+        return hits.get();
+    }
+
+    public long getNumberOfMisses() {
+        return misses.get();
+    }
+
+    public long getNumberOfEvictions() {
+        return evictions.get();
+    }
+}
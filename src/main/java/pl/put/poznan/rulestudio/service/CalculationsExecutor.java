@@ -0,0 +1,90 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+//one bounded work-stealing pool for all parallel calculations, nested tasks are forked into the same pool
+@Component
+public class CalculationsExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationsExecutor.class);
+
+    private final ForkJoinPool pool;
+
+    public CalculationsExecutor(@Value("${rulestudio.calculations.parallelism:0}") Integer parallelism) {
+        if((parallelism == null) || (parallelism <= 0)) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+
+        this.pool = new ForkJoinPool(parallelism);
+        logger.info("Calculations executor created with parallelism={}.", parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private static <T> T callUnchecked(Callable<T> callable) {
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //results are returned in the order of given tasks, exception thrown by any task is rethrown to the caller
+    public <T> List<T> invokeAll(List<Callable<T>> callables) {
+        return invokeAll(callables, true);
+    }
+
+    public <T> List<T> invokeAll(List<Callable<T>> callables, boolean parallel) {
+        final List<T> results = new ArrayList<>(callables.size());
+
+        if((!parallel) || (callables.size() < 2) || (pool.getParallelism() < 2)) {
+            for(Callable<T> callable : callables) {
+                results.add(callUnchecked(callable));
+            }
+            return results;
+        }
+
+        final List<ForkJoinTask<T>> tasks = new ArrayList<>(callables.size());
+        for(Callable<T> callable : callables) {
+            tasks.add(ForkJoinTask.adapt(callable));
+        }
+
+        //called from a task of this pool (nested calculations), tasks are forked and joined by the calling worker,
+        //which runs them itself or helps with other tasks while they are stolen, so nesting doesn't need more threads
+        if(ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+
+        for(ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+}
@@ -30,6 +30,9 @@ public class ClassificationService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public static ProjectClassification getClassificationFromProject(Project project) {
         ProjectClassification projectClassification = project.getProjectClassification();
         if(projectClassification == null) {
@@ -75,6 +78,10 @@ public class ClassificationService {
     }
 
     private void calculateClassificationInProject(Project project, ClassificationParameters classificationParameters) {
+        calculateClassificationInProject(project, classificationParameters, new CalculationProgress());
+    }
+
+    void calculateClassificationInProject(Project project, ClassificationParameters classificationParameters, CalculationProgress calculationProgress) {
         final ProjectClassification previousProjectClassification = project.getProjectClassification();
         if((previousProjectClassification != null) && (!previousProjectClassification.isExternalData()) && (previousProjectClassification.isCurrentProjectData()) && (previousProjectClassification.isCurrentRuleSet()) && (previousProjectClassification.isCurrentLearningData()) && (previousProjectClassification.getClassificationParameters().equalsTo(classificationParameters))) {
             logger.info("Classification is already calculated with given configuration, skipping current calculation.");
@@ -86,12 +93,18 @@ public class ClassificationService {
         DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't reclassify.");
 
         final ProjectRules projectRules = getRulesToClassify(project);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationProgress, calculationsExecutor);
+        calculationProgress.startStage("classification", 1);
 
         final String[] classifiedDescriptiveAttributesPriority = createClassifiedDescriptiveAttributesPriority(project);
         final String[] learningDescriptiveAttributesPriority = createLearningDescriptiveAttributesPriority(project, projectRules);
 
-        final ProjectClassification projectClassification = new ProjectClassification(projectRules, informationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, informationTable);
+        final ProjectClassification projectClassification = new ProjectClassification(projectRules, informationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, project, calculationsExecutor);
+
+        calculationProgress.checkCancelled();
         project.setProjectClassification(projectClassification);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
     }
 
     public MainClassificationResponse getClassification(UUID id) {
@@ -162,7 +175,7 @@ public class ClassificationService {
         final String[] classifiedDescriptiveAttributesPriority = createClassifiedDescriptiveAttributesPriority(project);
         final String[] learningDescriptiveAttributesPriority = createLearningDescriptiveAttributesPriority(project, projectRules);
 
-        final ProjectClassification projectClassification = new ProjectClassification(projectRules, newInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, projectInformationTable, externalDataFile.getOriginalFilename());
+        final ProjectClassification projectClassification = new ProjectClassification(projectRules, newInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, project, externalDataFile.getOriginalFilename(), calculationsExecutor);
         project.setProjectClassification(projectClassification);
 
         final MainClassificationResponse mainClassificationResponse = MainClassificationResponseBuilder.newInstance().build(projectClassification);
@@ -222,6 +235,7 @@ public class ClassificationService {
 
         final InformationTable projectInformationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(projectInformationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         final ProjectRules projectRules = getRulesToClassify(project);
 
@@ -232,7 +246,7 @@ public class ClassificationService {
         final String[] classifiedDescriptiveAttributesPriority = createClassifiedDescriptiveAttributesPriority(project);
         final String[] learningDescriptiveAttributesPriority = createLearningDescriptiveAttributesPriority(project, projectRules);
 
-        final ProjectClassification projectClassification = new ProjectClassification(projectRules, newInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, projectInformationTable, externalDataFile.getOriginalFilename());
+        final ProjectClassification projectClassification = new ProjectClassification(projectRules, newInformationTable, classificationParameters, classifiedDescriptiveAttributesPriority, learningDescriptiveAttributesPriority, project, externalDataFile.getOriginalFilename(), calculationsExecutor);
         project.setProjectClassification(projectClassification);
 
         final MainClassificationResponse mainClassificationResponse = MainClassificationResponseBuilder.newInstance().build(projectClassification);
@@ -312,7 +326,7 @@ public class ClassificationService {
             logger.error(ex.getMessage());
             throw ex;
         }
-        final IntList indicesOfCoveringRules = projectClassification.getIndicesOfCoveringRules()[objectIndex];
+        final IntList indicesOfCoveringRules = projectClassification.getIndicesOfCoveringRules(objectIndex);
 
         ChosenClassifiedObjectAbstractResponse chosenClassifiedObjectAbstractResponse;
         if(isAttributes) {
@@ -2,34 +2,52 @@ package pl.put.poznan.rulestudio.service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.rulelearn.approximations.UnionsWithSingleLimitingDecision;
 import org.rulelearn.data.Decision;
 import org.rulelearn.data.Index2IdMapper;
 import org.rulelearn.data.InformationTable;
+import org.rulelearn.data.InformationTableWithDecisionDistributions;
 import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.rulelearn.rules.RuleSetWithComputableCharacteristics;
 import org.rulelearn.sampling.CrossValidator;
 import org.rulelearn.validation.OrdinalMisclassificationMatrix;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import it.unimi.dsi.fastutil.ints.IntList;
+import pl.put.poznan.rulestudio.enums.ClassifierType;
+import pl.put.poznan.rulestudio.enums.DefaultClassificationResultType;
 import pl.put.poznan.rulestudio.enums.MisclassificationMatrixType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.exception.CalculationCancelledException;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.model.CalculationProgress;
 import pl.put.poznan.rulestudio.model.CalculationsStopWatch;
 import pl.put.poznan.rulestudio.model.CrossValidation;
+import pl.put.poznan.rulestudio.model.CrossValidationGridSearch;
 import pl.put.poznan.rulestudio.model.CrossValidationSingleFold;
 import pl.put.poznan.rulestudio.model.DescriptiveAttributes;
 import pl.put.poznan.rulestudio.model.FoldClassification;
 import pl.put.poznan.rulestudio.model.Project;
 import pl.put.poznan.rulestudio.model.ProjectsContainer;
-import pl.put.poznan.rulestudio.model.RuLeStudioRule;
+import pl.put.poznan.rulestudio.model.RepeatedCrossValidation;
 import pl.put.poznan.rulestudio.model.RuLeStudioRuleSet;
 import pl.put.poznan.rulestudio.model.parameters.CrossValidationParameters;
 import pl.put.poznan.rulestudio.model.parameters.CrossValidationParametersImpl;
@@ -41,6 +59,8 @@ import pl.put.poznan.rulestudio.model.response.ChosenClassifiedObjectWithAttribu
 import pl.put.poznan.rulestudio.model.response.ChosenCrossValidationFoldResponse;
 import pl.put.poznan.rulestudio.model.response.ChosenCrossValidationFoldResponse.ChosenCrossValidationFoldResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.ChosenRuleResponse;
+import pl.put.poznan.rulestudio.model.response.CrossValidationGridSearchResponse;
+import pl.put.poznan.rulestudio.model.response.CrossValidationGridSearchResponse.CrossValidationGridSearchResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.DescriptiveAttributesResponse;
 import pl.put.poznan.rulestudio.model.response.MainCrossValidationResponse;
 import pl.put.poznan.rulestudio.model.response.MainCrossValidationResponse.MainCrossValidationResponseBuilder;
@@ -50,6 +70,8 @@ import pl.put.poznan.rulestudio.model.response.ObjectWithAttributesResponse;
 import pl.put.poznan.rulestudio.model.response.OrdinalMisclassificationMatrixAbstractResponse;
 import pl.put.poznan.rulestudio.model.response.OrdinalMisclassificationMatrixResponse.OrdinalMisclassificationMatrixResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.OrdinalMisclassificationMatrixWithoutDeviationResponse.OrdinalMisclassificationMatrixWithoutDeviationResponseBuilder;
+import pl.put.poznan.rulestudio.model.response.RepeatedCrossValidationResponse;
+import pl.put.poznan.rulestudio.model.response.RepeatedCrossValidationResponse.RepeatedCrossValidationResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.RuleMainPropertiesResponse;
 import pl.put.poznan.rulestudio.model.response.RuleMainPropertiesResponse.RuleMainPropertiesResponseBuilder;
 
@@ -61,6 +83,18 @@ public class CrossValidationService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsCache calculationsCache;
+
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
+    @Value("${rulestudio.crossValidation.parallelFolds:true}")
+    boolean parallelFolds;
+
+    @Value("${rulestudio.crossValidation.foldDetails:true}")
+    boolean foldDetails;
+
     public static CrossValidation getCrossValidationFromProject(Project project) {
         CrossValidation crossValidation = project.getCrossValidation();
         if(crossValidation == null) {
@@ -82,6 +116,17 @@ public class CrossValidationService {
         return crossValidation.getCrossValidationSingleFolds()[foldIndex];
     }
 
+    private static CrossValidationSingleFold getChosenFoldWithDetailsFromCrossValidation(CrossValidation crossValidation, Integer foldIndex) {
+        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        if(!chosenFold.isDetailsPresent()) {
+            EmptyResponseException ex = new EmptyResponseException("Details of cross-validation folds haven't been kept, only aggregated misclassification matrices are available.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        return chosenFold;
+    }
+
     private int[] extractIndices(InformationTable foldInformationTable, Index2IdMapper mainIndex2IdMapper) {
         int[] indices = new int[foldInformationTable.getNumberOfObjects()];
         Index2IdMapper foldIndex2IdMapper = foldInformationTable.getIndex2IdMapper();
@@ -93,33 +138,42 @@ public class CrossValidationService {
         return indices;
     }
 
-    private void rearrangeIndicesOfCoveredObject(RuLeStudioRuleSet ruLeStudioRuleSet, int[] indicesOfTrainingObjects) {
-        RuLeStudioRule[] ruLeStudioRules = ruLeStudioRuleSet.getRuLeStudioRules();
-        for(int ruleIndex = 0; ruleIndex < ruLeStudioRules.length; ruleIndex++) {
-            int[] indicesOfCoveredObjects = ruLeStudioRules[ruleIndex].getIndicesOfCoveredObjects();
-            for(int listIndex = 0; listIndex < indicesOfCoveredObjects.length; listIndex++) {
-                int oldIndex = indicesOfCoveredObjects[listIndex];
-                int newIndex = indicesOfTrainingObjects[oldIndex];
-                indicesOfCoveredObjects[listIndex] = newIndex;
+    //missing unions and rules of the fold are calculated and stored in given arrays, present ones are reused
+    private CrossValidationSingleFold calculateCrossValidationSingleFold(CrossValidator.CrossValidationFold<InformationTable> fold, int foldIndex, CrossValidationParameters crossValidationParameters, Decision[] orderOfDecisions, Index2IdMapper mainIndex2IdMapper, UnionsWithSingleLimitingDecision[] foldUnions, RuleSetWithCharacteristics[] foldRuleSets, CalculationProgress calculationProgress) {
+        final InformationTable trainingTable = fold.getTrainingTable();
+        final InformationTable validationTable = fold.getValidationTable();
+
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = foldRuleSets[foldIndex];
+        if(ruleSetWithCharacteristics == null) {
+            if(foldUnions[foldIndex] == null) {
+                foldUnions[foldIndex] = UnionsService.calculateUnionsWithSingleLimitingDecision(trainingTable, (CrossValidationParametersImpl) crossValidationParameters);
             }
+            ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(
+                    foldUnions[foldIndex],
+                    ((CrossValidationParametersImpl) crossValidationParameters).getTypeOfRules(),
+                    ((CrossValidationParametersImpl) crossValidationParameters).getFilterSelector(),
+                    calculationProgress,
+                    calculationsExecutor);
+            foldRuleSets[foldIndex] = ruleSetWithCharacteristics;
         }
-    }
+        calculationProgress.checkCancelled();
 
-    private void calculateCrossValidationInProject(Project project, CrossValidationParameters crossValidationParameters) {
-        final CrossValidation previousCrossValidation = project.getCrossValidation();
-        if((previousCrossValidation != null) && (previousCrossValidation.isCurrentData()) && (previousCrossValidation.getCrossValidationParameters().equalsTo(crossValidationParameters))) {
-            logger.info("Cross-validation is already calculated with given configuration, skipping current calculation.");
-            return;
+        final FoldClassification foldClassification = new FoldClassification(trainingTable, validationTable, (CrossValidationParametersImpl) crossValidationParameters, ruleSetWithCharacteristics, orderOfDecisions, calculationsExecutor);
+
+        if(!foldDetails) {
+            return new CrossValidationSingleFold(trainingTable.getNumberOfObjects(), validationTable.getNumberOfObjects(), ruleSetWithCharacteristics.size(), foldClassification.getOrdinalMisclassificationMatrix());
         }
 
-        CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
+        final int[] indicesOfTrainingObjects = extractIndices(trainingTable, mainIndex2IdMapper);
+        final int[] indicesOfValidationObjects = extractIndices(validationTable, mainIndex2IdMapper);
 
-        final InformationTable informationTable = project.getInformationTable();
-        DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate cross-validation.");
-        DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate cross-validation.");
+        //covered objects are stored as indices of the whole data
+        final RuLeStudioRuleSet ruLeStudioRuleSet = new RuLeStudioRuleSet(ruleSetWithCharacteristics, indicesOfTrainingObjects);
 
-        final Integer numberOfFolds = crossValidationParameters.getNumberOfFolds();
+        return new CrossValidationSingleFold(indicesOfTrainingObjects, indicesOfValidationObjects, ruLeStudioRuleSet, foldClassification);
+    }
 
+    private static void checkNumberOfFolds(Integer numberOfFolds, InformationTable informationTable) {
         if(numberOfFolds < 2) {
             WrongParameterException ex = new WrongParameterException(String.format("There must be at least 2 folds, %d is not enough. Couldn't calculate cross-validation.", numberOfFolds));
             logger.error(ex.getMessage());
@@ -130,49 +184,119 @@ public class CrossValidationService {
             logger.error(ex.getMessage());
             throw ex;
         }
+    }
 
-        CrossValidationSingleFold[] crossValidationSingleFolds = new CrossValidationSingleFold[numberOfFolds];
-        final Decision[] orderOfDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
-        OrdinalMisclassificationMatrix[] foldOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix[numberOfFolds];
-
-        final Index2IdMapper mainIndex2IdMapper = informationTable.getIndex2IdMapper();
-        int i;
-        int[] indicesOfTrainingObjects, indicesOfValidationObjects;
-
+    //folds are released by concurrent tasks, so they are copied from the list created by ruleLearn to an array safe for concurrent writes
+    private static AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>> splitIntoFolds(InformationTable informationTable, Integer numberOfFolds, Long seed) {
         CrossValidator crossValidator = new CrossValidator(new Random());
-        crossValidator.setSeed(crossValidationParameters.getSeed());
-        List<CrossValidator.CrossValidationFold<InformationTable>> folds = crossValidator.splitStratifiedIntoKFolds(DataService.createInformationTableWithDecisionDistributions(informationTable), numberOfFolds);
-        for(i = 0; i < folds.size(); i++) {
-            logger.info("Creating fold: {}/{}", i+1, folds.size());
+        crossValidator.setSeed(seed);
+        final List<CrossValidator.CrossValidationFold<InformationTable>> foldsList = crossValidator.splitStratifiedIntoKFolds(DataService.createInformationTableWithDecisionDistributions(informationTable), numberOfFolds);
 
-            final InformationTable trainingTable = folds.get(i).getTrainingTable();
-            final InformationTable validationTable = folds.get(i).getValidationTable();
+        final AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>> folds = new AtomicReferenceArray<>(foldsList.size());
+        for(int i = 0; i < foldsList.size(); i++) {
+            folds.set(i, foldsList.get(i));
+        }
+        return folds;
+    }
 
-            final UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = UnionsService.calculateUnionsWithSingleLimitingDecision(trainingTable, (CrossValidationParametersImpl) crossValidationParameters);
-            final RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(
-            		unionsWithSingleLimitingDecision,
-            		((CrossValidationParametersImpl) crossValidationParameters).getTypeOfRules(),
-            		((CrossValidationParametersImpl) crossValidationParameters).getFilterSelector());
+    private static String createFoldUnionsKey(String dataHash, Long seed, Integer numberOfFolds, CrossValidationParametersImpl crossValidationParameters) {
+        return CalculationsCache.createKey("foldUnions", dataHash, seed, numberOfFolds,
+                crossValidationParameters.getTypeOfUnions(), crossValidationParameters.getConsistencyThreshold());
+    }
 
-            final FoldClassification foldClassification = new FoldClassification(trainingTable, validationTable, (CrossValidationParametersImpl) crossValidationParameters, ruleSetWithCharacteristics, orderOfDecisions);
+    private static String createFoldRulesKey(String dataHash, Long seed, Integer numberOfFolds, CrossValidationParametersImpl crossValidationParameters) {
+        return CalculationsCache.createKey("foldRules", dataHash, seed, numberOfFolds,
+                crossValidationParameters.getTypeOfUnions(), crossValidationParameters.getConsistencyThreshold(),
+                crossValidationParameters.getTypeOfRules(), crossValidationParameters.getFilterSelector());
+    }
 
-            foldOrdinalMisclassificationMatrix[i] = foldClassification.getOrdinalMisclassificationMatrix();
+    private CrossValidation calculateCrossValidation(InformationTable informationTable, CrossValidationParameters crossValidationParameters, String dataHash, CalculationProgress calculationProgress) {
+        final Integer numberOfFolds = crossValidationParameters.getNumberOfFolds();
+        final Decision[] orderOfDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+        final Index2IdMapper mainIndex2IdMapper = informationTable.getIndex2IdMapper();
+
+        final AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>> folds = splitIntoFolds(informationTable, numberOfFolds, crossValidationParameters.getSeed());
+        calculationProgress.completeStep();
+
+        //unions and rules of folds don't depend on classification parameters, so they are reused when only classifier changes
+        final CrossValidationParametersImpl crossValidationParametersImpl = (CrossValidationParametersImpl) crossValidationParameters;
+        final String foldUnionsKey = createFoldUnionsKey(dataHash, crossValidationParameters.getSeed(), numberOfFolds, crossValidationParametersImpl);
+        final String foldRulesKey = createFoldRulesKey(dataHash, crossValidationParameters.getSeed(), numberOfFolds, crossValidationParametersImpl);
+
+        final RuleSetWithCharacteristics[] cachedFoldRuleSets = calculationsCache.get(foldRulesKey, RuleSetWithCharacteristics[].class);
+        final UnionsWithSingleLimitingDecision[] cachedFoldUnions = (cachedFoldRuleSets == null) ? calculationsCache.get(foldUnionsKey, UnionsWithSingleLimitingDecision[].class) : null;
+        final RuleSetWithCharacteristics[] foldRuleSets = (cachedFoldRuleSets != null) ? cachedFoldRuleSets.clone() : new RuleSetWithCharacteristics[numberOfFolds];
+        final UnionsWithSingleLimitingDecision[] foldUnions = (cachedFoldUnions != null) ? cachedFoldUnions.clone() : new UnionsWithSingleLimitingDecision[numberOfFolds];
+
+        List<Callable<CrossValidationSingleFold>> foldTasks = new ArrayList<>(folds.length());
+        for(int i = 0; i < folds.length(); i++) {
+            final int foldIndex = i;
+            foldTasks.add(() -> {
+                calculationProgress.checkCancelled();
+                logger.info("Creating fold: {}/{}", foldIndex+1, folds.length());
+                final CrossValidationSingleFold crossValidationSingleFold = calculateCrossValidationSingleFold(folds.get(foldIndex), foldIndex, crossValidationParameters, orderOfDecisions, mainIndex2IdMapper, foldUnions, foldRuleSets, calculationProgress.createNested());
+
+                //let garbage collector clean memory occupied by i-th fold
+                folds.set(foldIndex, null);
+                calculationProgress.completeStep();
+                return crossValidationSingleFold;
+            });
+        }
 
-            indicesOfTrainingObjects = extractIndices(trainingTable, mainIndex2IdMapper);
-            indicesOfValidationObjects = extractIndices(validationTable, mainIndex2IdMapper);
+        calculationProgress.startStage("folds", numberOfFolds);
+        final List<CrossValidationSingleFold> foldResults = calculationsExecutor.invokeAll(foldTasks, parallelFolds);
 
-            final RuLeStudioRuleSet ruLeStudioRuleSet = new RuLeStudioRuleSet(ruleSetWithCharacteristics);
-            rearrangeIndicesOfCoveredObject(ruLeStudioRuleSet, indicesOfTrainingObjects);
+        if(cachedFoldRuleSets == null) {
+            if(cachedFoldUnions == null) {
+                calculationsCache.put(foldUnionsKey, foldUnions);
+            }
+            calculationsCache.put(foldRulesKey, foldRuleSets);
+        }
 
-            crossValidationSingleFolds[i] = new CrossValidationSingleFold(indicesOfTrainingObjects, indicesOfValidationObjects, ruLeStudioRuleSet, foldClassification);
+        calculationProgress.startStage("misclassification matrices", 1);
 
-            //let garbage collector clean memory occupied by i-th fold
-            folds.set(i, null);
+        CrossValidationSingleFold[] crossValidationSingleFolds = foldResults.toArray(new CrossValidationSingleFold[0]);
+        OrdinalMisclassificationMatrix[] foldOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix[numberOfFolds];
+        for(int i = 0; i < crossValidationSingleFolds.length; i++) {
+            foldOrdinalMisclassificationMatrix[i] = crossValidationSingleFolds[i].getOrdinalMisclassificationMatrix();
         }
 
         final OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, foldOrdinalMisclassificationMatrix);
         final OrdinalMisclassificationMatrix sumOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(true, orderOfDecisions, foldOrdinalMisclassificationMatrix);
 
+        return new CrossValidation(informationTable, crossValidationSingleFolds, orderOfDecisions, meanOrdinalMisclassificationMatrix, sumOrdinalMisclassificationMatrix, crossValidationParameters, dataHash, null);
+    }
+
+    private void calculateCrossValidationInProject(Project project, CrossValidationParameters crossValidationParameters) {
+        calculateCrossValidationInProject(project, crossValidationParameters, new CalculationProgress());
+    }
+
+    void calculateCrossValidationInProject(Project project, CrossValidationParameters crossValidationParameters, CalculationProgress calculationProgress) {
+        final CrossValidation previousCrossValidation = project.getCrossValidation();
+        if((previousCrossValidation != null) && (previousCrossValidation.isCurrentData()) && (previousCrossValidation.getCrossValidationParameters().equalsTo(crossValidationParameters))) {
+            logger.info("Cross-validation is already calculated with given configuration, skipping current calculation.");
+            return;
+        }
+
+        calculationProgress.startStage("folds splitting", 1);
+        CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
+
+        final InformationTable informationTable = project.getInformationTable();
+        DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate cross-validation.");
+        DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate cross-validation.");
+
+        checkNumberOfFolds(crossValidationParameters.getNumberOfFolds(), informationTable);
+
+        //results calculated for the same data and parameters in any project are reused
+        final String crossValidationKey = CalculationsCache.createKey("crossValidation", project.getDataHash(), crossValidationParameters);
+        CrossValidation calculatedCrossValidation = calculationsCache.get(crossValidationKey, CrossValidation.class);
+        if(calculatedCrossValidation == null) {
+            calculatedCrossValidation = calculateCrossValidation(informationTable, crossValidationParameters, project.getDataHash(), calculationProgress);
+            calculationsCache.put(crossValidationKey, calculatedCrossValidation);
+        } else {
+            calculationProgress.completeStep();
+        }
+
         ArrayList<String> descriptiveAttributesPriorityArrayList = new ArrayList<>();
         if (previousCrossValidation != null) {
             descriptiveAttributesPriorityArrayList.add(previousCrossValidation.getDescriptiveAttributes().getCurrentAttributeName());
@@ -180,11 +304,425 @@ public class CrossValidationService {
         descriptiveAttributesPriorityArrayList.add(project.getDescriptiveAttributes().getCurrentAttributeName());
         final String[] descriptiveAttributesPriority = descriptiveAttributesPriorityArrayList.toArray(new String[0]);
 
-        CrossValidation crossValidation = new CrossValidation(informationTable, crossValidationSingleFolds, orderOfDecisions, meanOrdinalMisclassificationMatrix, sumOrdinalMisclassificationMatrix, crossValidationParameters, informationTable.getHash(), descriptiveAttributesPriority);
+        CrossValidation crossValidation = new CrossValidation(
+                informationTable,
+                calculatedCrossValidation.getCrossValidationSingleFolds(),
+                calculatedCrossValidation.getOrderOfDecisions(),
+                calculatedCrossValidation.getMeanOrdinalMisclassificationMatrix(),
+                calculatedCrossValidation.getSumOrdinalMisclassificationMatrix(),
+                crossValidationParameters,
+                project.getDataHash(),
+                descriptiveAttributesPriority);
         calculationsStopWatch.stop();
         crossValidation.setCalculationsTime(calculationsStopWatch.getReadableTime());
 
+        calculationProgress.checkCancelled();
         project.setCrossValidation(crossValidation);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
+    }
+
+    private static <T> void checkGridSearchValues(T[] values, String name) {
+        if((values == null) || (values.length == 0) || (Arrays.asList(values).contains(null))) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given list of %s is empty or contains missing values. Couldn't calculate cross-validation grid search.", name));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+    }
+
+    //cartesian product of given values, candidates sharing parameters of unions and rules are adjacent
+    public static CrossValidationParametersImpl[] createGridSearchCandidates(UnionType[] typesOfUnions, Double[] consistencyThresholds, RuleType[] typesOfRules, String[] filterSelectors, ClassifierType[] classifierTypes, DefaultClassificationResultType[] defaultClassificationResultTypes, Integer numberOfFolds, Long seed) {
+        checkGridSearchValues(typesOfUnions, "types of unions");
+        checkGridSearchValues(consistencyThresholds, "consistency thresholds");
+        checkGridSearchValues(typesOfRules, "types of rules");
+        checkGridSearchValues(filterSelectors, "filter selectors");
+        checkGridSearchValues(classifierTypes, "classifier types");
+        checkGridSearchValues(defaultClassificationResultTypes, "default classification result types");
+
+        final List<CrossValidationParametersImpl> candidates = new ArrayList<>();
+        for(UnionType typeOfUnions : typesOfUnions) {
+            for(Double consistencyThreshold : consistencyThresholds) {
+                for(RuleType typeOfRules : typesOfRules) {
+                    for(String filterSelector : filterSelectors) {
+                        for(ClassifierType classifierType : classifierTypes) {
+                            for(DefaultClassificationResultType defaultClassificationResultType : defaultClassificationResultTypes) {
+                                candidates.add(new CrossValidationParametersImpl(typeOfUnions, consistencyThreshold, typeOfRules, filterSelector, classifierType, defaultClassificationResultType, numberOfFolds, seed));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return candidates.toArray(new CrossValidationParametersImpl[0]);
+    }
+
+    private static Map<String, List<Integer>> groupCandidates(CrossValidationParametersImpl[] candidates, List<Integer> candidateIndices, boolean byRules) {
+        final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for(Integer candidateIndex : candidateIndices) {
+            final CrossValidationParametersImpl candidate = candidates[candidateIndex];
+            final String groupKey = byRules
+                    ? candidate.getTypeOfRules() + "/" + candidate.getFilterSelector()
+                    : candidate.getTypeOfUnions() + "/" + candidate.getConsistencyThreshold();
+            groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(candidateIndex);
+        }
+        return groups;
+    }
+
+    private CrossValidationGridSearch calculateCrossValidationGridSearch(InformationTable informationTable, CrossValidationParametersImpl[] candidates, Integer numberOfFolds, Long seed, String dataHash, CalculationProgress calculationProgress) {
+        final Decision[] orderOfDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+
+        //all candidates are validated on the same folds
+        final AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>> folds = splitIntoFolds(informationTable, numberOfFolds, seed);
+
+        //decision distributions of training tables don't depend on candidates, so they are calculated once and shared by concurrent tasks
+        final List<Callable<InformationTableWithDecisionDistributions>> trainingTableTasks = new ArrayList<>(numberOfFolds);
+        for(int i = 0; i < folds.length(); i++) {
+            final CrossValidator.CrossValidationFold<InformationTable> fold = folds.get(i);
+            trainingTableTasks.add(() -> {
+                final InformationTableWithDecisionDistributions trainingTable = DataService.createInformationTableWithDecisionDistributions(fold.getTrainingTable());
+                trainingTable.getDecisionDistribution();
+                trainingTable.getOrderedUniqueFullyDeterminedDecisions();
+                return trainingTable;
+            });
+        }
+        final List<InformationTableWithDecisionDistributions> trainingTables = calculationsExecutor.invokeAll(trainingTableTasks, parallelFolds);
+        calculationProgress.completeStep();
+
+        final List<Integer> allCandidates = new ArrayList<>(candidates.length);
+        for(int c = 0; c < candidates.length; c++) {
+            allCandidates.add(c);
+        }
+        final Collection<List<Integer>> unionsGroups = groupCandidates(candidates, allCandidates, false).values();
+
+        //only misclassification matrices are kept, rules of a fold are released as soon as its candidates are classified
+        final OrdinalMisclassificationMatrix[][] foldOrdinalMisclassificationMatrices = new OrdinalMisclassificationMatrix[candidates.length][numberOfFolds];
+        final int[][] foldNumbersOfRules = new int[candidates.length][numberOfFolds];
+        final Map<Integer, String> errorMessages = new ConcurrentHashMap<>();
+
+        final List<Callable<Void>> gridTasks = new ArrayList<>(numberOfFolds * unionsGroups.size());
+        for(int i = 0; i < numberOfFolds; i++) {
+            final int foldIndex = i;
+            for(List<Integer> unionsGroup : unionsGroups) {
+                gridTasks.add(() -> {
+                    calculationProgress.checkCancelled();
+                    final InformationTableWithDecisionDistributions trainingTable = trainingTables.get(foldIndex);
+                    final InformationTable validationTable = folds.get(foldIndex).getValidationTable();
+
+                    final UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision;
+                    try {
+                        unionsWithSingleLimitingDecision = UnionsService.calculateUnionsWithSingleLimitingDecision(trainingTable, candidates[unionsGroup.get(0)]);
+                    } catch (CalculationCancelledException ex) {
+                        throw ex;
+                    } catch (RuntimeException ex) {
+                        logger.error("Calculating unions of candidates {} in fold {} of grid search failed: {}", unionsGroup, foldIndex, ex.getMessage(), ex);
+                        for(Integer candidateIndex : unionsGroup) {
+                            errorMessages.putIfAbsent(candidateIndex, ex.getMessage());
+                        }
+                        calculationProgress.completeStep();
+                        return null;
+                    }
+
+                    //passes of induction are shared by all candidates using the same unions in this fold
+                    final Map<String, RuleSetWithComputableCharacteristics> unfilteredRulesOfPasses = new ConcurrentHashMap<>();
+                    final List<Callable<Void>> rulesTasks = new ArrayList<>();
+                    for(List<Integer> rulesGroup : groupCandidates(candidates, unionsGroup, true).values()) {
+                        rulesTasks.add(() -> {
+                            final CrossValidationParametersImpl rulesParameters = candidates[rulesGroup.get(0)];
+                            try {
+                                final RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(
+                                        unionsWithSingleLimitingDecision,
+                                        rulesParameters.getTypeOfRules(),
+                                        rulesParameters.getFilterSelector(),
+                                        calculationProgress.createNested(),
+                                        unfilteredRulesOfPasses,
+                                        calculationsExecutor);
+
+                                for(Integer candidateIndex : rulesGroup) {
+                                    calculationProgress.checkCancelled();
+                                    final FoldClassification foldClassification = new FoldClassification(trainingTable, validationTable, candidates[candidateIndex], ruleSetWithCharacteristics, orderOfDecisions, calculationsExecutor);
+                                    foldOrdinalMisclassificationMatrices[candidateIndex][foldIndex] = foldClassification.getOrdinalMisclassificationMatrix();
+                                    foldNumbersOfRules[candidateIndex][foldIndex] = ruleSetWithCharacteristics.size();
+                                }
+                            } catch (CalculationCancelledException ex) {
+                                throw ex;
+                            } catch (RuntimeException ex) {
+                                logger.error("Calculating rules of candidates {} in fold {} of grid search failed: {}", rulesGroup, foldIndex, ex.getMessage(), ex);
+                                for(Integer candidateIndex : rulesGroup) {
+                                    errorMessages.putIfAbsent(candidateIndex, ex.getMessage());
+                                }
+                            }
+                            return null;
+                        });
+                    }
+                    //nested tasks are forked in the same fork-join pool, this grid task runs or steals them while joining,
+                    //so waiting for them doesn't block a worker of the pool
+                    calculationsExecutor.invokeAll(rulesTasks, parallelFolds);
+
+                    calculationProgress.completeStep();
+                    return null;
+                });
+            }
+        }
+
+        calculationProgress.startStage("grid search", gridTasks.size());
+        calculationsExecutor.invokeAll(gridTasks, parallelFolds);
+
+        calculationProgress.startStage("ranking", 1);
+        final CrossValidationGridSearch.CandidateResult[] candidateResults = new CrossValidationGridSearch.CandidateResult[candidates.length];
+        for(int c = 0; c < candidates.length; c++) {
+            if(errorMessages.containsKey(c)) {
+                candidateResults[c] = new CrossValidationGridSearch.CandidateResult(candidates[c], errorMessages.get(c));
+                continue;
+            }
+
+            final OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, foldOrdinalMisclassificationMatrices[c]);
+            candidateResults[c] = new CrossValidationGridSearch.CandidateResult(candidates[c], meanOrdinalMisclassificationMatrix, Arrays.stream(foldNumbersOfRules[c]).average().orElse(0.0));
+        }
+
+        return new CrossValidationGridSearch(candidateResults, numberOfFolds, seed, dataHash);
+    }
+
+    void calculateCrossValidationGridSearchInProject(Project project, CrossValidationParametersImpl[] candidates, Integer numberOfFolds, Long seed, CalculationProgress calculationProgress) {
+        calculationProgress.startStage("folds splitting", 1);
+        CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
+
+        final InformationTable informationTable = project.getInformationTable();
+        DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate cross-validation grid search.");
+        DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate cross-validation grid search.");
+
+        checkNumberOfFolds(numberOfFolds, informationTable);
+
+        final CrossValidationGridSearch crossValidationGridSearch = calculateCrossValidationGridSearch(informationTable, candidates, numberOfFolds, seed, project.getDataHash(), calculationProgress);
+        calculationsStopWatch.stop();
+        crossValidationGridSearch.setCalculationsTime(calculationsStopWatch.getReadableTime());
+
+        calculationProgress.checkCancelled();
+        project.setCrossValidationGridSearch(crossValidationGridSearch);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
+    }
+
+    public CrossValidationGridSearchResponse getCrossValidationGridSearch(UUID id) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id);
+            logger.info(sb.toString());
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        final CrossValidationGridSearch crossValidationGridSearch = project.getCrossValidationGridSearch();
+        if(crossValidationGridSearch == null) {
+            EmptyResponseException ex = new EmptyResponseException("Cross-validation grid search hasn't been calculated.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final CrossValidationGridSearchResponse crossValidationGridSearchResponse = CrossValidationGridSearchResponseBuilder.newInstance().build(crossValidationGridSearch);
+        logger.debug(crossValidationGridSearchResponse.toString());
+        return crossValidationGridSearchResponse;
+    }
+
+    public CrossValidationGridSearchResponse putCrossValidationGridSearch(UUID id, CrossValidationParametersImpl[] candidates, Integer numberOfFolds, Long seed) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("numberOfCandidates=").append(candidates.length).append(", ");
+            sb.append("numberOfFolds=").append(numberOfFolds).append(", ");
+            sb.append("seed=").append(seed);
+            logger.info(sb.toString());
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        calculateCrossValidationGridSearchInProject(project, candidates, numberOfFolds, seed, new CalculationProgress());
+
+        final CrossValidationGridSearchResponse crossValidationGridSearchResponse = CrossValidationGridSearchResponseBuilder.newInstance().build(project.getCrossValidationGridSearch());
+        logger.debug(crossValidationGridSearchResponse.toString());
+        return crossValidationGridSearchResponse;
+    }
+
+    //explicitly given seeds take precedence, otherwise consecutive seeds starting from the given one are used
+    public static Long[] createRepetitionSeeds(Long[] seeds, Integer numberOfRepetitions, Long seed) {
+        if((seeds != null) && (seeds.length > 0)) {
+            if(Arrays.asList(seeds).contains(null)) {
+                WrongParameterException ex = new WrongParameterException("Given list of seeds contains missing values. Couldn't calculate repeated cross-validation.");
+                logger.error(ex.getMessage());
+                throw ex;
+            }
+            return seeds;
+        }
+
+        if((numberOfRepetitions == null) || (numberOfRepetitions < 1)) {
+            WrongParameterException ex = new WrongParameterException(String.format("Either list of seeds or positive number of repetitions has to be given, %d repetitions is not enough. Couldn't calculate repeated cross-validation.", numberOfRepetitions));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final Long[] repetitionSeeds = new Long[numberOfRepetitions];
+        for(int r = 0; r < numberOfRepetitions; r++) {
+            repetitionSeeds[r] = seed + r;
+        }
+        return repetitionSeeds;
+    }
+
+    private RepeatedCrossValidation calculateRepeatedCrossValidation(InformationTable informationTable, CrossValidationParametersImpl crossValidationParameters, Long[] seeds, Boolean isRepetitionResults, String dataHash, CalculationProgress calculationProgress) {
+        final Integer numberOfFolds = crossValidationParameters.getNumberOfFolds();
+        final Decision[] orderOfDecisions = informationTable.getOrderedUniqueFullyDeterminedDecisions();
+
+        final List<Callable<AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>>>> splitTasks = new ArrayList<>(seeds.length);
+        for(Long seed : seeds) {
+            splitTasks.add(() -> splitIntoFolds(informationTable, numberOfFolds, seed));
+        }
+        final List<AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>>> foldsOfRepetitions = calculationsExecutor.invokeAll(splitTasks, parallelFolds);
+
+        //rules of folds calculated earlier (by cross-validation or repetition) with the same seed are reused,
+        //rules of a new seed are cached as soon as all its folds are classified, then this calculation drops them
+        final String[] foldRulesKeys = new String[seeds.length];
+        final boolean[] isCachedSeed = new boolean[seeds.length];
+        final AtomicReferenceArray<RuleSetWithCharacteristics[]> foldRuleSetsOfSeeds = new AtomicReferenceArray<>(seeds.length);
+        final AtomicIntegerArray remainingFoldsOfSeeds = new AtomicIntegerArray(seeds.length);
+        for(int r = 0; r < seeds.length; r++) {
+            foldRulesKeys[r] = createFoldRulesKey(dataHash, seeds[r], numberOfFolds, crossValidationParameters);
+            final RuleSetWithCharacteristics[] cachedFoldRuleSets = calculationsCache.get(foldRulesKeys[r], RuleSetWithCharacteristics[].class);
+            isCachedSeed[r] = (cachedFoldRuleSets != null);
+            foldRuleSetsOfSeeds.set(r, isCachedSeed[r] ? cachedFoldRuleSets : new RuleSetWithCharacteristics[numberOfFolds]);
+            remainingFoldsOfSeeds.set(r, numberOfFolds);
+        }
+        calculationProgress.completeStep();
+
+        //all (repetition, fold) pairs are independent tasks, so idle workers steal folds of other repetitions
+        final OrdinalMisclassificationMatrix[][] foldOrdinalMisclassificationMatrices = new OrdinalMisclassificationMatrix[seeds.length][numberOfFolds];
+        final List<Callable<Void>> foldTasks = new ArrayList<>(seeds.length * numberOfFolds);
+        for(int r = 0; r < seeds.length; r++) {
+            final int repetitionIndex = r;
+            for(int f = 0; f < numberOfFolds; f++) {
+                final int foldIndex = f;
+                foldTasks.add(() -> {
+                    calculationProgress.checkCancelled();
+                    final AtomicReferenceArray<CrossValidator.CrossValidationFold<InformationTable>> folds = foldsOfRepetitions.get(repetitionIndex);
+                    final InformationTable trainingTable = folds.get(foldIndex).getTrainingTable();
+                    final InformationTable validationTable = folds.get(foldIndex).getValidationTable();
+
+                    //seed isn't complete before this fold is, so its rules are still kept
+                    final RuleSetWithCharacteristics[] foldRuleSets = foldRuleSetsOfSeeds.get(repetitionIndex);
+                    RuleSetWithCharacteristics ruleSetWithCharacteristics = foldRuleSets[foldIndex];
+                    if(ruleSetWithCharacteristics == null) {
+                        final UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = UnionsService.calculateUnionsWithSingleLimitingDecision(trainingTable, crossValidationParameters);
+                        ruleSetWithCharacteristics = RulesService.calculateRuleSetWithCharacteristics(
+                                unionsWithSingleLimitingDecision,
+                                crossValidationParameters.getTypeOfRules(),
+                                crossValidationParameters.getFilterSelector(),
+                                calculationProgress.createNested(),
+                                calculationsExecutor);
+                        foldRuleSets[foldIndex] = ruleSetWithCharacteristics;
+                    }
+                    calculationProgress.checkCancelled();
+
+                    final FoldClassification foldClassification = new FoldClassification(trainingTable, validationTable, crossValidationParameters, ruleSetWithCharacteristics, orderOfDecisions, calculationsExecutor);
+                    foldOrdinalMisclassificationMatrices[repetitionIndex][foldIndex] = foldClassification.getOrdinalMisclassificationMatrix();
+
+                    //let garbage collector clean memory occupied by this fold
+                    folds.set(foldIndex, null);
+                    if(remainingFoldsOfSeeds.decrementAndGet(repetitionIndex) == 0) {
+                        if(!isCachedSeed[repetitionIndex]) {
+                            calculationsCache.put(foldRulesKeys[repetitionIndex], foldRuleSets);
+                        }
+                        //rules of the seed are kept only by the cache, which releases them when memory is short
+                        foldRuleSetsOfSeeds.set(repetitionIndex, null);
+                    }
+                    calculationProgress.completeStep();
+                    return null;
+                });
+            }
+        }
+
+        calculationProgress.startStage("folds", foldTasks.size());
+        calculationsExecutor.invokeAll(foldTasks, parallelFolds);
+
+        calculationProgress.startStage("misclassification matrices", 1);
+        final OrdinalMisclassificationMatrix[] repetitionOrdinalMisclassificationMatrices = new OrdinalMisclassificationMatrix[seeds.length];
+        final OrdinalMisclassificationMatrix[] allFoldOrdinalMisclassificationMatrices = new OrdinalMisclassificationMatrix[seeds.length * numberOfFolds];
+        for(int r = 0; r < seeds.length; r++) {
+            repetitionOrdinalMisclassificationMatrices[r] = new OrdinalMisclassificationMatrix(orderOfDecisions, foldOrdinalMisclassificationMatrices[r]);
+            System.arraycopy(foldOrdinalMisclassificationMatrices[r], 0, allFoldOrdinalMisclassificationMatrices, r * numberOfFolds, numberOfFolds);
+        }
+        final OrdinalMisclassificationMatrix meanOrdinalMisclassificationMatrix = new OrdinalMisclassificationMatrix(orderOfDecisions, allFoldOrdinalMisclassificationMatrices);
+
+        return new RepeatedCrossValidation(crossValidationParameters, seeds, orderOfDecisions, meanOrdinalMisclassificationMatrix, repetitionOrdinalMisclassificationMatrices, isRepetitionResults, dataHash);
+    }
+
+    void calculateRepeatedCrossValidationInProject(Project project, CrossValidationParameters crossValidationParameters, Long[] seeds, Integer numberOfRepetitions, Long seed, Boolean isRepetitionResults, CalculationProgress calculationProgress) {
+        final Long[] repetitionSeeds = createRepetitionSeeds(seeds, numberOfRepetitions, seed);
+
+        final RepeatedCrossValidation previousRepeatedCrossValidation = project.getRepeatedCrossValidation();
+        if((previousRepeatedCrossValidation != null) && (previousRepeatedCrossValidation.isCurrentData())
+                && (previousRepeatedCrossValidation.getCrossValidationParameters().equalsTo(crossValidationParameters))
+                && (Arrays.equals(previousRepeatedCrossValidation.getSeeds(), repetitionSeeds))
+                && ((previousRepeatedCrossValidation.getRepetitionResults() != null) || (!isRepetitionResults))) {
+            logger.info("Repeated cross-validation is already calculated with given configuration, skipping current calculation.");
+            return;
+        }
+
+        calculationProgress.startStage("folds splitting", 1);
+        CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
+
+        final InformationTable informationTable = project.getInformationTable();
+        DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate repeated cross-validation.");
+        DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate repeated cross-validation.");
+
+        checkNumberOfFolds(crossValidationParameters.getNumberOfFolds(), informationTable);
+
+        final RepeatedCrossValidation repeatedCrossValidation = calculateRepeatedCrossValidation(informationTable, (CrossValidationParametersImpl) crossValidationParameters, repetitionSeeds, isRepetitionResults, project.getDataHash(), calculationProgress);
+        calculationsStopWatch.stop();
+        repeatedCrossValidation.setCalculationsTime(calculationsStopWatch.getReadableTime());
+
+        calculationProgress.checkCancelled();
+        project.setRepeatedCrossValidation(repeatedCrossValidation);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
+    }
+
+    public RepeatedCrossValidationResponse getRepeatedCrossValidation(UUID id) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id);
+            logger.info(sb.toString());
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        final RepeatedCrossValidation repeatedCrossValidation = project.getRepeatedCrossValidation();
+        if(repeatedCrossValidation == null) {
+            EmptyResponseException ex = new EmptyResponseException("Repeated cross-validation hasn't been calculated.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final RepeatedCrossValidationResponse repeatedCrossValidationResponse = RepeatedCrossValidationResponseBuilder.newInstance().build(repeatedCrossValidation);
+        logger.debug(repeatedCrossValidationResponse.toString());
+        return repeatedCrossValidationResponse;
+    }
+
+    public RepeatedCrossValidationResponse putRepeatedCrossValidation(UUID id, CrossValidationParameters crossValidationParameters, Long[] seeds, Integer numberOfRepetitions, Long seed, Boolean isRepetitionResults) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append(crossValidationParameters).append(", ");
+            sb.append("seeds=").append(Arrays.toString(seeds)).append(", ");
+            sb.append("numberOfRepetitions=").append(numberOfRepetitions).append(", ");
+            sb.append("seed=").append(seed).append(", ");
+            sb.append("repetitionResults=").append(isRepetitionResults);
+            logger.info(sb.toString());
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        calculateRepeatedCrossValidationInProject(project, crossValidationParameters, seeds, numberOfRepetitions, seed, isRepetitionResults, new CalculationProgress());
+
+        final RepeatedCrossValidationResponse repeatedCrossValidationResponse = RepeatedCrossValidationResponseBuilder.newInstance().build(project.getRepeatedCrossValidation());
+        logger.debug(repeatedCrossValidationResponse.toString());
+        return repeatedCrossValidationResponse;
     }
 
     public MainCrossValidationResponse getCrossValidation(UUID id) {
@@ -237,6 +775,7 @@ public class CrossValidationService {
 
         InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         calculateCrossValidationInProject(project, crossValidationParameters);
 
@@ -311,7 +850,7 @@ public class CrossValidationService {
 
         final CrossValidation crossValidation = getCrossValidationFromProject(project);
 
-        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        final CrossValidationSingleFold chosenFold = getChosenFoldWithDetailsFromCrossValidation(crossValidation, foldIndex);
         final int[] indices = chosenFold.getIndicesOfValidationObjects();
         final String[] objectNames = crossValidation.getDescriptiveAttributes().extractChosenObjectNames(crossValidation.getInformationTable(), indices);
 
@@ -333,7 +872,7 @@ public class CrossValidationService {
 
         final CrossValidation crossValidation = getCrossValidationFromProject(project);
 
-        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        final CrossValidationSingleFold chosenFold = getChosenFoldWithDetailsFromCrossValidation(crossValidation, foldIndex);
         final int[] indices = RulesService.getCoveringObjectsIndices(chosenFold.getRuLeStudioRuleSet(), ruleIndex);
         final String[] objectNames = crossValidation.getDescriptiveAttributes().extractChosenObjectNames(crossValidation.getInformationTable(), indices);
 
@@ -373,7 +912,7 @@ public class CrossValidationService {
 
         final CrossValidation crossValidation = getCrossValidationFromProject(project);
 
-        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        final CrossValidationSingleFold chosenFold = getChosenFoldWithDetailsFromCrossValidation(crossValidation, foldIndex);
 
         if((objectIndex < 0) || (objectIndex >= chosenFold.getIndicesOfValidationObjects().length)) {
             WrongParameterException ex = new WrongParameterException(String.format("Given object's index \"%d\" is incorrect. You can choose object from %d to %d", objectIndex, 0, chosenFold.getIndicesOfValidationObjects().length - 1));
@@ -382,7 +921,7 @@ public class CrossValidationService {
         }
         final InformationTable informationTable = crossValidation.getInformationTable();
         final int generalObjectIndex = chosenFold.getIndicesOfValidationObjects()[objectIndex];
-        final IntList indicesOfCoveringRules = chosenFold.getFoldClassification().getIndicesOfCoveringRules()[objectIndex];
+        final IntList indicesOfCoveringRules = chosenFold.getFoldClassification().getIndicesOfCoveringRules(objectIndex);
 
         ChosenClassifiedObjectAbstractResponse chosenClassifiedObjectAbstractResponse;
         if(isAttributes) {
@@ -407,7 +946,7 @@ public class CrossValidationService {
 
         final CrossValidation crossValidation = getCrossValidationFromProject(project);
 
-        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        final CrossValidationSingleFold chosenFold = getChosenFoldWithDetailsFromCrossValidation(crossValidation, foldIndex);
 
         final RuleMainPropertiesResponse ruleMainPropertiesResponse = RuleMainPropertiesResponseBuilder.newInstance().build(chosenFold.getRuLeStudioRuleSet(), ruleIndex);
         logger.debug(ruleMainPropertiesResponse.toString());
@@ -427,7 +966,7 @@ public class CrossValidationService {
 
         final CrossValidation crossValidation = getCrossValidationFromProject(project);
 
-        final CrossValidationSingleFold chosenFold = getChosenFoldFromCrossValidation(crossValidation, foldIndex);
+        final CrossValidationSingleFold chosenFold = getChosenFoldWithDetailsFromCrossValidation(crossValidation, foldIndex);
 
         final ChosenRuleResponse chosenRuleResponse = ChosenRuleResponse.ChosenRuleResponseBuilder.newInstance().build(chosenFold.getRuLeStudioRuleSet(), ruleIndex, crossValidation.getDescriptiveAttributes(), crossValidation.getInformationTable());
         logger.debug(chosenRuleResponse.toString());
@@ -492,7 +1031,7 @@ public class CrossValidationService {
                     throw ex;
                 }
                 try {
-                    foldMatrix = crossValidationSingleFolds[numberOfFold].getFoldClassification().getOrdinalMisclassificationMatrix();
+                    foldMatrix = crossValidationSingleFolds[numberOfFold].getOrdinalMisclassificationMatrix();
                 } catch (ArrayIndexOutOfBoundsException e) {
                     WrongParameterException ex = new WrongParameterException(String.format("There is no fold with number %d.", numberOfFold));
                     logger.error(ex.getMessage());
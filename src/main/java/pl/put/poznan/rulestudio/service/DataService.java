@@ -34,6 +34,9 @@ public class DataService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public static void checkInformationTable(InformationTable informationTable, String message) {
         if(informationTable == null) {
             NoDataException ex = new NoDataException(message);
@@ -193,6 +196,7 @@ public class DataService {
         final Attribute[] attributes = informationTable.getAttributes();
         final InformationTable newInformationTable = informationTableFromStringData(data, attributes);
         project.setInformationTable(newInformationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         final InformationTableResponse informationTableResponse = new InformationTableResponse(newInformationTable);
         logger.debug(informationTableResponse.toString());
@@ -214,6 +218,7 @@ public class DataService {
 
         final InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         final ValidityProjectContainer validityProjectContainer = new ValidityProjectContainer(project);
         logger.debug(validityProjectContainer.toString());
@@ -5,8 +5,10 @@ import org.rulelearn.data.InformationTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import pl.put.poznan.rulestudio.enums.ConeType;
+import pl.put.poznan.rulestudio.enums.DominanceConesRepresentation;
 import pl.put.poznan.rulestudio.exception.CalculationException;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.model.*;
@@ -28,13 +30,39 @@ public class DominanceConesService {
     @Autowired
     ProjectsContainer projectsContainer;
 
-    private void calculateDominanceCones(Project project) {
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
+    @Value("${rulestudio.cones.representation:SORTED_SETS}")
+    DominanceConesRepresentation defaultRepresentation;
+
+    @Value("${rulestudio.cones.lazyCacheSize:256}")
+    Integer lazyConesCacheSize;
+
+    //without explicit choice, project keeps representation of its previous cones
+    private DominanceConesRepresentation chooseRepresentation(Project project, DominanceConesRepresentation representation) {
+        if(representation != null) {
+            return representation;
+        }
+
+        final DominanceCones previousDominanceCones = project.getDominanceCones();
+        return (previousDominanceCones != null) ? previousDominanceCones.getRepresentation() : defaultRepresentation;
+    }
+
+    private void calculateDominanceCones(Project project, DominanceConesRepresentation representation) {
+        calculateDominanceCones(project, representation, new CalculationProgress());
+    }
+
+    void calculateDominanceCones(Project project, DominanceConesRepresentation representation, CalculationProgress calculationProgress) {
+        representation = chooseRepresentation(project, representation);
+
         final DominanceCones previousDominanceCones = project.getDominanceCones();
-        if((previousDominanceCones != null) && (previousDominanceCones.isCurrentData())) {
+        if((previousDominanceCones != null) && (previousDominanceCones.isCurrentData()) && (previousDominanceCones.getRepresentation() == representation)) {
             logger.info("Dominance cones are already calculated with given configuration, skipping current calculation.");
             return;
         }
 
+        calculationProgress.startStage("dominance cones", 1);
         CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
 
         final InformationTable informationTable = project.getInformationTable();
@@ -49,8 +77,9 @@ public class DominanceConesService {
         final String[] descriptiveAttributesPriority = descriptiveAttributesPriorityArrayList.toArray(new String[0]);
 
         DominanceCones dominanceCones = new DominanceCones();
+        dominanceCones.setLazyConesCacheSize(lazyConesCacheSize);
         try {
-            dominanceCones.calculateDCones(informationTable, descriptiveAttributesPriority);
+            dominanceCones.calculateDCones(informationTable, project.getDataHash(), descriptiveAttributesPriority, representation, calculationsExecutor);
         } catch (AttributeNotFoundException e) {
             CalculationException ex = new CalculationException("Cannot calculate dominance cones if there are no active condition evaluation attributes.");
             logger.error(ex.getMessage());
@@ -59,7 +88,10 @@ public class DominanceConesService {
         calculationsStopWatch.stop();
         dominanceCones.setCalculationsTime(calculationsStopWatch.getReadableTime());
 
+        calculationProgress.checkCancelled();
         project.setDominanceCones(dominanceCones);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
     }
 
     private DominanceCones getDominanceConesFromProject(Project project) {
@@ -89,16 +121,17 @@ public class DominanceConesService {
         return mainDominanceConesResponse;
     }
 
-    public MainDominanceConesResponse putDominanceCones(UUID id) {
+    public MainDominanceConesResponse putDominanceCones(UUID id, DominanceConesRepresentation representation) {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
-            sb.append("id=").append(id);
+            sb.append("id=").append(id).append(", ");
+            sb.append("representation=").append(representation);
             logger.info(sb.toString());
         }
 
         final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
-        calculateDominanceCones(project);
+        calculateDominanceCones(project, representation);
 
         final DominanceCones dominanceCones = project.getDominanceCones();
         final MainDominanceConesResponse mainDominanceConesResponse = MainDominanceConesResponseBuilder.newInstance().build(dominanceCones);
@@ -106,10 +139,11 @@ public class DominanceConesService {
         return mainDominanceConesResponse;
     }
 
-    public MainDominanceConesResponse postDominanceCones(UUID id, String metadata, String data) throws IOException {
+    public MainDominanceConesResponse postDominanceCones(UUID id, DominanceConesRepresentation representation, String metadata, String data) throws IOException {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
             sb.append("id=").append(id).append(", ");
+            sb.append("representation=").append(representation).append(", ");
             sb.append("metadataSize=").append(metadata.length()).append("B, ");
             if (logger.isDebugEnabled()) sb.append("metadata=").append(metadata).append(", ");
             sb.append("dataSize=").append(data.length()).append('B');
@@ -121,8 +155,9 @@ public class DominanceConesService {
 
         final InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
-        calculateDominanceCones(project);
+        calculateDominanceCones(project, representation);
 
         final DominanceCones dominanceCones = project.getDominanceCones();
         final MainDominanceConesResponse mainDominanceConesResponse = MainDominanceConesResponseBuilder.newInstance().build(dominanceCones);
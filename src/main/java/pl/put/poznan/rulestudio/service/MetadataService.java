@@ -29,6 +29,9 @@ public class MetadataService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public static void checkAttributes(Attribute[] attributes, String message) {
         if(attributes == null) {
             NoDataException ex = new NoDataException(message);
@@ -100,6 +103,7 @@ public class MetadataService {
 
         final InformationTable informationTable = new InformationTable(attributes, new ArrayList<>());
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         final InformationTableResponse informationTableResponse = new InformationTableResponse(informationTable);
         logger.debug(informationTableResponse.toString());
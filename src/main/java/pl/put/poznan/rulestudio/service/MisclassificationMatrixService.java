@@ -56,7 +56,7 @@ public class MisclassificationMatrixService {
                     throw ex;
                 }
                 try {
-                    ordinalMisclassificationMatrix = crossValidationSingleFolds[numberOfFold].getFoldClassification().getOrdinalMisclassificationMatrix();
+                    ordinalMisclassificationMatrix = crossValidationSingleFolds[numberOfFold].getOrdinalMisclassificationMatrix();
                 } catch (ArrayIndexOutOfBoundsException e) {
                     WrongParameterException ex = new WrongParameterException(String.format("There is no fold with number \"%d\".", numberOfFold));
                     logger.error(ex.getMessage());
@@ -26,6 +26,9 @@ public class ProjectService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public static Project getProjectFromProjectsContainer(ProjectsContainer projectsContainer, UUID id) {
         Project project = projectsContainer.getProject(id);
         if(project == null) {
@@ -104,6 +107,7 @@ public class ProjectService {
         }
 
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         final ValidityProjectContainer validityProjectContainer = new ValidityProjectContainer(project);
         logger.debug(validityProjectContainer.toString());
@@ -134,9 +138,7 @@ public class ProjectService {
             logger.info(sb.toString());
         }
 
-        final Project project = projectsContainer.removeProject(id);
-
-        if(project == null) {
+        if(!projectsContainer.removeProject(id)) {
             ProjectNotFoundException ex = new ProjectNotFoundException();
             logger.error(ex.getMessage());
             throw ex;
@@ -9,8 +9,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import pl.put.poznan.rulestudio.model.*;
+import pl.put.poznan.rulestudio.model.response.CalculationsCacheResponse;
+import pl.put.poznan.rulestudio.model.response.CalculationsCacheResponse.CalculationsCacheResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.ProjectResponse;
 import pl.put.poznan.rulestudio.model.response.ProjectsResponse;
+import pl.put.poznan.rulestudio.model.response.ProjectsStoreResponse;
+import pl.put.poznan.rulestudio.model.response.ProjectsStoreResponse.ProjectsStoreResponseBuilder;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -23,12 +27,41 @@ public class ProjectsService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsCache calculationsCache;
+
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public ProjectsResponse getProjects() {
         final ProjectsResponse projectsResponse = new ProjectsResponse(projectsContainer);
         logger.debug(projectsResponse.toString());
         return projectsResponse;
     }
 
+    public ProjectsStoreResponse getProjectsStore() {
+        final ProjectsStoreResponse projectsStoreResponse = ProjectsStoreResponseBuilder.newInstance().build(projectsContainer);
+        logger.debug(projectsStoreResponse.toString());
+        return projectsStoreResponse;
+    }
+
+    public CalculationsCacheResponse getCalculationsCache() {
+        final CalculationsCacheResponse calculationsCacheResponse = CalculationsCacheResponseBuilder.newInstance()
+                .setMaxEntries(calculationsCache.getMaxEntries())
+                .setNumberOfEntries(calculationsCache.getNumberOfEntries())
+                .setNumberOfHits(calculationsCache.getNumberOfHits())
+                .setNumberOfMisses(calculationsCache.getNumberOfMisses())
+                .setNumberOfEvictions(calculationsCache.getNumberOfEvictions())
+                .build();
+        logger.debug(calculationsCacheResponse.toString());
+        return calculationsCacheResponse;
+    }
+
+    public CalculationsCacheResponse deleteCalculationsCache() {
+        calculationsCache.clear();
+        return getCalculationsCache();
+    }
+
     private Project createEmptyProject(String name) {
         final Project project = new Project(name);
         projectsContainer.addProject(project);
@@ -78,7 +111,9 @@ public class ProjectsService {
         if(rulesFile != null) { //load rules from file
             final RuleSetWithCharacteristics ruleSetWithCharacteristics = RulesService.parseRules(rulesFile, attributes);
 
-            project.setProjectRules(new ProjectRules(ruleSetWithCharacteristics, rulesFile.getOriginalFilename(), attributes));
+            final ProjectRules projectRules = new ProjectRules(ruleSetWithCharacteristics, rulesFile.getOriginalFilename(), project.getAttributesHash());
+            RulesService.checkCoverageOfUploadedRules(projectRules, project, calculationsExecutor);
+            project.setProjectRules(projectRules);
         }
 
 
@@ -1,13 +1,23 @@
 package pl.put.poznan.rulestudio.service;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
 
 import org.rulelearn.approximations.Union;
 import org.rulelearn.approximations.Unions;
@@ -17,11 +27,11 @@ import org.rulelearn.data.Attribute;
 import org.rulelearn.data.InformationTable;
 import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
 import org.rulelearn.rules.ApproximatedSetProvider;
-import org.rulelearn.rules.ApproximatedSetRuleDecisionsProvider;
 import org.rulelearn.rules.AttributeOrderRuleConditionsPruner;
 import org.rulelearn.rules.BasicRuleCoverageInformation;
 import org.rulelearn.rules.CertainRuleInducerComponents;
 import org.rulelearn.rules.CompositeRuleCharacteristicsFilter;
+import org.rulelearn.rules.ComputableRuleCharacteristics;
 import org.rulelearn.rules.EvaluationAndCoverageStoppingConditionChecker;
 import org.rulelearn.rules.OptimizingRuleConditionsGeneralizer;
 import org.rulelearn.rules.PossibleRuleInducerComponents;
@@ -43,28 +53,36 @@ import org.rulelearn.rules.ruleml.RuleParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import pl.put.poznan.rulestudio.enums.OrderByRuleCharacteristic;
 import pl.put.poznan.rulestudio.enums.RuleType;
 import pl.put.poznan.rulestudio.enums.RulesFormat;
+import pl.put.poznan.rulestudio.enums.converters.StringToOrderByRuleCharacteristicConverter;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.exception.NoDataException;
 import pl.put.poznan.rulestudio.exception.NoRulesException;
 import pl.put.poznan.rulestudio.exception.NotSuitableForInductionOfPossibleRulesException;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
+import pl.put.poznan.rulestudio.model.CalculationProgress;
 import pl.put.poznan.rulestudio.model.CalculationsStopWatch;
 import pl.put.poznan.rulestudio.model.DescriptiveAttributes;
-import pl.put.poznan.rulestudio.model.NamedResource;
 import pl.put.poznan.rulestudio.model.Project;
 import pl.put.poznan.rulestudio.model.ProjectClassUnions;
 import pl.put.poznan.rulestudio.model.ProjectRules;
 import pl.put.poznan.rulestudio.model.ProjectsContainer;
-import pl.put.poznan.rulestudio.model.RuLeStudioRule;
 import pl.put.poznan.rulestudio.model.RuLeStudioRuleSet;
+import pl.put.poznan.rulestudio.model.RuleCharacteristicFilter;
+import pl.put.poznan.rulestudio.model.RuleCharacteristicsColumns;
 import pl.put.poznan.rulestudio.model.ValidityRulesContainer;
 import pl.put.poznan.rulestudio.model.parameters.RulesParameters;
 import pl.put.poznan.rulestudio.model.response.AttributeFieldsResponse;
@@ -83,87 +101,95 @@ public class RulesService {
 
     private static final Logger logger = LoggerFactory.getLogger(RulesService.class);
 
+    private static final int DOWNLOAD_BUFFER_SIZE = 8192;
+
+    private static final int MIN_RULES_COVERAGE_SLICE_SIZE = 16;
+
     @Autowired
     ProjectsContainer projectsContainer;
 
-    private class ArrayIndexComparator implements Comparator<Integer> {
-        private final Number[] array;
+    @Autowired
+    ObjectMapper objectMapper;
 
-        public ArrayIndexComparator(Number[] array) {
-            this.array = array;
-        }
+    @Autowired
+    UnionsService unionsService;
 
-        public Integer[] createIndexArray()
-        {
-            Integer[] indices = new Integer[array.length];
-            for (int i = 0; i < array.length; i++)
-            {
-                indices[i] = i;
-            }
-            return indices;
-        }
+    @Autowired
+    CalculationsCache calculationsCache;
 
-        @Override
-        public int compare(Integer ind1, Integer ind2) {
-            if (array[ind1] instanceof Integer) {
-                Integer val1 = (Integer)array[ind1];
-                Integer val2 = (Integer)array[ind2];
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
 
-                if ((val1.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) && (val2.equals(RuleCharacteristics.UNKNOWN_INT_VALUE))) {
-                    return ind1.compareTo(ind2);
-                }
-                if (val1.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) {
-                    return -1;
-                }
-                if (val2.equals(RuleCharacteristics.UNKNOWN_INT_VALUE)) {
-                    return 1;
-                }
-                return val1.compareTo(val2);
+    private static int[] createIndexArray(int length) {
+        final int[] indices = new int[length];
+        for(int i = 0; i < length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
 
-            } else if (array[ind1] instanceof Double) {
-                Double val1 = (Double)array[ind1];
-                Double val2 = (Double)array[ind2];
+    //unknown values go first, rules with equal or unknown values keep their order
+    private static int[] orderByIntegerCharacteristic(int[] values, BitSet knownMask) {
+        final int[] indices = createIndexArray(values.length);
+        IntArrays.mergeSort(indices, (ind1, ind2) -> {
+            final boolean isKnown1 = knownMask.get(ind1);
+            final boolean isKnown2 = knownMask.get(ind2);
+            if(isKnown1 != isKnown2) {
+                return isKnown1 ? 1 : -1;
+            }
+            return isKnown1 ? Integer.compare(values[ind1], values[ind2]) : 0;
+        });
+        return indices;
+    }
 
-                if ((val1.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) && (val2.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE))) {
-                    return ind1.compareTo(ind2);
-                }
-                if (val1.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) {
-                    return -1;
-                }
-                if (val2.equals(RuleCharacteristics.UNKNOWN_DOUBLE_VALUE)) {
-                    return 1;
-                }
-                return val1.compareTo(val2);
+    private static int[] orderByDoubleCharacteristic(double[] values, BitSet knownMask) {
+        final int[] indices = createIndexArray(values.length);
+        IntArrays.mergeSort(indices, (ind1, ind2) -> {
+            final boolean isKnown1 = knownMask.get(ind1);
+            final boolean isKnown2 = knownMask.get(ind2);
+            if(isKnown1 != isKnown2) {
+                return isKnown1 ? 1 : -1;
             }
+            return isKnown1 ? Double.compare(values[ind1], values[ind2]) : 0;
+        });
+        return indices;
+    }
 
-            return ind1.compareTo(ind2);
+    private static int[] calculateRulesOrdering(RuleCharacteristicsColumns ruleCharacteristicsColumns, OrderByRuleCharacteristic orderBy) {
+        final BitSet knownMask = ruleCharacteristicsColumns.getKnownMask(orderBy);
+        if(ruleCharacteristicsColumns.isIntegerCharacteristic(orderBy)) {
+            return orderByIntegerCharacteristic(ruleCharacteristicsColumns.getIntegerColumn(orderBy), knownMask);
+        } else {
+            return orderByDoubleCharacteristic(ruleCharacteristicsColumns.getDoubleColumn(orderBy), knownMask);
         }
     }
 
-    interface NumberCharacteristic {
-        Number get(int index);
-    }
+    //descending ordering is the ascending one reversed, both are cached in rules until the rule set changes
+    public static int[] getRulesOrdering(ProjectRules projectRules, OrderByRuleCharacteristic orderBy, boolean desc) {
+        if(orderBy == OrderByRuleCharacteristic.NONE) {
+            return null;
+        }
 
-    private static void collectIntegerCharacteristicLoop(int rulesNumber, Number[] characteristicValues, NumberCharacteristic function) {
-        for(int i = 0; i < rulesNumber; i++) {
-            try {
-                characteristicValues[i] = function.get(i);
-            } catch (UnknownValueException e)  {
-                logger.debug(e.getMessage());
-                characteristicValues[i] = RuleCharacteristics.UNKNOWN_INT_VALUE;
-            }
+        int[] rulesOrdering = projectRules.getRulesOrdering(orderBy, desc);
+        if(rulesOrdering != null) {
+            return rulesOrdering;
         }
-    }
 
-    private static void collectDoubleCharacteristicLoop(int rulesNumber, Number[] characteristicValues, NumberCharacteristic function) {
-        for(int i = 0; i < rulesNumber; i++) {
-            try {
-                characteristicValues[i] = function.get(i);
-            } catch (UnknownValueException e)  {
-                logger.debug(e.getMessage());
-                characteristicValues[i] = RuleCharacteristics.UNKNOWN_DOUBLE_VALUE;
-            }
+        int[] ascendingOrdering = projectRules.getRulesOrdering(orderBy, false);
+        if(ascendingOrdering == null) {
+            ascendingOrdering = calculateRulesOrdering(projectRules.getRuleCharacteristicsColumns(), orderBy);
+            projectRules.setRulesOrdering(orderBy, false, ascendingOrdering);
         }
+        if(!desc) {
+            return ascendingOrdering;
+        }
+
+        final int[] descendingOrdering = new int[ascendingOrdering.length];
+        for(int i = 0; i < ascendingOrdering.length; i++) {
+            descendingOrdering[i] = ascendingOrdering[ascendingOrdering.length - 1 - i];
+        }
+        projectRules.setRulesOrdering(orderBy, true, descendingOrdering);
+        return descendingOrdering;
     }
 
     public static RuleSetWithComputableCharacteristics parseComputableRules(MultipartFile rulesFile, Attribute[] attributes) throws IOException {
@@ -239,7 +265,87 @@ public class RulesService {
         return ruleSetWithCharacteristics;
     }
 
-    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules, String filterSelector) {
+    //approximations of unions are calculated lazily, they have to be ready before unions are shared by concurrent passes
+    //unions created by UnionsService have them calculated already, other unions are guarded here
+    private static void calculateApproximations(Unions unions) {
+        synchronized (unions) {
+            for(Union union : unions.getUpwardUnions()) {
+                union.getLowerApproximation();
+                union.getUpperApproximation();
+            }
+            for(Union union : unions.getDownwardUnions()) {
+                union.getLowerApproximation();
+                union.getUpperApproximation();
+            }
+        }
+    }
+
+    private static RuleInducerComponents createPossibleRuleInducerComponents() {
+        return new PossibleRuleInducerComponents.Builder().
+                build();
+    }
+
+    private static RuleInducerComponents createCertainRuleInducerComponents(double consistencyThreshold) {
+        final RuleInductionStoppingConditionChecker stoppingConditionChecker =
+                new EvaluationAndCoverageStoppingConditionChecker(
+                        EpsilonConsistencyMeasure.getInstance(),
+                        EpsilonConsistencyMeasure.getInstance(),
+                        EpsilonConsistencyMeasure.getInstance(),
+                        consistencyThreshold
+                );
+
+        return new CertainRuleInducerComponents.Builder().
+                ruleInductionStoppingConditionChecker(stoppingConditionChecker).
+                ruleConditionsPruner(new AttributeOrderRuleConditionsPruner(stoppingConditionChecker)).
+                ruleConditionsGeneralizer(new OptimizingRuleConditionsGeneralizer(stoppingConditionChecker)).
+                build();
+    }
+
+    //rules are induced without filter, so they can be filtered again in memory with any other filter
+    //characteristics aren't calculated here, the filter calculates those it reads and accepted rules get all of them
+    private static RuleSetWithComputableCharacteristics induceUnfilteredRules(RuleInducerComponents ruleInducerComponents, ApproximatedSetProvider unionProvider, CalculationProgress calculationProgress) {
+        calculationProgress.checkCancelled();
+        final RuleSetWithComputableCharacteristics rules = (new VCDomLEM(ruleInducerComponents, unionProvider, new UnionWithSingleLimitingDecisionRuleDecisionsProvider())).generateRules();
+        calculationProgress.completeStep();
+        return rules;
+    }
+
+    //same result as generateAndFilterRules of VCDomLEM followed by calculateAllCharacteristics: ruleLearn induces all rules and only then
+    //accepts them by their characteristics, the filter doesn't take part in induction (checked by RulesServiceTest)
+    //characteristics are calculated lazily by ruleLearn, so filtering of unfiltered rules shared by concurrent tasks is serialized
+    private static RuleSetWithCharacteristics filterRules(RuleSetWithComputableCharacteristics unfilteredRules, String filterSelector) {
+        final CompositeRuleCharacteristicsFilter ruleFilter = CompositeRuleCharacteristicsFilter.of(filterSelector);
+        final List<Rule> acceptedRules = new ArrayList<>(unfilteredRules.size());
+        final List<RuleCharacteristics> acceptedRuleCharacteristics = new ArrayList<>(unfilteredRules.size());
+        synchronized (unfilteredRules) {
+            for(int i = 0; i < unfilteredRules.size(); i++) {
+                final Rule rule = unfilteredRules.getRule(i);
+                final ComputableRuleCharacteristics ruleCharacteristics = (ComputableRuleCharacteristics) unfilteredRules.getRuleCharacteristics(i);
+                if(ruleFilter.accepts(rule, ruleCharacteristics)) {
+                    ruleCharacteristics.calculateAllCharacteristics();
+                    acceptedRules.add(rule);
+                    acceptedRuleCharacteristics.add(ruleCharacteristics);
+                }
+            }
+        }
+
+        return new RuleSetWithCharacteristics(acceptedRules.toArray(new Rule[0]), acceptedRuleCharacteristics.toArray(new RuleCharacteristics[0]));
+    }
+
+    private static String createInductionPassKey(RuleType typeOfRules, Union.UnionType unionType) {
+        return typeOfRules + "/" + unionType;
+    }
+
+    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules, String filterSelector, CalculationsExecutor calculationsExecutor) {
+        return calculateRuleSetWithCharacteristics(unions, typeOfRules, filterSelector, new CalculationProgress(), calculationsExecutor);
+    }
+
+    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules, String filterSelector, CalculationProgress calculationProgress, CalculationsExecutor calculationsExecutor) {
+        return calculateRuleSetWithCharacteristics(unions, typeOfRules, filterSelector, calculationProgress, new ConcurrentHashMap<>(), calculationsExecutor);
+    }
+
+    //unfiltered rules of every induction pass are taken from given map or induced and put into it, only missing passes are run
+    public static RuleSetWithCharacteristics calculateRuleSetWithCharacteristics(Unions unions, RuleType typeOfRules, String filterSelector, CalculationProgress calculationProgress, Map<String, RuleSetWithComputableCharacteristics> unfilteredRulesOfPasses, CalculationsExecutor calculationsExecutor) {
         if((typeOfRules == RuleType.POSSIBLE) || (typeOfRules == RuleType.BOTH)) {
             if(!unions.getInformationTable().isSuitableForInductionOfPossibleRules()) {
                 NotSuitableForInductionOfPossibleRulesException ex = new NotSuitableForInductionOfPossibleRulesException("Creating possible rules is not possible - learning data contain missing attribute values that can lead to non-transitivity of dominance/indiscernibility relation.");
@@ -250,75 +356,96 @@ public class RulesService {
             logger.info("Current learning data is acceptable to create possible rules.");
         }
 
-        RuleInducerComponents ruleInducerComponents = null;
-
-        ApproximatedSetProvider unionAtLeastProvider = new UnionProvider(Union.UnionType.AT_LEAST, unions);
-        ApproximatedSetProvider unionAtMostProvider = new UnionProvider(Union.UnionType.AT_MOST, unions);
-        ApproximatedSetRuleDecisionsProvider unionRuleDecisionsProvider = new UnionWithSingleLimitingDecisionRuleDecisionsProvider();
-
-        RuleSetWithComputableCharacteristics rules = null;
-        RuleSetWithCharacteristics resultSet = null;
-
-
+        final List<String> passesKeys = new ArrayList<>(4);
         if((typeOfRules == RuleType.POSSIBLE) || (typeOfRules == RuleType.BOTH)) {
-            ruleInducerComponents = new PossibleRuleInducerComponents.Builder().
-                    build();
+            passesKeys.add(createInductionPassKey(RuleType.POSSIBLE, Union.UnionType.AT_LEAST));
+            passesKeys.add(createInductionPassKey(RuleType.POSSIBLE, Union.UnionType.AT_MOST));
+        }
+        if((typeOfRules == RuleType.CERTAIN) || (typeOfRules == RuleType.BOTH)) {
+            passesKeys.add(createInductionPassKey(RuleType.CERTAIN, Union.UnionType.AT_LEAST));
+            passesKeys.add(createInductionPassKey(RuleType.CERTAIN, Union.UnionType.AT_MOST));
+        }
 
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtLeastProvider, unionRuleDecisionsProvider)).generateAndFilterRules(CompositeRuleCharacteristicsFilter.of(filterSelector));
-            rules.calculateAllCharacteristics();
-            resultSet = rules;
+        final List<String> missingPassesKeys = new ArrayList<>(4);
+        for(String passKey : passesKeys) {
+            if(!unfilteredRulesOfPasses.containsKey(passKey)) {
+                missingPassesKeys.add(passKey);
+            }
+        }
+        logger.info("Induction passes reused: {}, induced: {}.", passesKeys.size() - missingPassesKeys.size(), missingPassesKeys);
+
+        //passes are independent, their results are joined in the order of passes keys
+        final List<Callable<RuleSetWithComputableCharacteristics>> inductionPasses = new ArrayList<>(4);
+        if(!missingPassesKeys.isEmpty()) {
+            calculateApproximations(unions);
+
+            final ApproximatedSetProvider unionAtLeastProvider = new UnionProvider(Union.UnionType.AT_LEAST, unions);
+            final ApproximatedSetProvider unionAtMostProvider = new UnionProvider(Union.UnionType.AT_MOST, unions);
+            final double consistencyThreshold = ((VCDominanceBasedRoughSetCalculator) unions.getRoughSetCalculator()).getLowerApproximationConsistencyThreshold();
+
+            for(String passKey : missingPassesKeys) {
+                final ApproximatedSetProvider unionProvider = passKey.endsWith(Union.UnionType.AT_LEAST.toString()) ? unionAtLeastProvider : unionAtMostProvider;
+                if(passKey.startsWith(RuleType.POSSIBLE.toString())) {
+                    inductionPasses.add(() -> induceUnfilteredRules(createPossibleRuleInducerComponents(), unionProvider, calculationProgress));
+                } else {
+                    inductionPasses.add(() -> induceUnfilteredRules(createCertainRuleInducerComponents(consistencyThreshold), unionProvider, calculationProgress));
+                }
+            }
+        }
 
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtMostProvider, unionRuleDecisionsProvider)).generateAndFilterRules(CompositeRuleCharacteristicsFilter.of(filterSelector));
-            rules.calculateAllCharacteristics();
-            resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
+        calculationProgress.startStage("rules", inductionPasses.size());
+        final List<RuleSetWithComputableCharacteristics> missingPassesResults = calculationsExecutor.invokeAll(inductionPasses);
+        for(int i = 0; i < missingPassesKeys.size(); i++) {
+            unfilteredRulesOfPasses.put(missingPassesKeys.get(i), missingPassesResults.get(i));
         }
 
+        final List<RuleSetWithCharacteristics> passesResults = new ArrayList<>(passesKeys.size());
+        for(String passKey : passesKeys) {
+            passesResults.add(filterRules(unfilteredRulesOfPasses.get(passKey), filterSelector));
+        }
 
-        if((typeOfRules == RuleType.CERTAIN) || (typeOfRules == RuleType.BOTH)) {
-            final RuleInductionStoppingConditionChecker stoppingConditionChecker =
-                    new EvaluationAndCoverageStoppingConditionChecker(
-                            EpsilonConsistencyMeasure.getInstance(),
-                            EpsilonConsistencyMeasure.getInstance(),
-                            EpsilonConsistencyMeasure.getInstance(),
-                            ((VCDominanceBasedRoughSetCalculator) unions.getRoughSetCalculator()).getLowerApproximationConsistencyThreshold()
-                    );
-
-            ruleInducerComponents = new CertainRuleInducerComponents.Builder().
-                    ruleInductionStoppingConditionChecker(stoppingConditionChecker).
-                    ruleConditionsPruner(new AttributeOrderRuleConditionsPruner(stoppingConditionChecker)).
-                    ruleConditionsGeneralizer(new OptimizingRuleConditionsGeneralizer(stoppingConditionChecker)).
-                    build();
-
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtLeastProvider, unionRuleDecisionsProvider)).generateAndFilterRules(CompositeRuleCharacteristicsFilter.of(filterSelector));
-            rules.calculateAllCharacteristics();
+        RuleSetWithCharacteristics resultSet = null;
+        for(RuleSetWithCharacteristics rules : passesResults) {
             if (resultSet == null) {
                 resultSet = rules;
             } else {
                 resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
             }
-
-            rules = (new VCDomLEM(ruleInducerComponents, unionAtMostProvider, unionRuleDecisionsProvider)).generateAndFilterRules(CompositeRuleCharacteristicsFilter.of(filterSelector));
-            rules.calculateAllCharacteristics();
-            resultSet = RuleSetWithCharacteristics.join(resultSet, rules);
         }
 
         resultSet.setLearningInformationTableHash(unions.getInformationTable().getHash());
+        //rule set may be shared through calculations cache, so its lazily calculated hash is ready before it is published
+        resultSet.getHash();
         return resultSet;
     }
 
-    public static void calculateRulesInProject(Project project, RulesParameters rulesParameters) {
-        UnionsService.calculateClassUnionsInProject(project, rulesParameters);
-        final ProjectClassUnions projectClassUnions = project.getProjectClassUnions();
+    public void calculateRulesCoverageInProject(Project project, CalculationProgress calculationProgress) {
+        getRulesFromProject(project);
+        ensureCoverageOfUploadedRules(project, calculationProgress, calculationsExecutor);
+    }
+
+    public void calculateRulesInProject(Project project, RulesParameters rulesParameters) {
+        calculateRulesInProject(project, rulesParameters, new CalculationProgress());
+    }
+
+    public void calculateRulesInProject(Project project, RulesParameters rulesParameters, CalculationProgress calculationProgress) {
+        //unions are stored only together with rules, so that cancelled calculation leaves project unchanged
+        final ProjectClassUnions projectClassUnions = unionsService.prepareClassUnionsInProject(project, rulesParameters, calculationProgress);
 
         final ProjectRules previousProjectRules = project.getProjectRules();
         if((previousProjectRules != null) && (!previousProjectRules.isExternalRules()) && (previousProjectRules.isCurrentLearningData()) && (previousProjectRules.getRulesParameters().equalsTo(rulesParameters))) {
             logger.info("Rules are already calculated with given configuration, skipping current calculation.");
+            calculationProgress.checkCancelled();
+            project.setProjectClassUnions(projectClassUnions);
             return;
         }
 
         CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
 
-        RuleSetWithCharacteristics ruleSetWithCharacteristics = calculateRuleSetWithCharacteristics(projectClassUnions.getUnions(), rulesParameters.getTypeOfRules(), rulesParameters.getFilterSelector());
+        //rules induced from the same data with the same parameters in any project are reused
+        final String rulesKey = CalculationsCache.createKey("rules", project.getDataHash(), rulesParameters.getTypeOfUnions(), rulesParameters.getConsistencyThreshold(), rulesParameters.getTypeOfRules(), rulesParameters.getFilterSelector());
+        RuleSetWithCharacteristics ruleSetWithCharacteristics = calculationsCache.computeIfAbsent(rulesKey, RuleSetWithCharacteristics.class,
+                () -> calculateRuleSetWithCharacteristics(projectClassUnions.getUnions(), rulesParameters.getTypeOfRules(), rulesParameters.getFilterSelector(), calculationProgress, projectClassUnions.getUnfilteredRulesOfPasses(), calculationsExecutor));
 
         ArrayList<String> descriptiveAttributesPriorityArrayList = new ArrayList<>();
         if (previousProjectRules != null) {
@@ -331,7 +458,10 @@ public class RulesService {
         calculationsStopWatch.stop();
         projectRules.setCalculationsTime(calculationsStopWatch.getReadableTime());
 
+        calculationProgress.checkCancelled();
+        project.setProjectClassUnions(projectClassUnions);
         project.setProjectRules(projectRules);
+        calculationProgress.finishStage();
     }
 
     public static ProjectRules getRulesFromProject(Project project) {
@@ -345,6 +475,19 @@ public class RulesService {
         return projectRules;
     }
 
+    //coverage of uploaded rules is calculated only once, until it is invalidated by changes of data in project
+    //it is updated only by requests holding project exclusively, reading requests show rules as they are
+    public static void ensureCoverageOfUploadedRules(Project project, CalculationProgress calculationProgress, CalculationsExecutor calculationsExecutor) {
+        final ProjectRules projectRules = project.getProjectRules();
+        if ((projectRules != null) && (projectRules.isExternalRules()) && ((projectRules.isCoveragePresent() == null) || (!projectRules.isCoveragePresent()))) {
+            checkCoverageOfUploadedRules(projectRules, project, calculationProgress, calculationsExecutor);
+        }
+    }
+
+    public static void ensureCoverageOfUploadedRules(Project project, CalculationsExecutor calculationsExecutor) {
+        ensureCoverageOfUploadedRules(project, new CalculationProgress(), calculationsExecutor);
+    }
+
     public static int[] getCoveringObjectsIndices(RuleSetWithCharacteristics ruleSetWithCharacteristics, Integer ruleIndex) {
         int[] indices;
 
@@ -365,133 +508,160 @@ public class RulesService {
         return indices;
     }
 
+    public static int[] getCoveringObjectsIndices(ProjectRules projectRules, Integer ruleIndex) {
+        return projectRules.getRulesCoverageIndex().getCoveredObjects(ruleIndex);
+    }
+
     public static int[] getCoveringObjectsIndices(RuLeStudioRuleSet ruLeStudioRuleSet, Integer ruleIndex) {
-        final RuLeStudioRule[] rules = ruLeStudioRuleSet.getRuLeStudioRules();
-        if((ruleIndex < 0) || (ruleIndex >= rules.length)) {
-            WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, rules.length - 1));
+        if((ruleIndex < 0) || (ruleIndex >= ruLeStudioRuleSet.size())) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given rule's index \"%d\" is incorrect. You can choose rule from %d to %d", ruleIndex, 0, ruLeStudioRuleSet.size() - 1));
             logger.error(ex.getMessage());
             throw ex;
         }
 
-        return rules[ruleIndex].getIndicesOfCoveredObjects();
+        return ruLeStudioRuleSet.getIndicesOfCoveredObjects(ruleIndex);
     }
 
-    public MainRulesResponse getRules(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc) {
+    //"rule" chooses rule with its conditions, other fields are names of characteristics, everything is chosen if no field is given
+    private static EnumSet<OrderByRuleCharacteristic> chooseCharacteristics(String[] fields) {
+        final EnumSet<OrderByRuleCharacteristic> characteristics = EnumSet.complementOf(EnumSet.of(OrderByRuleCharacteristic.NONE));
+        if((fields == null) || (fields.length == 0)) {
+            return characteristics;
+        }
+
+        characteristics.clear();
+        final StringToOrderByRuleCharacteristicConverter converter = new StringToOrderByRuleCharacteristicConverter();
+        for(String field : fields) {
+            if(field.trim().equals("rule")) {
+                continue;
+            }
+
+            final OrderByRuleCharacteristic characteristic = converter.convert(field.trim());
+            if(characteristic != OrderByRuleCharacteristic.NONE) {
+                characteristics.add(characteristic);
+            }
+        }
+        return characteristics;
+    }
+
+    private static boolean isRuleChosen(String[] fields) {
+        if((fields == null) || (fields.length == 0)) {
+            return true;
+        }
+
+        for(String field : fields) {
+            if(field.trim().equals("rule")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public MainRulesResponse getRules(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc, Integer offset, Integer limit, String[] filters, String[] fields) {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
             sb.append("id=").append(id).append(", ");
             sb.append("orderBy=").append(orderBy).append(", ");
-            sb.append("desc=").append(desc);
+            sb.append("desc=").append(desc).append(", ");
+            sb.append("offset=").append(offset).append(", ");
+            sb.append("limit=").append(limit).append(", ");
+            sb.append("filters=").append(Arrays.toString(filters)).append(", ");
+            sb.append("fields=").append(Arrays.toString(fields));
             logger.info(sb.toString());
         }
 
-        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
-
-        ProjectRules projectRules = getRulesFromProject(project);
-        if ((projectRules.isExternalRules()) && ((projectRules.isCoveragePresent() == null) || (!projectRules.isCoveragePresent()))) {
-            RulesService.checkCoverageOfUploadedRules(projectRules, project.getInformationTable(), project.getDescriptiveAttributes());
+        if((offset < 0) || ((limit != null) && (limit < 0))) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given page of rules (offset=%d, limit=%d) is incorrect. Offset and limit can't be negative.", offset, limit));
+            logger.error(ex.getMessage());
+            throw ex;
         }
-        ValidityRulesContainer validityRulesContainer = new ValidityRulesContainer(project);
-        projectRules.setValidityRulesContainer(validityRulesContainer);
 
-        try {
-            projectRules = (ProjectRules) project.getProjectRules().clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-            projectRules = project.getProjectRules();
+        final List<RuleCharacteristicFilter> ruleCharacteristicFilters = new ArrayList<>();
+        if(filters != null) {
+            for(String filter : filters) {
+                ruleCharacteristicFilters.add(RuleCharacteristicFilter.parse(filter));
+            }
         }
+        final EnumSet<OrderByRuleCharacteristic> characteristics = chooseCharacteristics(fields);
+        final boolean includeRule = isRuleChosen(fields);
 
-        final RuleSetWithCharacteristics ruleSetWithCharacteristics = projectRules.getRuleSet();
-        if (!orderBy.equals(OrderByRuleCharacteristic.NONE)) {
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
 
-            int i, rulesNumber = ruleSetWithCharacteristics.size();
+        final ProjectRules projectRules = getRulesFromProject(project);
+        //project is only locked for reading here, so validity of rules is passed to the response instead of being stored in rules
+        final ValidityRulesContainer validityRulesContainer = new ValidityRulesContainer(project);
 
-            Rule[] ruleArray = new Rule[rulesNumber];
+        //rules are not copied, filters are evaluated on columns of characteristics while walking the cached order of rules
+        final int[] rulesOrdering = getRulesOrdering(projectRules, orderBy, desc);
+        final RuleCharacteristicsColumns ruleCharacteristicsColumns = projectRules.getRuleCharacteristicsColumns();
+        final int rulesNumber = ruleCharacteristicsColumns.getNumberOfRules();
+        final int pageEnd = (limit != null) ? (int)Math.min((long)offset + limit, Integer.MAX_VALUE) : Integer.MAX_VALUE;
 
-            RuleCharacteristics[] ruleCharacteristicsArray = new RuleCharacteristics[rulesNumber];
-            for(i = 0; i < rulesNumber; i++) {
-                ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
-            }
+        final IntArrayList pageIndices = new IntArrayList();
+        int totalNumberOfRules = 0;
+        for(int i = 0; i < rulesNumber; i++) {
+            final int ruleIndex = (rulesOrdering != null) ? rulesOrdering[i] : i;
 
-            Number[] characteristicValues = new Number[rulesNumber];
-            switch (orderBy) {
-                case SUPPORT:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getSupport());
-                    break;
-                case STRENGTH:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getStrength());
-                    break;
-                case CONFIDENCE:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getConfidence());
-                    break;
-                case COVERAGE_FACTOR:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getCoverageFactor());
-                    break;
-                case COVERAGE:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getCoverage());
-                    break;
-                case NEGATIVE_COVERAGE:
-                    collectIntegerCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getNegativeCoverage());
-                    break;
-                case EPSILON:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getEpsilon());
-                    break;
-                case EPSILON_PRIME:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getEpsilonPrime());
-                    break;
-                case F_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getFConfirmation());
-                    break;
-                case A_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getAConfirmation());
+            boolean isAccepted = true;
+            for(RuleCharacteristicFilter ruleCharacteristicFilter : ruleCharacteristicFilters) {
+                if(!ruleCharacteristicFilter.accepts(ruleCharacteristicsColumns, ruleIndex)) {
+                    isAccepted = false;
                     break;
-                case Z_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getZConfirmation());
-                    break;
-                case L_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getLConfirmation());
-                    break;
-                case C1_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getC1Confirmation());
-                    break;
-                case S_CONFIRMATION:
-                    collectDoubleCharacteristicLoop(rulesNumber, characteristicValues, (int index) -> ruleCharacteristicsArray[index].getSConfirmation());
-                    break;
-                default:
-                    WrongParameterException ex = new WrongParameterException(String.format("Given ordering rule characteristic \"%s\" is unrecognized.", orderBy));
-                    logger.error(ex.getMessage());
-                    throw ex;
-            }
-
-            final ArrayIndexComparator comparator = new ArrayIndexComparator(characteristicValues);
-            final Integer[] indices = comparator.createIndexArray();
-            Arrays.sort(indices, comparator);
-
-            int x, step;
-            if(desc) {
-                x = rulesNumber - 1;
-                step = -1;
-            } else {
-                x = 0;
-                step = 1;
+                }
             }
-            for(i = 0; i < rulesNumber; i++) {
-                ruleArray[i] = ruleSetWithCharacteristics.getRule(indices[x]);
-                ruleCharacteristicsArray[i] = ruleSetWithCharacteristics.getRuleCharacteristics(indices[x]);
-                logger.debug("{}:\tsupport={}\tindex={}", i, characteristicValues[indices[x]], indices[x]);
-                x += step;
+            if(!isAccepted) {
+                continue;
             }
 
-            RuleSetWithCharacteristics sortedRuleSet = new RuleSetWithCharacteristics(ruleArray, ruleCharacteristicsArray);
-            sortedRuleSet.setLearningInformationTableHash(ruleSetWithCharacteristics.getLearningInformationTableHash());
-            projectRules.setRuleSet(sortedRuleSet);
+            if((totalNumberOfRules >= offset) && (totalNumberOfRules < pageEnd)) {
+                pageIndices.add(ruleIndex);
+            }
+            totalNumberOfRules++;
         }
 
-        final MainRulesResponse mainRulesResponse = MainRulesResponseBuilder.newInstance().build(projectRules);
+        final MainRulesResponse mainRulesResponse = MainRulesResponseBuilder.newInstance().setValidityRulesContainer(validityRulesContainer).build(projectRules, pageIndices.toIntArray(), totalNumberOfRules, characteristics, includeRule);
         logger.debug(mainRulesResponse.toString());
         return mainRulesResponse;
     }
 
+    private static String createRulesResponseKey(OrderByRuleCharacteristic orderBy, Boolean desc, Integer offset, Integer limit, String[] filters, String[] fields) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("rules?orderBy=").append(orderBy);
+        sb.append("&desc=").append(desc);
+        sb.append("&offset=").append(offset);
+        sb.append("&limit=").append(limit);
+        sb.append("&filters=").append(Arrays.toString(filters));
+        sb.append("&fields=").append(Arrays.toString(fields));
+        return sb.toString();
+    }
+
+    //ETag depends only on version of project and parameters, so not modified rules are recognized without building the response
+    public String getRulesETag(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc, Integer offset, Integer limit, String[] filters, String[] fields) {
+        ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+        final Long version = projectsContainer.getProjectVersion(id);
+
+        final String key = id + "@" + version + "/" + createRulesResponseKey(orderBy, desc, offset, limit, filters, fields);
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    //serialized response is reused until the project is modified
+    public byte[] getSerializedRules(UUID id, OrderByRuleCharacteristic orderBy, Boolean desc, Integer offset, Integer limit, String[] filters, String[] fields) throws IOException {
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+        final Long version = projectsContainer.getProjectVersion(id);
+        final String key = createRulesResponseKey(orderBy, desc, offset, limit, filters, fields);
+
+        byte[] serializedRules = project.getSerializedResponse(version, key);
+        if(serializedRules != null) {
+            logger.info("Rules response is taken from cache, key={}, version={}.", key, version);
+            return serializedRules;
+        }
+
+        final MainRulesResponse mainRulesResponse = getRules(id, orderBy, desc, offset, limit, filters, fields);
+        serializedRules = objectMapper.writeValueAsBytes(mainRulesResponse);
+        project.putSerializedResponse(version, key, serializedRules);
+        return serializedRules;
+    }
+
     public MainRulesResponse putRules(UUID id, RulesParameters rulesParameters) {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
@@ -600,7 +770,7 @@ public class RulesService {
 
         final ProjectRules projectRules = getRulesFromProject(project);
 
-        final int[] indices = getCoveringObjectsIndices(projectRules.getRuleSet(), ruleIndex);
+        final int[] indices = getCoveringObjectsIndices(projectRules, ruleIndex);
         final String[] objectNames = projectRules.getDescriptiveAttributes().extractChosenObjectNames(projectRules.getInformationTable(), indices);
 
         final AttributeFieldsResponse attributeFieldsResponse = AttributeFieldsResponseBuilder.newInstance().setFields(objectNames).build();
@@ -608,11 +778,13 @@ public class RulesService {
         return attributeFieldsResponse;
     }
 
-    public NamedResource download(UUID id, RulesFormat rulesFormat) {
+    //rules are serialized by ruleLearn to a single string in memory, only its encoding and optional compression are done in small buffers
+    public void download(UUID id, RulesFormat rulesFormat, Boolean gzip, HttpServletResponse response) throws IOException {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
             sb.append("id=").append(id).append(", ");
-            sb.append("rulesFormat=").append(rulesFormat);
+            sb.append("rulesFormat=").append(rulesFormat).append(", ");
+            sb.append("gzip=").append(gzip);
             logger.info(sb.toString());
         }
 
@@ -625,15 +797,17 @@ public class RulesService {
         }
 
         RuleSetWithCharacteristics ruleSetWithCharacteristics = project.getProjectRules().getRuleSet();
-        String rulesString;
+        String fileName = project.getName() + " rules";
+        String contentType;
 
         switch (rulesFormat) {
             case XML:
-                RuleMLBuilder ruleMLBuilder = new RuleMLBuilder();
-                rulesString = ruleMLBuilder.toRuleMLString(ruleSetWithCharacteristics, 1);
+                fileName += ".xml";
+                contentType = MediaType.TEXT_XML_VALUE;
                 break;
             case TXT:
-                rulesString = ruleSetWithCharacteristics.serialize();
+                fileName += ".txt";
+                contentType = MediaType.TEXT_PLAIN_VALUE;
                 break;
             default:
                 WrongParameterException ex = new WrongParameterException(String.format("Given format of rules \"%s\" is unrecognized.", rulesFormat));
@@ -641,34 +815,102 @@ public class RulesService {
                 throw ex;
         }
 
-        InputStream is = new ByteArrayInputStream(rulesString.getBytes());
-        InputStreamResource resource = new InputStreamResource(is);
+        if(gzip) {
+            fileName += ".gz";
+            contentType = "application/gzip";
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName);
+        response.setContentType(contentType);
+        if(!gzip) {
+            //charset describes only plain text, compressed file is binary
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+
+        OutputStream outputStream = response.getOutputStream();
+        if(gzip) {
+            outputStream = new GZIPOutputStream(outputStream, DOWNLOAD_BUFFER_SIZE);
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), DOWNLOAD_BUFFER_SIZE)) {
+            switch (rulesFormat) {
+                case XML:
+                    //ruleLearn builds RuleML only as a whole string, it is encoded chunk by chunk instead of being copied to a byte array as well
+                    RuleMLBuilder ruleMLBuilder = new RuleMLBuilder();
+                    writer.write(ruleMLBuilder.toRuleMLString(ruleSetWithCharacteristics, 1));
+                    break;
+                case TXT:
+                    //same text as serialize() of rule set, but each rule is written as soon as it is converted
+                    for(int i = 0; i < ruleSetWithCharacteristics.size(); i++) {
+                        writer.write(ruleSetWithCharacteristics.getRule(i).toString());
+                        writer.write(System.lineSeparator());
+                    }
+                    break;
+            }
+        }
+    }
+
+    //coverage is calculated for disjoint slices of rules, slices share characteristics of rules with the whole rule set
+    private static void calculateRulesCoverage(RuleSetWithCharacteristics ruleSetWithCharacteristics, InformationTable informationTable, CalculationProgress calculationProgress, CalculationsExecutor calculationsExecutor) {
+        final int rulesNumber = ruleSetWithCharacteristics.size();
+        final int sliceSize = Math.max(MIN_RULES_COVERAGE_SLICE_SIZE, rulesNumber / (4 * calculationsExecutor.getParallelism()) + 1);
+
+        final List<Callable<Void>> slicesCoverage = new ArrayList<>();
+        for(int sliceBegin = 0; sliceBegin < rulesNumber; sliceBegin += sliceSize) {
+            final int from = sliceBegin;
+            final int to = Math.min(sliceBegin + sliceSize, rulesNumber);
+            slicesCoverage.add(() -> {
+                calculationProgress.checkCancelled();
+                final Rule[] rules = new Rule[to - from];
+                final RuleCharacteristics[] ruleCharacteristics = new RuleCharacteristics[to - from];
+                for(int i = from; i < to; i++) {
+                    rules[i - from] = ruleSetWithCharacteristics.getRule(i);
+                    ruleCharacteristics[i - from] = ruleSetWithCharacteristics.getRuleCharacteristics(i);
+                }
+
+                final RuleSetWithCharacteristics slice = new RuleSetWithCharacteristics(rules, ruleCharacteristics);
+                slice.setLearningInformationTableHash(ruleSetWithCharacteristics.getLearningInformationTableHash());
+                slice.calculateBasicRuleCoverageInformation(informationTable);
+                calculationProgress.completeStep();
+                return null;
+            });
+        }
+
+        calculationProgress.startStage("rules coverage", slicesCoverage.size());
+        calculationsExecutor.invokeAll(slicesCoverage);
+        calculationProgress.finishStage();
+    }
 
-        return new NamedResource(project.getName(), resource);
+    public static void checkCoverageOfUploadedRules(ProjectRules projectRules, Project project, CalculationsExecutor calculationsExecutor) {
+        checkCoverageOfUploadedRules(projectRules, project, new CalculationProgress(), calculationsExecutor);
     }
 
-    public static void checkCoverageOfUploadedRules(ProjectRules projectRules, InformationTable informationTable, DescriptiveAttributes descriptiveAttributes) {
+    //rules are checked against current data of project, its hash is calculated at most once
+    public static void checkCoverageOfUploadedRules(ProjectRules projectRules, Project project, CalculationProgress calculationProgress, CalculationsExecutor calculationsExecutor) {
         String errorMessage;
         String ruleSetHash = projectRules.getRuleSet().getLearningInformationTableHash();
+        final InformationTable informationTable = project.getInformationTable();
+        final DescriptiveAttributes descriptiveAttributes = project.getDescriptiveAttributes();
+        final String dataHash = project.getDataHash();
 
         if(ruleSetHash == null) {
-            errorMessage = String.format("Provided rule set doesn't have the learning information table hash. It can't be determined, if this rule set was generated based on the current data of the project. Rule coverage information can't be calculated without a valid training set. Current data hash: \"%s\".", informationTable.getHash());
+            errorMessage = String.format("Provided rule set doesn't have the learning information table hash. It can't be determined, if this rule set was generated based on the current data of the project. Rule coverage information can't be calculated without a valid training set. Current data hash: \"%s\".", dataHash);
             logger.info(errorMessage);
 
             projectRules.setCurrentLearningData(null);
             projectRules.setCoveragePresent(false);
             projectRules.setDescriptiveAttributes(new DescriptiveAttributes());
-        } else if(ruleSetHash.equals(informationTable.getHash())) {
+        } else if(ruleSetHash.equals(dataHash)) {
             logger.info("Current metadata and objects in the project are correct training set of uploaded rules. Calculating rule coverage information.");
-            projectRules.getRuleSet().calculateBasicRuleCoverageInformation(informationTable);
+            calculateRulesCoverage(projectRules.getRuleSet(), informationTable, calculationProgress, calculationsExecutor);
 
             errorMessage = null;
             projectRules.setInformationTable(informationTable);
+            projectRules.clearRuleCharacteristics();
             projectRules.setCurrentLearningData(true);
             projectRules.setCoveragePresent(true);
             projectRules.setDescriptiveAttributes(new DescriptiveAttributes(descriptiveAttributes));
         } else {
-            errorMessage = String.format("Uploaded rules are not induced from the data in the current project. Access to a valid training set is required to calculate rule coverage information. Please upload new rules based on the current data or create a new project with a valid training set. Current data hash: \"%s\", rules hash: \"%s\".", informationTable.getHash(), ruleSetHash);
+            errorMessage = String.format("Uploaded rules are not induced from the data in the current project. Access to a valid training set is required to calculate rule coverage information. Please upload new rules based on the current data or create a new project with a valid training set. Current data hash: \"%s\", rules hash: \"%s\".", dataHash, ruleSetHash);
             logger.info(errorMessage);
 
             projectRules.setCurrentLearningData(false);
@@ -679,7 +921,7 @@ public class RulesService {
         projectRules.setErrorMessage(errorMessage);
     }
 
-    private static void uploadRulesToProject(Project project, MultipartFile rulesFile) throws IOException {
+    private void uploadRulesToProject(Project project, MultipartFile rulesFile) throws IOException {
         InformationTable informationTable = project.getInformationTable();
         DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't read rules file.");
 
@@ -692,7 +934,9 @@ public class RulesService {
 
         RuleSetWithCharacteristics ruleSetWithCharacteristics = parseRules(rulesFile, attributes);
 
-        project.setProjectRules(new ProjectRules(ruleSetWithCharacteristics, rulesFile.getOriginalFilename(), attributes));
+        final ProjectRules projectRules = new ProjectRules(ruleSetWithCharacteristics, rulesFile.getOriginalFilename(), project.getAttributesHash());
+        checkCoverageOfUploadedRules(projectRules, project, calculationsExecutor);
+        project.setProjectRules(projectRules);
     }
 
     public MainRulesResponse putUploadRules(UUID id, MultipartFile rulesFile) throws IOException {
@@ -750,11 +994,36 @@ public class RulesService {
 
         final ProjectRules projectRules = getRulesFromProject(project);
 
-        final ChosenRuleResponse chosenRuleResponse = ChosenRuleResponseBuilder.newInstance().build(projectRules.getRuleSet(), ruleIndex, projectRules.getDescriptiveAttributes(), projectRules.getInformationTable());
+        final ChosenRuleResponse chosenRuleResponse = ChosenRuleResponseBuilder.newInstance().build(projectRules.getRulesCoverageIndex(), ruleIndex, projectRules.getDescriptiveAttributes(), projectRules.getInformationTable());
         logger.debug(chosenRuleResponse.toString());
         return chosenRuleResponse;
     }
 
+    public int[] getCoveringRules(UUID id, Integer objectIndex) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("objectIndex=").append(objectIndex);
+            logger.info(sb.toString());
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        final ProjectRules projectRules = getRulesFromProject(project);
+
+        final InformationTable informationTable = projectRules.getInformationTable();
+        final int numberOfObjects = (informationTable != null) ? informationTable.getNumberOfObjects() : 0;
+        if((objectIndex < 0) || (objectIndex >= numberOfObjects)) {
+            WrongParameterException ex = new WrongParameterException(String.format("Given object's index \"%d\" is incorrect. You can choose object from %d to %d", objectIndex, 0, numberOfObjects - 1));
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final int[] indicesOfCoveringRules = projectRules.getRulesCoverageIndex().getCoveringRules(objectIndex);
+        logger.debug("indicesOfCoveringRules={}", Arrays.toString(indicesOfCoveringRules));
+        return indicesOfCoveringRules;
+    }
+
     public ObjectAbstractResponse getObject(UUID id, Integer objectIndex, Boolean isAttributes) throws IOException {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
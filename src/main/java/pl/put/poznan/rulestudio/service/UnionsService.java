@@ -9,26 +9,33 @@ import org.rulelearn.data.InformationTableWithDecisionDistributions;
 import org.rulelearn.measures.ConsistencyMeasure;
 import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
 import org.rulelearn.measures.dominance.RoughMembershipMeasure;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.put.poznan.rulestudio.enums.ClassUnionArrayPropertyType;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
 import pl.put.poznan.rulestudio.exception.CalculationException;
 import pl.put.poznan.rulestudio.exception.EmptyResponseException;
 import pl.put.poznan.rulestudio.exception.WrongParameterException;
 import pl.put.poznan.rulestudio.model.*;
 import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParameters;
+import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParametersImpl;
 import pl.put.poznan.rulestudio.model.response.*;
 import pl.put.poznan.rulestudio.model.response.AttributeFieldsResponse.AttributeFieldsResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.ChosenClassUnionResponse.ChosenClassUnionResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.ClassUnionArrayPropertyResponse.ClassUnionArrayPropertyResponseBuilder;
 import pl.put.poznan.rulestudio.model.response.MainClassUnionsResponse.MainClassUnionsResponseBuilder;
+import pl.put.poznan.rulestudio.model.response.ThresholdsSweepResponse.ThresholdsSweepResponseBuilder;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 @Service
 public class UnionsService {
@@ -38,7 +45,18 @@ public class UnionsService {
     @Autowired
     ProjectsContainer projectsContainer;
 
+    @Autowired
+    CalculationsCache calculationsCache;
+
+    @Autowired
+    CalculationsExecutor calculationsExecutor;
+
     public static UnionsWithSingleLimitingDecision calculateUnionsWithSingleLimitingDecision(InformationTable informationTable, ClassUnionsParameters classUnionsParameters) {
+        return calculateUnionsWithSingleLimitingDecision(DataService.createInformationTableWithDecisionDistributions(informationTable), classUnionsParameters);
+    }
+
+    //information table with decision distributions doesn't depend on parameters of unions, so it can be shared by many calculations
+    public static UnionsWithSingleLimitingDecision calculateUnionsWithSingleLimitingDecision(InformationTableWithDecisionDistributions informationTableWithDecisionDistributions, ClassUnionsParameters classUnionsParameters) {
         ConsistencyMeasure<Union> consistencyMeasure = null;
 
         switch (classUnionsParameters.getTypeOfUnions()) {
@@ -54,8 +72,6 @@ public class UnionsService {
                 throw ex;
         }
 
-        final InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = DataService.createInformationTableWithDecisionDistributions(informationTable);
-
         UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = null;
         try {
             unionsWithSingleLimitingDecision = new UnionsWithSingleLimitingDecision(
@@ -68,23 +84,58 @@ public class UnionsService {
             throw ex;
         }
 
+        calculateLazyMembers(unionsWithSingleLimitingDecision);
         return unionsWithSingleLimitingDecision;
     }
 
-    public static void calculateClassUnionsInProject(Project project, ClassUnionsParameters classUnionsParameters) {
+    //unions may be shared by projects and threads through calculations cache, so members that ruleLearn calculates lazily
+    //are calculated before unions are published, afterwards they are only read
+    private static void calculateLazyMembers(UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision) {
+        unionsWithSingleLimitingDecision.getQualityOfApproximation();
+        for(Union[] unions : new Union[][] {unionsWithSingleLimitingDecision.getUpwardUnions(), unionsWithSingleLimitingDecision.getDownwardUnions()}) {
+            for(Union union : unions) {
+                union.getLowerApproximation();
+                union.getUpperApproximation();
+                union.getBoundary();
+                union.getPositiveRegion();
+                union.getNegativeRegion();
+                union.getBoundaryRegion();
+                union.getAccuracyOfApproximation();
+                union.getQualityOfApproximation();
+            }
+        }
+    }
+
+    public void calculateClassUnionsInProject(Project project, ClassUnionsParameters classUnionsParameters) {
+        calculateClassUnionsInProject(project, classUnionsParameters, new CalculationProgress());
+    }
+
+    public void calculateClassUnionsInProject(Project project, ClassUnionsParameters classUnionsParameters, CalculationProgress calculationProgress) {
+        final ProjectClassUnions projectClassUnions = prepareClassUnionsInProject(project, classUnionsParameters, calculationProgress);
+
+        calculationProgress.checkCancelled();
+        project.setProjectClassUnions(projectClassUnions);
+    }
+
+    //unions are only returned, so that caller can store them in project together with results calculated from them
+    public ProjectClassUnions prepareClassUnionsInProject(Project project, ClassUnionsParameters classUnionsParameters, CalculationProgress calculationProgress) {
         final ProjectClassUnions previousProjectClassUnions = project.getProjectClassUnions();
         if((previousProjectClassUnions != null) && (previousProjectClassUnions.isCurrentData()) && (previousProjectClassUnions.getClassUnionsParameters().equalsTo(classUnionsParameters))) {
             logger.info("Unions are already calculated with given configuration, skipping current calculation.");
-            return;
+            return previousProjectClassUnions;
         }
 
+        calculationProgress.startStage("unions", 1);
         CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
 
         InformationTable informationTable = project.getInformationTable();
         DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate unions.");
         DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate unions.");
 
-        final UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = calculateUnionsWithSingleLimitingDecision(informationTable, classUnionsParameters);
+        //unions calculated for the same data and parameters in any project are reused
+        final String unionsKey = CalculationsCache.createKey("unions", project.getDataHash(), classUnionsParameters.getTypeOfUnions(), classUnionsParameters.getConsistencyThreshold());
+        final UnionsWithSingleLimitingDecision unionsWithSingleLimitingDecision = calculationsCache.computeIfAbsent(unionsKey, UnionsWithSingleLimitingDecision.class,
+                () -> calculateUnionsWithSingleLimitingDecision(informationTable, classUnionsParameters));
 
         ArrayList<String> descriptiveAttributesPriorityArrayList = new ArrayList<>();
         if (previousProjectClassUnions != null) {
@@ -93,11 +144,13 @@ public class UnionsService {
         descriptiveAttributesPriorityArrayList.add(project.getDescriptiveAttributes().getCurrentAttributeName());
         final String[] descriptiveAttributesPriority = descriptiveAttributesPriorityArrayList.toArray(new String[0]);
 
-        ProjectClassUnions newProjectClassUnions = new ProjectClassUnions(unionsWithSingleLimitingDecision, classUnionsParameters, informationTable.getHash(), descriptiveAttributesPriority, informationTable);
+        ProjectClassUnions newProjectClassUnions = new ProjectClassUnions(unionsWithSingleLimitingDecision, classUnionsParameters, project.getDataHash(), descriptiveAttributesPriority, informationTable);
         calculationsStopWatch.stop();
         newProjectClassUnions.setCalculationsTime(calculationsStopWatch.getReadableTime());
 
-        project.setProjectClassUnions(newProjectClassUnions);
+        calculationProgress.completeStep();
+        calculationProgress.finishStage();
+        return newProjectClassUnions;
     }
 
     public static int[] getClassUnionArrayPropertyValues(Union union, ClassUnionArrayPropertyType classUnionArrayPropertyType) {
@@ -164,6 +217,85 @@ public class UnionsService {
         return mainClassUnionsResponse;
     }
 
+    public ThresholdsSweepResponse getThresholdsSweep(UUID id, UnionType typeOfUnions, Double[] consistencyThresholds, RuleType typeOfRules, String filterSelector) {
+        if (logger.isInfoEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("id=").append(id).append(", ");
+            sb.append("typeOfUnions=").append(typeOfUnions).append(", ");
+            sb.append("consistencyThresholds=").append(Arrays.toString(consistencyThresholds)).append(", ");
+            sb.append("typeOfRules=").append(typeOfRules).append(", ");
+            sb.append("filterSelector=").append(filterSelector);
+            logger.info(sb.toString());
+        }
+
+        if((consistencyThresholds == null) || (consistencyThresholds.length == 0) || (Arrays.asList(consistencyThresholds).contains(null))) {
+            WrongParameterException ex = new WrongParameterException("Given list of consistency thresholds is empty or contains missing values.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+        if((typeOfRules != null) && (filterSelector == null)) {
+            WrongParameterException ex = new WrongParameterException("Filter selector of rules has to be given, if rules are counted in the sweep.");
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        final Project project = ProjectService.getProjectFromProjectsContainer(projectsContainer, id);
+
+        CalculationsStopWatch calculationsStopWatch = new CalculationsStopWatch();
+
+        final InformationTable informationTable = project.getInformationTable();
+        DataService.checkInformationTable(informationTable, "There is no data in project. Couldn't calculate unions.");
+        DataService.checkNumberOfObjects(informationTable, "There are no objects in project. Couldn't calculate unions.");
+        final String dataHash = project.getDataHash();
+
+        //work independent of threshold is done once, decision distributions are calculated before they are shared by concurrent tasks
+        final InformationTableWithDecisionDistributions informationTableWithDecisionDistributions = DataService.createInformationTableWithDecisionDistributions(informationTable);
+        informationTableWithDecisionDistributions.getDecisionDistribution();
+        informationTableWithDecisionDistributions.getOrderedUniqueFullyDeterminedDecisions();
+
+        final double[] sweptThresholds = new double[consistencyThresholds.length];
+        final double[] qualitiesOfApproximation = new double[consistencyThresholds.length];
+        final int[] numbersOfRules = (typeOfRules != null) ? new int[consistencyThresholds.length] : null;
+
+        //every threshold is calculated through calculations cache, so chosen threshold can be later set in project without calculating it again
+        final List<Callable<Void>> thresholdTasks = new ArrayList<>(consistencyThresholds.length);
+        for(int i = 0; i < consistencyThresholds.length; i++) {
+            final int thresholdIndex = i;
+            final Double consistencyThreshold = consistencyThresholds[i];
+            thresholdTasks.add(() -> {
+                final ClassUnionsParameters classUnionsParameters = new ClassUnionsParametersImpl(typeOfUnions, consistencyThreshold);
+                final String unionsKey = CalculationsCache.createKey("unions", dataHash, typeOfUnions, consistencyThreshold);
+                final UnionsWithSingleLimitingDecision unions = calculationsCache.computeIfAbsent(unionsKey, UnionsWithSingleLimitingDecision.class,
+                        () -> calculateUnionsWithSingleLimitingDecision(informationTableWithDecisionDistributions, classUnionsParameters));
+
+                sweptThresholds[thresholdIndex] = consistencyThreshold;
+                qualitiesOfApproximation[thresholdIndex] = unions.getQualityOfApproximation();
+
+                if(numbersOfRules != null) {
+                    final String rulesKey = CalculationsCache.createKey("rules", dataHash, typeOfUnions, consistencyThreshold, typeOfRules, filterSelector);
+                    final RuleSetWithCharacteristics ruleSetWithCharacteristics = calculationsCache.computeIfAbsent(rulesKey, RuleSetWithCharacteristics.class,
+                            () -> RulesService.calculateRuleSetWithCharacteristics(unions, typeOfRules, filterSelector, calculationsExecutor));
+                    numbersOfRules[thresholdIndex] = ruleSetWithCharacteristics.size();
+                }
+                return null;
+            });
+        }
+        calculationsExecutor.invokeAll(thresholdTasks);
+        calculationsStopWatch.stop();
+
+        final ThresholdsSweepResponse thresholdsSweepResponse = ThresholdsSweepResponseBuilder.newInstance()
+                .setTypeOfUnions(typeOfUnions)
+                .setTypeOfRules(typeOfRules)
+                .setFilterSelector((typeOfRules != null) ? filterSelector : null)
+                .setConsistencyThresholds(sweptThresholds)
+                .setQualitiesOfApproximation(qualitiesOfApproximation)
+                .setNumbersOfRules(numbersOfRules)
+                .setCalculationsTime(calculationsStopWatch.getReadableTime())
+                .build();
+        logger.debug(thresholdsSweepResponse.toString());
+        return thresholdsSweepResponse;
+    }
+
     public MainClassUnionsResponse putUnions(UUID id, ClassUnionsParameters classUnionsParameters) {
         if (logger.isInfoEnabled()) {
             StringBuilder sb = new StringBuilder();
@@ -198,6 +330,7 @@ public class UnionsService {
 
         final InformationTable informationTable = ProjectService.createInformationTableFromString(metadata, data);
         project.setInformationTable(informationTable);
+        RulesService.ensureCoverageOfUploadedRules(project, calculationsExecutor);
 
         calculateClassUnionsInProject(project, classUnionsParameters);
 
@@ -0,0 +1,121 @@
+package pl.put.poznan.rulestudio.model;
+
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import pl.put.poznan.rulestudio.enums.ConeType;
+import pl.put.poznan.rulestudio.service.CalculationsExecutor;
+import pl.put.poznan.rulestudio.service.DataService;
+import pl.put.poznan.rulestudio.service.MetadataService;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+//times calculation of all types of dominance cones with one thread and with N threads of calculations executor and checks that cones are identical
+//it is not run by the build, usage: java -Xmx4g ... DominanceConesCalculationBenchmark [numberOfObjects] [numberOfCriteria] [numberOfThreads] [seed]
+public class DominanceConesCalculationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 1;
+
+    private static final int MEASURED_ITERATIONS = 3;
+
+    private static final int NUMBER_OF_VALUES = 10;
+
+    private static final int NUMBER_OF_DECISIONS = 3;
+
+    //decision grows with sum of evaluations, so the table is mostly, but not fully consistent
+    private static InformationTable createInformationTable(int numberOfObjects, int numberOfCriteria, long seed) throws IOException {
+        final StringBuilder metadata = new StringBuilder("[");
+        for(int c = 0; c < numberOfCriteria; c++) {
+            metadata.append("{\"name\":\"a").append(c).append("\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"},");
+        }
+        metadata.append("{\"name\":\"d\",\"active\":true,\"type\":\"decision\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"}]");
+        final Attribute[] attributes = MetadataService.attributesFromStringMetadata(metadata.toString());
+
+        final Random random = new Random(seed);
+        final StringBuilder data = new StringBuilder("[");
+        for(int x = 0; x < numberOfObjects; x++) {
+            if(x > 0) {
+                data.append(",");
+            }
+            data.append("{");
+            int sum = 0;
+            for(int c = 0; c < numberOfCriteria; c++) {
+                final int value = random.nextInt(NUMBER_OF_VALUES);
+                sum += value;
+                data.append("\"a").append(c).append("\":\"").append(value).append("\",");
+            }
+            final int noise = random.nextInt(NUMBER_OF_VALUES) - NUMBER_OF_VALUES / 2;
+            final int decision = Math.min(NUMBER_OF_DECISIONS, Math.max(1, 1 + NUMBER_OF_DECISIONS * (sum + noise) / (numberOfCriteria * NUMBER_OF_VALUES)));
+            data.append("\"d\":\"").append(decision).append("\"}");
+        }
+        data.append("]");
+        return DataService.informationTableFromStringData(data.toString(), attributes);
+    }
+
+    private static long calculate(DominanceCones dominanceCones, InformationTable informationTable, CalculationsExecutor calculationsExecutor) {
+        final long startTime = System.nanoTime();
+        dominanceCones.calculateDCones(informationTable, null, new String[0], DominanceConesRepresentation.SORTED_SETS, calculationsExecutor);
+        return System.nanoTime() - startTime;
+    }
+
+    private static void checkIdentical(DominanceCones expected, DominanceCones actual) {
+        for(ConeType coneType : ConeType.values()) {
+            if(expected.isConeTypeAvailable(coneType) != actual.isConeTypeAvailable(coneType)) {
+                throw new IllegalStateException(String.format("Availability of %s cones differs.", coneType));
+            }
+            if(!expected.isConeTypeAvailable(coneType)) {
+                continue;
+            }
+            for(int x = 0; x < expected.getNumberOfObjects(); x++) {
+                if(!expected.getCone(coneType, x).equals(actual.getCone(coneType, x))) {
+                    throw new IllegalStateException(String.format("%s cones of object %d differ.", coneType, x));
+                }
+            }
+        }
+    }
+
+    private static double median(long[] times) {
+        final long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1000000.0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int numberOfObjects = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+        final int numberOfCriteria = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        final int numberOfThreads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        final long seed = (args.length > 3) ? Long.parseLong(args[3]) : 0L;
+
+        final InformationTable informationTable = createInformationTable(numberOfObjects, numberOfCriteria, seed);
+        final CalculationsExecutor sequentialExecutor = new CalculationsExecutor(1);
+        final CalculationsExecutor parallelExecutor = new CalculationsExecutor(numberOfThreads);
+        System.out.printf("objects=%d, criteria=%d, threads=%d%n", numberOfObjects, numberOfCriteria, parallelExecutor.getParallelism());
+
+        try {
+            final DominanceCones sequentialCones = new DominanceCones();
+            final DominanceCones parallelCones = new DominanceCones();
+            final long[] sequentialTimes = new long[MEASURED_ITERATIONS];
+            final long[] parallelTimes = new long[MEASURED_ITERATIONS];
+            for(int iteration = -WARMUP_ITERATIONS; iteration < MEASURED_ITERATIONS; iteration++) {
+                final long sequentialTime = calculate(sequentialCones, informationTable, sequentialExecutor);
+                final long parallelTime = calculate(parallelCones, informationTable, parallelExecutor);
+                checkIdentical(sequentialCones, parallelCones);
+
+                if(iteration >= 0) {
+                    sequentialTimes[iteration] = sequentialTime;
+                    parallelTimes[iteration] = parallelTime;
+                }
+            }
+
+            final double sequentialMedian = median(sequentialTimes);
+            final double parallelMedian = median(parallelTimes);
+            System.out.printf("cones of all types are identical%n");
+            System.out.printf("median times [ms]: 1 thread=%.1f, %d threads=%.1f, speedup=%.2f%n",
+                    sequentialMedian, parallelExecutor.getParallelism(), parallelMedian, sequentialMedian / parallelMedian);
+        } finally {
+            sequentialExecutor.shutdown();
+            parallelExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package pl.put.poznan.rulestudio.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.put.poznan.rulestudio.app.RuLeStudioApp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//folds are stored compactly, so their rules and classified objects are checked through the same requests as the frontend uses
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = RuLeStudioApp.class)
+@AutoConfigureMockMvc
+public class CrossValidationControllerTest {
+
+    private static final String METADATA = "[" +
+            "{\"name\":\"a1\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"}," +
+            "{\"name\":\"a2\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"}," +
+            "{\"name\":\"d\",\"active\":true,\"type\":\"decision\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"}" +
+            "]";
+
+    private static final int NUMBER_OF_OBJECTS = 12;
+
+    private static final int NUMBER_OF_FOLDS = 2;
+
+    private static final String OBJECT_NAME_PREFIX = "Object ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String projectId;
+
+    //objects of the better class are better on both criteria, so certain rules are induced in every fold
+    private static String createData() {
+        final StringBuilder sb = new StringBuilder("[");
+        for(int i = 0; i < NUMBER_OF_OBJECTS; i++) {
+            final boolean isGood = (i % 2 == 1);
+            final int shift = isGood ? 6 : 0;
+            if(i > 0) {
+                sb.append(",");
+            }
+            sb.append("{\"a1\":\"").append(1 + shift + (i % 3))
+                    .append("\",\"a2\":\"").append(1 + shift + ((i / 3) % 3))
+                    .append("\",\"d\":\"").append(isGood ? 2 : 1).append("\"}");
+        }
+        return sb.append("]").toString();
+    }
+
+    private JsonNode readJson(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        final MockMultipartFile metadataFile = new MockMultipartFile("metadata", "metadata.json", MediaType.APPLICATION_JSON_VALUE, METADATA.getBytes(StandardCharsets.UTF_8));
+        final MockMultipartFile dataFile = new MockMultipartFile("data", "data.json", MediaType.APPLICATION_JSON_VALUE, createData().getBytes(StandardCharsets.UTF_8));
+
+        final String projectResponse = mockMvc.perform(multipart("/projects")
+                .file(metadataFile)
+                .file(dataFile)
+                .param("name", "cross-validation"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        projectId = readJson(projectResponse).get("id").asText();
+
+        mockMvc.perform(put("/projects/{id}/crossValidation", projectId)
+                .param("typeOfUnions", "MONOTONIC")
+                .param("consistencyThreshold", "0")
+                .param("typeOfRules", "CERTAIN")
+                .param("filterSelector", "")
+                .param("classifierType", "SIMPLE_RULE_CLASSIFIER")
+                .param("defaultClassificationResultType", "MAJORITY_DECISION_CLASS")
+                .param("numberOfFolds", String.valueOf(NUMBER_OF_FOLDS))
+                .param("seed", "0"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetChosenFoldRulesAndClassifiedObjects() throws Exception {
+        int numberOfTestObjects = 0;
+        for(int foldIndex = 0; foldIndex < NUMBER_OF_FOLDS; foldIndex++) {
+            final JsonNode fold = readJson(mockMvc.perform(get("/projects/{id}/crossValidation/{foldIndex}", projectId, foldIndex))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            assertEquals(NUMBER_OF_OBJECTS, fold.get("numberOfTrainingObjects").asInt() + fold.get("numberOfTestObjects").asInt());
+            assertEquals(fold.get("numberOfTestObjects").asInt(), fold.get("Objects").size());
+            assertTrue(fold.get("numberOfRules").asInt() > 0);
+            numberOfTestObjects += fold.get("numberOfTestObjects").asInt();
+
+            //without descriptive attribute, validation objects are named by their index in the whole data
+            final BitSet validationObjects = new BitSet(NUMBER_OF_OBJECTS);
+            for(JsonNode objectName : fold.get("objectNames")) {
+                validationObjects.set(Integer.parseInt(objectName.asText().substring(OBJECT_NAME_PREFIX.length())) - 1);
+            }
+            assertEquals(fold.get("numberOfTestObjects").asInt(), validationObjects.cardinality());
+
+            //rules are induced from training objects, so after translation to indices of the whole data they cover only objects outside of validation
+            for(int ruleIndex = 0; ruleIndex < fold.get("numberOfRules").asInt(); ruleIndex++) {
+                final JsonNode rule = readJson(mockMvc.perform(get("/projects/{id}/crossValidation/{foldIndex}/rules/{ruleIndex}/coveringObjects", projectId, foldIndex, ruleIndex))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+
+                final JsonNode indicesOfCoveredObjects = rule.get("indicesOfCoveredObjects");
+                assertTrue(indicesOfCoveredObjects.size() > 0);
+                assertEquals(indicesOfCoveredObjects.size(), rule.get("isSupportingObject").size());
+                for(JsonNode objectIndex : indicesOfCoveredObjects) {
+                    final int index = objectIndex.asInt();
+                    assertTrue((index >= 0) && (index < NUMBER_OF_OBJECTS));
+                    assertFalse(String.format("Rule %d of fold %d covers validation object %d.", ruleIndex, foldIndex, index), validationObjects.get(index));
+                }
+            }
+
+            mockMvc.perform(get("/projects/{id}/crossValidation/{foldIndex}/object", projectId, foldIndex)
+                    .param("objectIndex", "0"))
+                    .andExpect(status().isOk());
+        }
+        assertEquals(NUMBER_OF_OBJECTS, numberOfTestObjects);
+    }
+
+    @Test
+    public void testGetChosenFoldWithWrongIndex() throws Exception {
+        mockMvc.perform(get("/projects/{id}/crossValidation/{foldIndex}/rules/{ruleIndex}", projectId, NUMBER_OF_FOLDS, 0))
+                .andExpect(status().is4xxClientError());
+    }
+}
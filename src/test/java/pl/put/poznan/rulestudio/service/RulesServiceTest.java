@@ -0,0 +1,161 @@
+package pl.put.poznan.rulestudio.service;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rulelearn.approximations.Union;
+import org.rulelearn.approximations.Unions;
+import org.rulelearn.approximations.VCDominanceBasedRoughSetCalculator;
+import org.rulelearn.data.Attribute;
+import org.rulelearn.data.InformationTable;
+import org.rulelearn.measures.dominance.EpsilonConsistencyMeasure;
+import org.rulelearn.rules.ApproximatedSetProvider;
+import org.rulelearn.rules.AttributeOrderRuleConditionsPruner;
+import org.rulelearn.rules.CertainRuleInducerComponents;
+import org.rulelearn.rules.CompositeRuleCharacteristicsFilter;
+import org.rulelearn.rules.EvaluationAndCoverageStoppingConditionChecker;
+import org.rulelearn.rules.OptimizingRuleConditionsGeneralizer;
+import org.rulelearn.rules.PossibleRuleInducerComponents;
+import org.rulelearn.rules.RuleCharacteristics;
+import org.rulelearn.rules.RuleInducerComponents;
+import org.rulelearn.rules.RuleInductionStoppingConditionChecker;
+import org.rulelearn.rules.RuleSetWithCharacteristics;
+import org.rulelearn.rules.RuleSetWithComputableCharacteristics;
+import org.rulelearn.rules.UnionProvider;
+import org.rulelearn.rules.UnionWithSingleLimitingDecisionRuleDecisionsProvider;
+import org.rulelearn.rules.VCDomLEM;
+import pl.put.poznan.rulestudio.enums.RuleType;
+import pl.put.poznan.rulestudio.enums.UnionType;
+import pl.put.poznan.rulestudio.model.CalculationProgress;
+import pl.put.poznan.rulestudio.model.parameters.ClassUnionsParametersImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+//unfiltered rules of induction passes are filtered in memory, the result has to be the same as induction with filter by ruleLearn
+public class RulesServiceTest {
+
+    private static final String FILTER_SELECTOR = "support>1&confidence>0.8";
+
+    private static final int NUMBER_OF_OBJECTS = 80;
+
+    private static final int NUMBER_OF_CRITERIA = 3;
+
+    private CalculationsExecutor calculationsExecutor;
+
+    private Unions unions;
+
+    //decision grows with sum of evaluations, noise makes data inconsistent, so unions have non-empty boundaries
+    private static InformationTable createInformationTable() throws Exception {
+        final StringBuilder metadata = new StringBuilder("[");
+        for(int c = 0; c < NUMBER_OF_CRITERIA; c++) {
+            metadata.append("{\"name\":\"a").append(c).append("\",\"active\":true,\"type\":\"condition\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"},");
+        }
+        metadata.append("{\"name\":\"d\",\"active\":true,\"type\":\"decision\",\"valueType\":\"integer\",\"preferenceType\":\"gain\"}]");
+        final Attribute[] attributes = MetadataService.attributesFromStringMetadata(metadata.toString());
+
+        final Random random = new Random(0L);
+        final StringBuilder data = new StringBuilder("[");
+        for(int x = 0; x < NUMBER_OF_OBJECTS; x++) {
+            if(x > 0) {
+                data.append(",");
+            }
+            data.append("{");
+            int sum = 0;
+            for(int c = 0; c < NUMBER_OF_CRITERIA; c++) {
+                final int value = random.nextInt(5);
+                sum += value;
+                data.append("\"a").append(c).append("\":\"").append(value).append("\",");
+            }
+            final int decision = Math.min(3, Math.max(1, (sum + random.nextInt(5) - 2) / 4 + 1));
+            data.append("\"d\":\"").append(decision).append("\"}");
+        }
+        data.append("]");
+        return DataService.informationTableFromStringData(data.toString(), attributes);
+    }
+
+    //induction as it was done before unfiltered passes were kept: every pass is induced with filter and all characteristics are calculated
+    private static RuleSetWithCharacteristics induceWithFilter(RuleInducerComponents ruleInducerComponents, ApproximatedSetProvider unionProvider) {
+        final RuleSetWithComputableCharacteristics rules = (new VCDomLEM(ruleInducerComponents, unionProvider, new UnionWithSingleLimitingDecisionRuleDecisionsProvider()))
+                .generateAndFilterRules(CompositeRuleCharacteristicsFilter.of(FILTER_SELECTOR));
+        rules.calculateAllCharacteristics();
+        return rules;
+    }
+
+    private RuleSetWithCharacteristics induceAllPassesWithFilter() {
+        final ApproximatedSetProvider unionAtLeastProvider = new UnionProvider(Union.UnionType.AT_LEAST, unions);
+        final ApproximatedSetProvider unionAtMostProvider = new UnionProvider(Union.UnionType.AT_MOST, unions);
+
+        final RuleInducerComponents possibleRuleInducerComponents = new PossibleRuleInducerComponents.Builder().build();
+        final RuleInductionStoppingConditionChecker stoppingConditionChecker = new EvaluationAndCoverageStoppingConditionChecker(
+                EpsilonConsistencyMeasure.getInstance(),
+                EpsilonConsistencyMeasure.getInstance(),
+                EpsilonConsistencyMeasure.getInstance(),
+                ((VCDominanceBasedRoughSetCalculator) unions.getRoughSetCalculator()).getLowerApproximationConsistencyThreshold());
+        final RuleInducerComponents certainRuleInducerComponents = new CertainRuleInducerComponents.Builder()
+                .ruleInductionStoppingConditionChecker(stoppingConditionChecker)
+                .ruleConditionsPruner(new AttributeOrderRuleConditionsPruner(stoppingConditionChecker))
+                .ruleConditionsGeneralizer(new OptimizingRuleConditionsGeneralizer(stoppingConditionChecker))
+                .build();
+
+        RuleSetWithCharacteristics resultSet = induceWithFilter(possibleRuleInducerComponents, unionAtLeastProvider);
+        resultSet = RuleSetWithCharacteristics.join(resultSet, induceWithFilter(possibleRuleInducerComponents, unionAtMostProvider));
+        resultSet = RuleSetWithCharacteristics.join(resultSet, induceWithFilter(certainRuleInducerComponents, unionAtLeastProvider));
+        resultSet = RuleSetWithCharacteristics.join(resultSet, induceWithFilter(certainRuleInducerComponents, unionAtMostProvider));
+        return resultSet;
+    }
+
+    private static void assertSameRules(RuleSetWithCharacteristics expected, RuleSetWithCharacteristics actual) {
+        assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getRule(i).toString(), actual.getRule(i).toString());
+
+            final RuleCharacteristics expectedCharacteristics = expected.getRuleCharacteristics(i);
+            final RuleCharacteristics actualCharacteristics = actual.getRuleCharacteristics(i);
+            assertEquals(expectedCharacteristics.getSupport(), actualCharacteristics.getSupport());
+            assertEquals(expectedCharacteristics.getCoverage(), actualCharacteristics.getCoverage());
+            assertEquals(expectedCharacteristics.getNegativeCoverage(), actualCharacteristics.getNegativeCoverage());
+            assertEquals(expectedCharacteristics.getConfidence(), actualCharacteristics.getConfidence(), 0.0);
+            assertEquals(expectedCharacteristics.getEpsilon(), actualCharacteristics.getEpsilon(), 0.0);
+            assertEquals(expectedCharacteristics.getNumberOfConditions(), actualCharacteristics.getNumberOfConditions());
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        calculationsExecutor = new CalculationsExecutor(2);
+        unions = UnionsService.calculateUnionsWithSingleLimitingDecision(createInformationTable(), new ClassUnionsParametersImpl(UnionType.MONOTONIC, 0.1));
+    }
+
+    @After
+    public void tearDown() {
+        calculationsExecutor.shutdown();
+    }
+
+    @Test
+    public void testFilteringOfUnfilteredPassesGivesSameRulesAsInductionWithFilter() {
+        //service calculates approximations of unions before induction, induction with filter uses the same unions afterwards
+        final RuleSetWithCharacteristics actual = RulesService.calculateRuleSetWithCharacteristics(unions, RuleType.BOTH, FILTER_SELECTOR, calculationsExecutor);
+
+        final RuleSetWithCharacteristics expected = induceAllPassesWithFilter();
+        assertTrue(expected.size() > 0);
+        assertSameRules(expected, actual);
+    }
+
+    @Test
+    public void testFilteringOfReusedPassesGivesSameRulesAsInductionWithFilter() {
+        //passes are induced for the first filter and only filtered again for the second one
+        final Map<String, RuleSetWithComputableCharacteristics> unfilteredRulesOfPasses = new HashMap<>();
+        final RuleSetWithCharacteristics unfiltered = RulesService.calculateRuleSetWithCharacteristics(unions, RuleType.BOTH, "", new CalculationProgress(), unfilteredRulesOfPasses, calculationsExecutor);
+        final RuleSetWithCharacteristics actual = RulesService.calculateRuleSetWithCharacteristics(unions, RuleType.BOTH, FILTER_SELECTOR, new CalculationProgress(), unfilteredRulesOfPasses, calculationsExecutor);
+
+        //approximations were calculated by the service, induction with filter uses the same unions
+        final RuleSetWithCharacteristics expected = induceAllPassesWithFilter();
+        assertTrue(unfiltered.size() >= expected.size());
+        assertSameRules(expected, actual);
+    }
+}